@@ -0,0 +1,61 @@
+package benchmark;
+
+import eu.skylords.botapi.CardCatalog;
+import eu.skylords.botapi.CardTemplate;
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+
+/**
+ * Compares the lookup of the {@link CardTemplate} and the {@link Upgrade} of the card ids of all squads and buildings
+ * by a stream over the constants with the tables of the {@link CardCatalog}.
+ * <p>
+ * Usage: {@code CardCatalogBenchmark [figureCount] [iterations]}
+ */
+public class CardCatalogBenchmark {
+
+    public static void main(String[] args) {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        GameState state = SampleStates.lateGame(figureCount, 1000, 42);
+        CardId[] ids = cardIds(state);
+        System.out.printf("State with %d card ids%n", ids.length);
+
+        Measurement.run("stream over values", iterations, () -> {
+            long sum = 0;
+            for (CardId id : ids) {
+                int templateId = id.value() % CardCatalog.UPGRADE_STEP;
+                int upgradeValue = id.value() - templateId;
+                CardTemplate template = Arrays.stream(CardTemplate.values())
+                        .filter(ct -> ct.id == templateId)
+                        .findFirst().orElse(null);
+                Upgrade upgrade = Arrays.stream(Upgrade.values())
+                        .filter(u -> u.value == upgradeValue)
+                        .findFirst().orElse(null);
+                sum += template.ordinal() + upgrade.ordinal();
+            }
+            return sum;
+        });
+        Measurement.run("card catalog", iterations, () -> {
+            long sum = 0;
+            for (CardId id : ids) {
+                sum += CardCatalog.template(id).ordinal() + CardCatalog.upgrade(id).ordinal();
+            }
+            return sum;
+        });
+    }
+
+    private static CardId[] cardIds(GameState state) {
+        Squad[] squads = state.getEntities().getSquads();
+        Building[] buildings = state.getEntities().getBuildings();
+        CardId[] ids = new CardId[squads.length + buildings.length];
+        for (int i = 0; i < squads.length; i++) {
+            ids[i] = squads[i].getCardId();
+        }
+        for (int i = 0; i < buildings.length; i++) {
+            ids[squads.length + i] = buildings[i].getCardId();
+        }
+        return ids;
+    }
+}
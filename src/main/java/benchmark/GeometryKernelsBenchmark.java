@@ -0,0 +1,124 @@
+package benchmark;
+
+import eu.skylords.botapi.GeometryKernels;
+import eu.skylords.botapi.UnitStore;
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Compares the {@link GeometryKernels} with the stream pipelines bots write today (see {@code ExampleBot}):
+ * the health of the enemy figures near every own squad, and the nearest enemy figure of every own squad.
+ * The vector kernels are only used if the JVM runs with {@code --add-modules jdk.incubator.vector}.
+ * <p>
+ * Usage: {@code GeometryKernelsBenchmark [figureCount] [radius] [iterations]}
+ */
+public class GeometryKernelsBenchmark {
+
+    public static void main(String[] args) {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        float radius = args.length > 1 ? Float.parseFloat(args[1]) : 30f;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        GameState state = SampleStates.lateGame(figureCount, 1000, 42);
+        EntityId me = state.getPlayers()[0].getId();
+        Squad[] mySquads = Arrays.stream(state.getEntities().getSquads())
+                .filter(s -> me.equals(s.getEntity().getPlayerEntityId()))
+                .toArray(Squad[]::new);
+        Figure[] figures = state.getEntities().getFigures();
+
+        // the coordinates and health of the enemy figures, packed as the kernels expect them
+        UnitStore store = UnitStore.of(state);
+        UnitStore.Units<Figure> units = store.figures();
+        float[] xs = new float[units.size()];
+        float[] zs = new float[units.size()];
+        float[] health = new float[units.size()];
+        int enemies = 0;
+        for (int i = 0; i < units.size(); i++) {
+            if (units.owners()[i] != me.value()) {
+                xs[enemies] = units.xs()[i];
+                zs[enemies] = units.zs()[i];
+                health[enemies] = units.health()[i];
+                enemies++;
+            }
+        }
+        int enemyCount = enemies;
+        float radiusSquared = radius * radius;
+        GeometryKernels vector = GeometryKernels.get();
+        GeometryKernels scalar = GeometryKernels.scalar();
+        System.out.printf("State with %d figures: %d own squads, %d enemy figures; vector kernels: %s%n",
+                figureCount, mySquads.length, enemyCount, vector.isVectorized());
+
+        Measurement.run("streams threat", iterations, () -> {
+            double threat = 0;
+            for (Squad squad : mySquads) {
+                Position p = squad.getEntity().getPosition();
+                threat += Arrays.stream(figures)
+                        .map(Figure::getEntity)
+                        .filter(e -> !me.equals(e.getPlayerEntityId()))
+                        .filter(e -> distanceSquared(e.getPosition(), p) <= radiusSquared)
+                        .flatMap(e -> Arrays.stream(e.getAspects()))
+                        .filter(a -> a.get() instanceof AspectHealth)
+                        .mapToDouble(a -> ((AspectHealth) a.get()).getCurrentHp())
+                        .sum();
+            }
+            return (long) threat;
+        });
+        Measurement.run("scalar threat", iterations, () -> threat(scalar, mySquads, radius, xs, zs, health, enemyCount));
+        Measurement.run("vector threat", iterations, () -> threat(vector, mySquads, radius, xs, zs, health, enemyCount));
+
+        Measurement.run("streams nearest", iterations, () -> {
+            long found = 0;
+            for (Squad squad : mySquads) {
+                Position p = squad.getEntity().getPosition();
+                found += Arrays.stream(figures)
+                        .map(Figure::getEntity)
+                        .filter(e -> !me.equals(e.getPlayerEntityId()))
+                        .min(Comparator.comparingDouble(e -> distanceSquared(e.getPosition(), p)))
+                        .map(e -> e.getId().value())
+                        .orElse(0);
+            }
+            return found;
+        });
+        Measurement.run("scalar nearest", iterations, () -> nearest(scalar, mySquads, xs, zs, enemyCount));
+        Measurement.run("vector nearest", iterations, () -> nearest(vector, mySquads, xs, zs, enemyCount));
+
+        boolean[] inRadius = new boolean[enemyCount];
+        Measurement.run("scalar in radius", iterations, () -> inRadius(scalar, mySquads, radius, xs, zs, enemyCount, inRadius));
+        Measurement.run("vector in radius", iterations, () -> inRadius(vector, mySquads, radius, xs, zs, enemyCount, inRadius));
+    }
+
+    private static long threat(GeometryKernels kernels, Squad[] squads, float radius, float[] xs, float[] zs, float[] health, int count) {
+        double threat = 0;
+        for (Squad squad : squads) {
+            Position p = squad.getEntity().getPosition();
+            threat += kernels.sumWithinRadius(p.getX(), p.getZ(), radius, xs, zs, health, count);
+        }
+        return (long) threat;
+    }
+
+    private static long nearest(GeometryKernels kernels, Squad[] squads, float[] xs, float[] zs, int count) {
+        long found = 0;
+        for (Squad squad : squads) {
+            Position p = squad.getEntity().getPosition();
+            found += kernels.nearest(p.getX(), p.getZ(), xs, zs, count);
+        }
+        return found;
+    }
+
+    private static long inRadius(GeometryKernels kernels, Squad[] squads, float radius, float[] xs, float[] zs, int count, boolean[] inRadius) {
+        long found = 0;
+        for (Squad squad : squads) {
+            Position p = squad.getEntity().getPosition();
+            found += kernels.withinRadius(p.getX(), p.getZ(), radius, xs, zs, count, inRadius);
+        }
+        return found;
+    }
+
+    private static float distanceSquared(Position a, Position b) {
+        float dx = a.getX() - b.getX();
+        float dz = a.getZ() - b.getZ();
+        return dx * dx + dz * dz;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import eu.skylords.botapi.CardTemplate;
+import eu.skylords.botapi.IntEnumCodec;
+import eu.skylords.botapi.Json;
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the decoding of the int values of enums by a stream over the constants and by Jackson's
+ * {@code @JsonValue} handling with the tables of the {@link IntEnumCodec}.
+ * <p>
+ * Usage: {@code IntEnumCodecBenchmark [count] [iterations]}
+ */
+public class IntEnumCodecBenchmark {
+
+    /** Resets the codecs of the enums, so Jackson uses its own handling of {@code @JsonValue} */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private interface JacksonEnum {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Random random = new Random(42);
+
+        BuildState[] states = new BuildState[count];
+        WalkMode[] modes = new WalkMode[count];
+        CardTemplate[] cards = new CardTemplate[count];
+        int[] cardIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            states[i] = BuildState.values()[random.nextInt(BuildState.values().length)];
+            modes[i] = WalkMode.values()[random.nextInt(WalkMode.values().length)];
+            cards[i] = CardTemplate.values()[random.nextInt(CardTemplate.values().length)];
+            cardIds[i] = cards[i].getId();
+        }
+
+        Measurement.run("stream over values", iterations, () -> {
+            long sum = 0;
+            for (int id : cardIds) {
+                sum += Arrays.stream(CardTemplate.values()).filter(ct -> ct.id == id).findFirst().orElseThrow().ordinal();
+            }
+            return sum;
+        });
+        IntEnumCodec<CardTemplate> codec = IntEnumCodec.of(CardTemplate.class);
+        Measurement.run("codec decode", iterations, () -> {
+            long sum = 0;
+            for (int id : cardIds) {
+                sum += codec.decode(id).ordinal();
+            }
+            return sum;
+        });
+
+        ObjectMapper jackson = Json.MAPPER.copy()
+                .addMixIn(BuildState.class, JacksonEnum.class)
+                .addMixIn(WalkMode.class, JacksonEnum.class)
+                .addMixIn(CardTemplate.class, JacksonEnum.class);
+        measure("build states", Json.MAPPER.writeValueAsBytes(states), BuildState[].class, jackson, iterations);
+        measure("walk modes", Json.MAPPER.writeValueAsBytes(modes), WalkMode[].class, jackson, iterations);
+        measure("card templates", Json.MAPPER.writeValueAsBytes(cards), CardTemplate[].class, jackson, iterations);
+    }
+
+    private static void measure(String name, byte[] json, Class<?> type, ObjectMapper jackson, int iterations) throws Exception {
+        ObjectReader reflective = jackson.readerFor(type);
+        ObjectReader tables = Json.MAPPER.readerFor(type);
+        if (!Arrays.equals((Object[]) reflective.readValue(json), (Object[]) tables.readValue(json))) {
+            throw new IllegalStateException("The decoders disagree on the " + name);
+        }
+        Measurement.run("jackson " + name, iterations, () -> ((Object[]) reflective.readValue(json)).length);
+        Measurement.run("codec " + name, iterations, () -> ((Object[]) tables.readValue(json)).length);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Stand-in for the game: sends requests to a bot over one persistent HTTP/1.1 connection,
+ * either over TCP or over a Unix domain socket. Only supports answers with a {@code Content-Length}.
+ */
+public class LocalGameClient implements Closeable {
+
+    private final SocketChannel channel;
+    private final InputStream in;
+    private final OutputStream out;
+    private final String host;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+
+    private LocalGameClient(SocketChannel channel, String host) {
+        this.channel = channel;
+        this.in = new BufferedInputStream(Channels.newInputStream(channel));
+        this.out = Channels.newOutputStream(channel);
+        this.host = host;
+    }
+
+    /** Connects to a bot that listens on a TCP port of the local host. */
+    public static LocalGameClient tcp(int port) throws IOException {
+        return new LocalGameClient(SocketChannel.open(new InetSocketAddress("localhost", port)), "localhost:" + port);
+    }
+
+    /** Connects to a bot that listens on a Unix domain socket. */
+    public static LocalGameClient unix(Path socketPath) throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socketPath));
+        return new LocalGameClient(channel, "localhost");
+    }
+
+    /** Sends a POST request with a json body. */
+    public Answer post(String path, byte[] json) throws IOException {
+        String head = "POST " + path + " HTTP/1.1\r\nHost: " + host
+                + "\r\nContent-Type: application/json\r\nContent-Length: " + json.length + "\r\n\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.US_ASCII);
+        byte[] request = new byte[headBytes.length + json.length];
+        System.arraycopy(headBytes, 0, request, 0, headBytes.length);
+        System.arraycopy(json, 0, request, headBytes.length, json.length);
+        out.write(request);
+        return readAnswer();
+    }
+
+    /** Sends a GET request. */
+    public Answer get(String path) throws IOException {
+        out.write(("GET " + path + " HTTP/1.1\r\nHost: " + host + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        return readAnswer();
+    }
+
+    private Answer readAnswer() throws IOException {
+        String statusLine = readLine();
+        int status = Integer.parseInt(statusLine.split(" ")[1]);
+        int contentLength = 0;
+        for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+            int colon = header.indexOf(':');
+            if (header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                contentLength = Integer.parseInt(header.substring(colon + 1).trim());
+            }
+        }
+        return new Answer(status, in.readNBytes(contentLength));
+    }
+
+    private String readLine() throws IOException {
+        line.reset();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("Connection closed by the bot");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Answer of the bot.
+     * @param status The HTTP status.
+     * @param body The body; empty if the answer has none.
+     */
+    public record Answer(int status, byte[] body) {}
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/** Minimal measurement harness: reports the average time and the allocated bytes per operation on the current thread. */
+public class Measurement {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Operation under test. The result is consumed, so the JIT can't remove the work. */
+    @FunctionalInterface
+    public interface Operation {
+        long run() throws Exception;
+    }
+
+    /** Prevents dead code elimination of the benchmarked operations */
+    private static long sink;
+
+    private Measurement() {
+        // prevent class initialization
+    }
+
+    /**
+     * Warms up the operation and then measures it.
+     * @param name Name printed with the results.
+     * @param iterations Number of measured iterations; the same number of iterations is used for the warmup.
+     * @param operation The operation to measure.
+     * @return The measured time and allocated bytes per operation.
+     */
+    public static Result run(String name, int iterations, Operation operation) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                sink += operation.run();
+            }
+            long threadId = Thread.currentThread().threadId();
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += operation.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            Result result = new Result(elapsed / 1000.0 / iterations, allocated / iterations);
+            System.out.printf("%-28s %12.1f µs/op %14d bytes/op%n", name, result.micros(), result.bytes());
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed", e);
+        }
+    }
+
+    /** Average time and allocated bytes of an operation */
+    public record Result(double micros, long bytes) {}
+
+    /** @return The accumulated results of all operations. */
+    public static long sink() {
+        return sink;
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.skylords.botapi.Json;
+import eu.skylords.botapi.Types.*;
+
+import java.util.Random;
+
+/**
+ * Measures the time and the allocated bytes per element to decode and encode the externally tagged
+ * polymorphic values of the api ({@code {"Idle": {...}}}): jobs, aspects and commands.
+ * <p>
+ * Usage: {@code PolymorphicCodecBenchmark [count] [iterations]}
+ */
+public class PolymorphicCodecBenchmark {
+
+    /** Writes the fields like the game server, see {@link SampleStates} */
+    private static final ObjectMapper WIRE_MAPPER = Json.MAPPER.copy()
+            .setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Random random = new Random(42);
+
+        JobHolder[] jobs = new JobHolder[count];
+        AspectHolder[] aspects = new AspectHolder[count];
+        CommandHolder[] commands = new CommandHolder[count];
+        for (int i = 0; i < count; i++) {
+            EntityId target = new EntityId(random.nextInt(10_000));
+            jobs[i] = new JobHolder(switch (i % 3) {
+                case 0 -> new JobIdle();
+                case 1 -> new JobGoto(new Position2DWithOrientation[]{new Position2DWithOrientation(random.nextFloat(), random.nextFloat(), 0f)},
+                        target, WalkMode.Normal);
+                default -> new JobAttackSquad(new TargetHolder(new TargetSingle(new SingleTargetHolder(new SingleTargetSingleEntity(target)))),
+                        (byte) 1, 30f, 0f, 20f, null, false, 40f, false, true, false);
+            });
+            aspects[i] = new AspectHolder(new AspectHealth(random.nextInt(600), 600f));
+            commands[i] = new CommandHolder(switch (i % 3) {
+                case 0 -> new CommandProduceSquad((byte) 1, new Position2D(random.nextFloat(), random.nextFloat()));
+                case 1 -> new CommandGroupAttack(new EntityId[]{target}, new EntityId(random.nextInt(10_000)), false);
+                default -> new CommandGroupGoto(new EntityId[]{target}, new Position2D[]{new Position2D(random.nextFloat(), random.nextFloat())},
+                        WalkMode.Normal, 0f);
+            });
+        }
+        measure("jobs", jobs, JobHolder[].class, iterations);
+        measure("aspects", aspects, AspectHolder[].class, iterations);
+        measure("commands", commands, CommandHolder[].class, iterations);
+    }
+
+    private static void measure(String name, Object[] values, Class<?> type, int iterations) throws Exception {
+        ObjectWriter writer = WIRE_MAPPER.writerFor(type);
+        ObjectReader reader = WIRE_MAPPER.readerFor(type);
+        byte[] json = writer.writeValueAsBytes(values);
+        Measurement.Result decode = Measurement.run("decode " + name, iterations, () -> ((Object[]) reader.readValue(json)).length);
+        Measurement.Result encode = Measurement.run("encode " + name, iterations, () -> writer.writeValueAsBytes(values).length);
+        System.out.printf("%-28s %12.1f ns/element %10d bytes/element decoded, %6.1f ns/element %6d bytes/element encoded%n",
+                name, decode.micros() * 1000 / values.length, decode.bytes() / values.length,
+                encode.micros() * 1000 / values.length, encode.bytes() / values.length);
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.skylords.botapi.CardTemplate;
+import eu.skylords.botapi.Helpers;
+import eu.skylords.botapi.Types.*;
+
+import java.util.Random;
+
+/** Generates synthetic late game states with many entities for the benchmarks. */
+public class SampleStates {
+
+    /** Writes only the annotated fields, like the game does */
+    private static final ObjectMapper GAME_MAPPER = new ObjectMapper()
+            .setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    private static final int PLAYERS = 4;
+    private static final float MAP_SIZE = 1000f;
+
+    private SampleStates() {
+        // prevent class initialization
+    }
+
+    /**
+     * Creates a game state of a 4 player match.
+     * @param figureCount Number of figures on the map. Figures are grouped into squads of 4.
+     * @param tick The current tick, figures move a bit with every tick.
+     * @param seed Seed for the positions of the entities.
+     */
+    public static GameState lateGame(int figureCount, int tick, long seed) {
+        Random random = new Random(seed);
+        int nextId = 1;
+
+        PlayerEntity[] players = new PlayerEntity[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            Orbs orbs = new Orbs((byte) 1, (byte) 1, (byte) 0, (byte) 2, (byte) 0, (byte) 0, (byte) 0);
+            players[i] = new PlayerEntity(new EntityId(nextId++), new AbilityEffect[0], new AspectHolder[0],
+                    (byte) (i % 2), 100f + i, 0f, (short) 40, "Player" + i, orbs);
+        }
+
+        TokenSlot[] tokenSlots = new TokenSlot[PLAYERS * 4];
+        for (int i = 0; i < tokenSlots.length; i++) {
+            EntityId owner = i % 3 == 0 ? null : players[i % PLAYERS].getId();
+            tokenSlots[i] = new TokenSlot(entity(nextId++, owner, random, tick), 17, BuildState.Build, (byte) (i % 2), OrbColor.Fire);
+        }
+        PowerSlot[] powerSlots = new PowerSlot[PLAYERS * 6];
+        for (int i = 0; i < powerSlots.length; i++) {
+            EntityId owner = i % 2 == 0 ? null : players[i % PLAYERS].getId();
+            powerSlots[i] = new PowerSlot(entity(nextId++, owner, random, tick), 11, BuildState.Build, (byte) (i % 2));
+        }
+        Building[] buildings = new Building[PLAYERS * 5];
+        for (int i = 0; i < buildings.length; i++) {
+            buildings[i] = new Building(entity(nextId++, players[i % PLAYERS].getId(), random, tick),
+                    new BuildingId(42), Helpers.Card(CardTemplate.CannonTower, Upgrade.U3), 120f);
+        }
+
+        int squadCount = (figureCount + 3) / 4;
+        Squad[] squads = new Squad[squadCount];
+        Figure[] figures = new Figure[figureCount];
+        int figure = 0;
+        for (int s = 0; s < squadCount; s++) {
+            EntityId owner = players[s % PLAYERS].getId();
+            EntityId squadId = new EntityId(nextId++);
+            int size = Math.min(4, figureCount - figure);
+            EntityId[] members = new EntityId[size];
+            for (int m = 0; m < size; m++) {
+                Entity entity = entity(nextId++, owner, random, tick);
+                members[m] = entity.getId();
+                figures[figure++] = new Figure(entity, squadId, 4.5f, 1f, (byte) 1, (byte) 0);
+            }
+            Entity squadEntity = new Entity(squadId, new AbilityEffect[0], new AspectHolder[0],
+                    new JobHolder(new JobIdle()), figures[figure - 1].getEntity().getPosition(), owner);
+            squads[s] = new Squad(squadEntity, Helpers.Card(CardTemplate.MasterArchers, Upgrade.U3),
+                    new SquadId(7), 60f, (byte) size, members);
+        }
+
+        Projectile[] projectiles = new Projectile[figureCount / 10];
+        for (int i = 0; i < projectiles.length; i++) {
+            projectiles[i] = new Projectile(new EntityId(nextId++), position(random, tick));
+        }
+
+        MapEntities entities = new MapEntities(projectiles, powerSlots, tokenSlots, new AbilityWorldObject[0],
+                squads, figures, buildings, new BarrierSet[0], new BarrierModule[0]);
+        return new GameState(players[0].getId(), new Tick(tick), new PlayerCommand[0], new RejectedCommand[0], players, entities);
+    }
+
+    /** Serializes the state in the format the game sends it. */
+    public static byte[] toJson(GameState state) {
+        try {
+            return GAME_MAPPER.writeValueAsBytes(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Couldn't serialize sample state", e);
+        }
+    }
+
+    private static Entity entity(int id, EntityId owner, Random random, int tick) {
+        AspectHolder[] aspects = {new AspectHolder(new AspectHealth(400f + random.nextInt(200), 600f))};
+        return new Entity(new EntityId(id), new AbilityEffect[0], aspects, new JobHolder(new JobIdle()), position(random, tick), owner);
+    }
+
+    private static Position position(Random random, int tick) {
+        float drift = tick * 0.5f;
+        return new Position((random.nextFloat() * MAP_SIZE + drift) % MAP_SIZE, 10f, random.nextFloat() * MAP_SIZE);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import eu.skylords.botapi.EntityKind;
+import eu.skylords.botapi.SpatialGrid;
+import eu.skylords.botapi.Types.*;
+
+/**
+ * Compares range and nearest neighbour queries of the {@link SpatialGrid} with a linear scan over the entities,
+ * for a query per figure of the state, e.g. to find the enemies in range of every unit of a bot.
+ * <p>
+ * Usage: {@code SpatialIndexBenchmark [figureCount] [radius] [iterations]}
+ */
+public class SpatialIndexBenchmark {
+
+    public static void main(String[] args) {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        float radius = args.length > 1 ? Float.parseFloat(args[1]) : 30f;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        GameState state = SampleStates.lateGame(figureCount, 1000, 42);
+        Figure[] figures = state.getEntities().getFigures();
+        SpatialGrid grid = new SpatialGrid(radius);
+        grid.update(state);
+        System.out.printf("State with %d figures: %d indexed entities%n", figureCount, grid.size());
+
+        SpatialGrid.Hits hits = new SpatialGrid.Hits();
+        SpatialGrid.Filter figuresOnly = SpatialGrid.Filter.of(EntityKind.FIGURES);
+        SpatialGrid.Filter tokenSlots = SpatialGrid.Filter.of(EntityKind.TOKEN_SLOTS);
+
+        Measurement.run("grid update", iterations, () -> {
+            grid.update(state);
+            return grid.size();
+        });
+        // entity counts change between the ticks of a match, the grid shrinks and grows again within its capacity
+        GameState[] ticks = {
+                state,
+                SampleStates.lateGame(figureCount / 2, 1001, 42),
+                SampleStates.lateGame(figureCount * 4 / 5, 1002, 42)
+        };
+        Measurement.run("grid update changing counts", iterations, () -> {
+            long indexed = 0;
+            for (GameState tick : ticks) {
+                grid.update(tick);
+                indexed += grid.size();
+            }
+            return indexed;
+        });
+        grid.update(state);
+        Measurement.run("grid radius per figure", iterations, () -> {
+            long found = 0;
+            for (Figure figure : figures) {
+                Position p = figure.getEntity().getPosition();
+                grid.withinRadius(p.getX(), p.getZ(), radius, figuresOnly, hits);
+                found += hits.size();
+            }
+            return found;
+        });
+        Measurement.run("scan radius per figure", iterations, () -> {
+            long found = 0;
+            float radiusSquared = radius * radius;
+            for (Figure figure : figures) {
+                Position p = figure.getEntity().getPosition();
+                for (Figure other : figures) {
+                    Position o = other.getEntity().getPosition();
+                    float dx = o.getX() - p.getX();
+                    float dz = o.getZ() - p.getZ();
+                    if (dx * dx + dz * dz <= radiusSquared) {
+                        found++;
+                    }
+                }
+            }
+            return found;
+        });
+        Measurement.run("grid nearest token slot", iterations, () -> {
+            long found = 0;
+            for (Figure figure : figures) {
+                Position p = figure.getEntity().getPosition();
+                grid.nearest(p.getX(), p.getZ(), 1, tokenSlots, hits);
+                found += hits.entry(0);
+            }
+            return found;
+        });
+        Measurement.run("scan nearest token slot", iterations, () -> {
+            long found = 0;
+            TokenSlot[] slots = state.getEntities().getTokenSlots();
+            for (Figure figure : figures) {
+                Position p = figure.getEntity().getPosition();
+                float best = Float.MAX_VALUE;
+                int nearest = -1;
+                for (int i = 0; i < slots.length; i++) {
+                    Position o = slots[i].getEntity().getPosition();
+                    float dx = o.getX() - p.getX();
+                    float dz = o.getZ() - p.getZ();
+                    if (dx * dx + dz * dz < best) {
+                        best = dx * dx + dz * dz;
+                        nearest = i;
+                    }
+                }
+                found += nearest;
+            }
+            return found;
+        });
+    }
+}
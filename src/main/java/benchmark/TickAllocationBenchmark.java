@@ -0,0 +1,48 @@
+package benchmark;
+
+import eu.skylords.botapi.TickDecoder;
+import eu.skylords.botapi.TickDecoding;
+import eu.skylords.botapi.Types.GameState;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Measures the allocation rate of a match for the available {@link TickDecoding decoders}:
+ * the allocated bytes per decoded tick, and the resulting rate at the 10 ticks per second of the game.
+ * <p>
+ * The ticks are a sequence of consecutive states in which the units move and a few squads are spawned and killed,
+ * so the decoders can't reuse everything as they could for the same state over and over.
+ * <p>
+ * Usage: {@code TickAllocationBenchmark [figureCount] [iterations]}
+ */
+public class TickAllocationBenchmark {
+
+    /** Ticks of the game per second */
+    private static final int TICKS_PER_SECOND = 10;
+    /** Number of distinct consecutive states that are decoded in turn */
+    private static final int STATES = 20;
+
+    public static void main(String[] args) throws IOException {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        byte[][] ticks = new byte[STATES][];
+        for (int i = 0; i < STATES; i++) {
+            // every fifth tick a squad of 4 figures more, then they die again
+            int figures = figureCount + (i % 5 == 4 ? 4 : 0);
+            ticks[i] = SampleStates.toJson(SampleStates.lateGame(figures, 1000 + i, 42));
+        }
+        System.out.printf("%d consecutive states with about %d figures: %d KiB json%n", STATES, figureCount, ticks[0].length / 1024);
+
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            int[] tick = {0};
+            Measurement.Result result = Measurement.run(decoding.name(), iterations, () -> {
+                GameState state = decoder.decode(new ByteArrayInputStream(ticks[tick[0]++ % STATES]));
+                return state.getEntities().getFigures().length;
+            });
+            System.out.printf("%-28s %12.2f MB/s per match at %d ticks/s%n", "", result.bytes() * TICKS_PER_SECOND / 1e6, TICKS_PER_SECOND);
+        }
+    }
+}
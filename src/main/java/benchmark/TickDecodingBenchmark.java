@@ -0,0 +1,64 @@
+package benchmark;
+
+import eu.skylords.botapi.EntityKind;
+import eu.skylords.botapi.TickDecoder;
+import eu.skylords.botapi.TickDecoding;
+import eu.skylords.botapi.TickSelection;
+import eu.skylords.botapi.Types.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Compares the decoding time and the allocated bytes per tick of the available {@link TickDecoding decoders}.
+ * The second round also reads the health of every figure, the typical access of a bot,
+ * which binds the aspects of all figures for {@link TickDecoding#LAZY}.
+ * The third round decodes only the squads and buildings with their health, as an economy bot would select them.
+ * <p>
+ * Usage: {@code TickDecodingBenchmark [figureCount] [iterations]}
+ */
+public class TickDecodingBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        byte[] json = SampleStates.toJson(SampleStates.lateGame(figureCount, 1000, 42));
+        System.out.printf("State with %d figures: %d KiB json%n", figureCount, json.length / 1024);
+
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            Measurement.run(decoding.name(), iterations, () -> {
+                GameState state = decoder.decode(new ByteArrayInputStream(json));
+                return state.getEntities().getFigures().length;
+            });
+        }
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            Measurement.run(decoding.name() + " + health", iterations, () -> {
+                GameState state = decoder.decode(new ByteArrayInputStream(json));
+                float health = 0;
+                for (Figure figure : state.getEntities().getFigures()) {
+                    for (AspectHolder aspect : figure.getEntity().getAspects()) {
+                        if (aspect.get() instanceof AspectHealth h) {
+                            health += h.getCurrentHp();
+                        }
+                    }
+                }
+                return (long) health;
+            });
+        }
+        TickSelection selection = TickSelection.of(EntityKind.SQUADS, EntityKind.BUILDINGS)
+                .withAspects(AspectType.Health)
+                .withJobs()
+                .withoutEffects();
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            decoder.select(selection);
+            Measurement.run(decoding.name() + " + selection", iterations, () -> {
+                GameState state = decoder.decode(new ByteArrayInputStream(json));
+                return state.getEntities().getSquads().length + decoder.getSkippedBytes();
+            });
+        }
+    }
+}
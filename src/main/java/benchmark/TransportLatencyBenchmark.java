@@ -0,0 +1,83 @@
+package benchmark;
+
+import eu.skylords.botapi.Bot;
+import eu.skylords.botapi.BotServer;
+import eu.skylords.botapi.ServerConfig;
+import eu.skylords.botapi.TransportType;
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the round trip of a tick from the {@link LocalGameClient} to a bot that answers immediately,
+ * over TCP loopback ({@link TransportType#HTTP_SERVER}) and over a Unix domain socket ({@link TransportType#UNIX_SOCKET}).
+ * <p>
+ * Usage: {@code TransportLatencyBenchmark [figureCount] [iterations]}
+ */
+public class TransportLatencyBenchmark {
+
+    private static final int PORT = 7373;
+
+    public static void main(String[] args) throws IOException {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        // measure the HTTP server as a bot should run it, see HttpServerTransport
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        byte[] hello = ("{\"version\":" + ApiVersion.VERSION + ",\"map\":{\"map\":\"Simai\"}}").getBytes(StandardCharsets.UTF_8);
+        byte[] tick = SampleStates.toJson(SampleStates.lateGame(figureCount, 1000, 42));
+        System.out.printf("State with %d figures: %d KiB json%n", figureCount, tick.length / 1024);
+
+        Path socketPath = Files.createTempDirectory("skylords-bot").resolve("bot.sock");
+        for (TransportType transport : List.of(TransportType.HTTP_SERVER, TransportType.UNIX_SOCKET)) {
+            ServerConfig config = new ServerConfig();
+            config.setTransport(transport);
+            config.setUnixSocketPath(socketPath);
+            BotServer server = new BotServer(new IdleBot(), PORT, config);
+            server.startServer();
+            try (LocalGameClient client = transport == TransportType.UNIX_SOCKET
+                    ? LocalGameClient.unix(socketPath)
+                    : LocalGameClient.tcp(PORT)) {
+                client.post("/hello", hello);
+                Measurement.run(transport.name(), iterations, () -> client.post("/tick", tick).body().length);
+            } finally {
+                server.shutdown();
+            }
+        }
+    }
+
+    /** Bot that answers every tick without commands, so only the transport is measured. */
+    private static class IdleBot implements Bot {
+        @Override
+        public String getName() {
+            return "IdleBot";
+        }
+
+        @Override
+        public AiForMap sayHello(ApiHello hello) {
+            AiForMap aiForMap = new AiForMap();
+            aiForMap.setName(getName());
+            aiForMap.setDecks(new Deck[0]);
+            return aiForMap;
+        }
+
+        @Override
+        public void prepareForBattle(Prepare prepare) {
+        }
+
+        @Override
+        public void matchStart(GameStartState gameStartState) {
+        }
+
+        @Override
+        public List<Command> onTick(GameState tick) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import eu.skylords.botapi.UnitStore;
+import eu.skylords.botapi.Types.*;
+
+/**
+ * Compares a threat loop over the {@link Figure} objects of the state with the same loop over the arrays of
+ * a {@link UnitStore}: for every squad, the health of the enemy figures within a radius is summed up.
+ * <p>
+ * Usage: {@code UnitStoreBenchmark [figureCount] [radius] [iterations]}
+ */
+public class UnitStoreBenchmark {
+
+    public static void main(String[] args) {
+        int figureCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        float radius = args.length > 1 ? Float.parseFloat(args[1]) : 30f;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        GameState state = SampleStates.lateGame(figureCount, 1000, 42);
+        Squad[] squads = state.getEntities().getSquads();
+        Figure[] figures = state.getEntities().getFigures();
+        UnitStore store = UnitStore.of(state);
+        float radiusSquared = radius * radius;
+        System.out.printf("State with %d figures and %d squads%n", figures.length, squads.length);
+
+        Measurement.run("store update", iterations, () -> {
+            store.update(state);
+            return store.figures().size();
+        });
+        Measurement.run("objects threat per squad", iterations, () -> {
+            double threat = 0;
+            for (Squad squad : squads) {
+                Position p = squad.getEntity().getPosition();
+                EntityId owner = squad.getEntity().getPlayerEntityId();
+                for (Figure figure : figures) {
+                    Entity entity = figure.getEntity();
+                    if (owner != null && owner.equals(entity.getPlayerEntityId())) {
+                        continue;
+                    }
+                    Position o = entity.getPosition();
+                    float dx = o.getX() - p.getX();
+                    float dz = o.getZ() - p.getZ();
+                    if (dx * dx + dz * dz <= radiusSquared) {
+                        for (AspectHolder aspect : entity.getAspects()) {
+                            if (aspect.get() instanceof AspectHealth health) {
+                                threat += health.getCurrentHp();
+                            }
+                        }
+                    }
+                }
+            }
+            return (long) threat;
+        });
+        Measurement.run("store threat per squad", iterations, () -> {
+            UnitStore.Units<Squad> s = store.squads();
+            UnitStore.Units<Figure> f = store.figures();
+            float[] xs = f.xs();
+            float[] zs = f.zs();
+            int[] owners = f.owners();
+            float[] health = f.health();
+            double threat = 0;
+            for (int i = 0; i < s.size(); i++) {
+                float x = s.xs()[i];
+                float z = s.zs()[i];
+                int owner = s.owners()[i];
+                for (int j = 0, n = f.size(); j < n; j++) {
+                    float dx = xs[j] - x;
+                    float dz = zs[j] - z;
+                    if (owners[j] != owner && dx * dx + dz * dz <= radiusSquared) {
+                        threat += health[j];
+                    }
+                }
+            }
+            return (long) threat;
+        });
+    }
+}
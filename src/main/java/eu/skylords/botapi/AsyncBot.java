@@ -0,0 +1,28 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.Command;
+import eu.skylords.botapi.Types.GameState;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link Bot} that computes its commands asynchronously, e.g. on its own executor or inference pool.
+ * The {@link BotServer} doesn't block a request thread while the bot is computing.
+ */
+public interface AsyncBot extends Bot {
+
+    /**
+     * Called on every tick with the current state of the match.
+     * Must return quickly; the actual computation should happen on a different thread.
+     * @param tick The state of the current match on the actual tick.
+     * @return A stage that completes with the list of commands the bot should perform.
+     */
+    CompletionStage<List<Command>> onTickAsync(GameState tick);
+
+    /** Blocking variant of {@link #onTickAsync(GameState)}. Not used by the {@link BotServer}. */
+    @Override
+    default List<Command> onTick(GameState tick) {
+        return onTickAsync(tick).toCompletableFuture().join();
+    }
+}
@@ -6,6 +6,7 @@ import eu.skylords.botapi.Types.GameStartState;
 import eu.skylords.botapi.Types.GameState;
 import eu.skylords.botapi.Types.Prepare;
 import eu.skylords.botapi.Types.Command;
+import eu.skylords.botapi.Types.TickResponse;
 
 import java.util.List;
 
@@ -15,7 +16,7 @@ public interface Bot {
     String getName();
 
     /**
-     * After the version check of the Bot API this method is called on the {@link BotServer#hello(ApiHello) hello endpoint}.
+     * After the version check of the Bot API this method is called on the {@link BotEndpoints#hello(MatchSession.MatchKey, ApiHello) hello endpoint}.
      * Used by the game to initialize the communication with the bot.
      * The bot responds with his name and the decks he is able to play on the selected map.
      * If the bot doesn't support the selected map he has to respond with an empty deck list.
@@ -42,10 +43,32 @@ public interface Bot {
      * Respond with a list of commands the bot should perform.
      * @param tick The state of the current match on the actual tick.
      * @return A list of commands the bot should perform.
+     * @see ServerConfig#setTickResponse(boolean)
      */
-    // TODO offer the option of `TickResponse`
     List<Command> onTick(GameState tick);
 
+    /**
+     * Called after {@link #onTick(GameState) onTick} if {@link ServerConfig#setDebugState(boolean) debug state} is enabled.
+     * Can be used to set the state strings of the response, that are shown in the debug UI of the game.
+     * Only called if the server answers with {@link ServerConfig#setTickResponse(boolean) TickResponse}.
+     * @param tick The state of the current match on the actual tick.
+     * @param response The response with the commands of the bot.
+     */
+    default void describeState(GameState tick, TickResponse response) {
+        // no debug output
+    }
+
+    /**
+     * Called after every {@link #onTick(GameState) onTick} if a {@link ServerConfig#setTickDeadlineMillis(long) tick deadline}
+     * is configured. Like every callback, it isn't called concurrently to {@code onTick}.
+     * If a later {@code onTick} doesn't finish in time, or is still busy with an earlier tick, the server answers
+     * that tick with the commands returned here, and the pending {@code onTick} keeps running in the background.
+     * @return The commands that should be performed if the next tick misses its deadline.
+     */
+    default List<Command> onDeadlineMissed() {
+        return List.of();
+    }
+
     /**
      * Called on the end of a match.
      * Can be used for any cleanup tasks after a match has ended.
@@ -61,4 +84,14 @@ public interface Bot {
     default void initialize() {
         // mo initialization necessary
     }
+
+    /**
+     * The parts of the state the bot reads in {@link #onTick(GameState) onTick}; the streaming decoders skip the rest.
+     * Queried on the actor of the match after {@link #initialize()} and after {@link #prepareForBattle(Prepare) prepareForBattle},
+     * so the selection may depend on the deck and the map.
+     * @return The selected parts of the state, {@link TickSelection#ALL} by default.
+     */
+    default TickSelection getTickSelection() {
+        return TickSelection.ALL;
+    }
 }
@@ -0,0 +1,21 @@
+package eu.skylords.botapi;
+
+/**
+ * A request of the game that can't be answered normally.
+ * Every {@link BotTransport} answers it with the HTTP status of the exception.
+ */
+public class BotApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /** HTTP status of the answer */
+    private final int status;
+
+    public BotApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,108 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.BotMetrics.Endpoint;
+import eu.skylords.botapi.MatchSession.MatchKey;
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The endpoints of the bot api, independent of the {@link BotTransport}.
+ * Every endpoint takes the key of the match; {@code null} addresses the single bot on the root path.
+ * Requests that can't be answered normally throw a {@link BotApiException}.
+ */
+public class BotEndpoints {
+
+    /** Session of the single bot; null in hosting mode */
+    private final MatchSession defaultSession;
+    /** Bots and matches in hosting mode */
+    private final MatchRegistry registry;
+    /** Timings and counters of the server */
+    private final BotMetrics metrics;
+
+    public BotEndpoints(MatchSession defaultSession, MatchRegistry registry, BotMetrics metrics) {
+        this.defaultSession = defaultSession;
+        this.registry = registry;
+        this.metrics = metrics;
+    }
+
+    public AiForMap hello(MatchKey key, ApiHello hello) {
+        long start = System.nanoTime();
+        if (!MatchSession.isCompatible(hello)) {
+            System.out.printf("Incompatible API versions: Bot uses version %d; game requires version %d%n", ApiVersion.VERSION, hello.getVersion());
+            throw new BotApiException(422, "Incompatible API version " + hello.getVersion()); // 422 = Unprocessable Entity
+        }
+        MatchSession session = key == null ? defaultSession() : registry.open(key);
+        if (session == null) {
+            throw new BotApiException(404, "Unknown bot " + key.bot());
+        }
+        AiForMap aiForMap = session.hello(hello);
+        metrics.recordRequest(Endpoint.HELLO, System.nanoTime() - start);
+        return aiForMap;
+    }
+
+    public void prepare(MatchKey key, Prepare prepare) {
+        long start = System.nanoTime();
+        session(key).prepare(prepare);
+        metrics.recordRequest(Endpoint.PREPARE, System.nanoTime() - start);
+    }
+
+    public void start(MatchKey key, GameStartState gameStartState) {
+        long start = System.nanoTime();
+        session(key).start(gameStartState);
+        metrics.recordRequest(Endpoint.START, System.nanoTime() - start);
+    }
+
+    /**
+     * Decodes the state of the current tick and lets the bot react on it.
+     * @return Completes with the json of the answer, see {@link MatchSession#tick(InputStream)}.
+     */
+    public CompletableFuture<byte[]> tick(MatchKey key, InputStream body) throws IOException {
+        long start = System.nanoTime();
+        return session(key).tick(body)
+                .whenComplete((json, error) -> metrics.recordRequest(Endpoint.TICK, System.nanoTime() - start));
+    }
+
+    public void end(MatchKey key) {
+        long start = System.nanoTime();
+        try {
+            session(key).end();
+        } finally {
+            if (key != null) {
+                registry.close(key);
+            }
+        }
+        metrics.recordRequest(Endpoint.END, System.nanoTime() - start);
+    }
+
+    /** @return All metrics of the server in the Prometheus text format, see {@link BotMetrics#CONTENT_TYPE}. */
+    public String metrics() {
+        List<MatchSession> sessions = new ArrayList<>(registry.getSessions());
+        if (defaultSession != null) {
+            sessions.add(0, defaultSession);
+        }
+        return metrics.toPrometheus(sessions);
+    }
+
+    private MatchSession defaultSession() {
+        if (defaultSession == null) {
+            throw new BotApiException(404, "No bot on the root path in hosting mode, use /{bot}/{match}/...");
+        }
+        return defaultSession;
+    }
+
+    private MatchSession session(MatchKey key) {
+        if (key == null) {
+            return defaultSession();
+        }
+        MatchSession session = registry.get(key);
+        if (session == null) {
+            throw new BotApiException(404, "No running match " + key);
+        }
+        return session;
+    }
+}
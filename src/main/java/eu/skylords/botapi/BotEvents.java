@@ -0,0 +1,119 @@
+package eu.skylords.botapi;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events of the lifecycle of a match.
+ * <p>
+ * The events are disabled unless a recording enables them, e.g. with
+ * {@code -XX:StartFlightRecording:settings=profile} or {@code jcmd <pid> JFR.start}. Slow ticks can then be
+ * correlated with GC pauses, safepoints and allocation spikes of the same recording in JDK Mission Control.
+ */
+public final class BotEvents {
+
+    private static final String CATEGORY = "Skylords Bot API";
+
+    private BotEvents() {
+        // prevent class initialization
+    }
+
+    /** Common fields of all events of a match. The duration of an event is the duration of the request. */
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public abstract static class MatchEvent extends Event {
+        @Label("Bot")
+        public String bot;
+        @Label("Match")
+        public String match;
+
+        void setKey(MatchSession.MatchKey key) {
+            this.bot = key.bot();
+            this.match = key.match();
+        }
+    }
+
+    @Name("eu.skylords.botapi.Hello")
+    @Label("Bot Hello")
+    @Description("The game asked the bot for its decks")
+    public static class HelloEvent extends MatchEvent {
+        @Label("Map")
+        public String map;
+    }
+
+    @Name("eu.skylords.botapi.Prepare")
+    @Label("Bot Prepare")
+    @Description("The bot prepared for the match")
+    public static class PrepareEvent extends MatchEvent {
+        @Label("Deck")
+        public String deck;
+    }
+
+    @Name("eu.skylords.botapi.Start")
+    @Label("Bot Start")
+    @Description("The match started")
+    public static class StartEvent extends MatchEvent {
+    }
+
+    @Name("eu.skylords.botapi.Tick")
+    @Label("Bot Tick")
+    @Description("The bot answered a tick")
+    public static class TickEvent extends MatchEvent {
+        @Label("Tick")
+        public int tick;
+        @Label("Skipped")
+        @Description("The bot was still busy with an earlier tick and answered with its fallback commands")
+        public boolean skipped;
+        @Label("Commands")
+        public int commands;
+        @Label("Rejected Commands")
+        @Description("Commands of the previous ticks, that the game rejected")
+        public int rejectedCommands;
+
+        @Label("Figures")
+        public int figures;
+        @Label("Squads")
+        public int squads;
+        @Label("Buildings")
+        public int buildings;
+        @Label("Projectiles")
+        public int projectiles;
+        @Label("Power Slots")
+        public int powerSlots;
+        @Label("Token Slots")
+        public int tokenSlots;
+        @Label("Ability World Objects")
+        public int abilityWorldObjects;
+        @Label("Barrier Sets")
+        public int barrierSets;
+        @Label("Barrier Modules")
+        public int barrierModules;
+
+        @Label("Skipped Bytes")
+        @Description("Bytes of the body that weren't decoded, because the bot didn't select them")
+        @DataAmount(DataAmount.BYTES)
+        public long skippedBytes;
+
+        @Label("Decode Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long decodeTime;
+        @Label("Compute Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long computeTime;
+        @Label("Encode Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long encodeTime;
+    }
+
+    @Name("eu.skylords.botapi.End")
+    @Label("Bot End")
+    @Description("The match ended")
+    public static class EndEvent extends MatchEvent {
+    }
+}
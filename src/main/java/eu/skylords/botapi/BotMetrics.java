@@ -0,0 +1,188 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timings and counters of a {@link BotServer}, rendered in the Prometheus text format on {@code GET /metrics}.
+ * Durations are recorded in nanoseconds into {@link Histogram histograms} and exposed in seconds.
+ */
+public class BotMetrics {
+
+    /** Content type of the Prometheus text format */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** The endpoints of the api */
+    public enum Endpoint { HELLO, PREPARE, START, TICK, END }
+
+    /** The phases of the {@code /tick} endpoint */
+    public enum TickPhase {
+        /** Reading and decoding the state of the tick */
+        DECODE,
+        /** The bot computes its commands */
+        COMPUTE,
+        /** Serializing the answer */
+        ENCODE
+    }
+
+    private static final Endpoint[] ENDPOINTS = Endpoint.values();
+    private static final TickPhase[] PHASES = TickPhase.values();
+    private static final EntityKind[] ENTITY_KINDS = EntityKind.values();
+
+    private final Histogram[] requests = new Histogram[ENDPOINTS.length];
+    private final Histogram[] phases = new Histogram[PHASES.length];
+    private final Histogram rejectedPerTick = new Histogram();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong rejectedCommands = new AtomicLong();
+    private final AtomicLong skippedBytes = new AtomicLong();
+
+    public BotMetrics() {
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new Histogram();
+        }
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new Histogram();
+        }
+    }
+
+    /** Records the duration of a request, from receiving its body to the ready answer. */
+    public void recordRequest(Endpoint endpoint, long nanos) {
+        requests[endpoint.ordinal()].record(nanos);
+    }
+
+    /** Records the duration of a phase of a tick. */
+    public void recordPhase(TickPhase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /** Counts a decoded tick and the commands of the bot that the game rejected. */
+    public void recordTick(GameState state) {
+        recordTick(state, 0);
+    }
+
+    /**
+     * Counts a decoded tick and the commands of the bot that the game rejected.
+     * @param skippedBytes Bytes of the body the decoder skipped, because the bot didn't {@link TickSelection select} them.
+     */
+    public void recordTick(GameState state, long skippedBytes) {
+        ticks.incrementAndGet();
+        this.skippedBytes.addAndGet(skippedBytes);
+        int rejected = state.getRejectedCommands() == null ? 0 : state.getRejectedCommands().length;
+        rejectedCommands.addAndGet(rejected);
+        rejectedPerTick.record(rejected);
+    }
+
+    public Histogram.Snapshot getRequest(Endpoint endpoint) {
+        return requests[endpoint.ordinal()].snapshot();
+    }
+    public Histogram.Snapshot getPhase(TickPhase phase) {
+        return phases[phase.ordinal()].snapshot();
+    }
+    public long getTicks() {
+        return ticks.get();
+    }
+    public long getRejectedCommands() {
+        return rejectedCommands.get();
+    }
+    public long getSkippedBytes() {
+        return skippedBytes.get();
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text format.
+     * @param sessions The running matches, for the per match entity counts and queue depths.
+     */
+    public String toPrometheus(Collection<MatchSession> sessions) {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "skylords_request_duration_seconds", "summary", "Duration of the requests of the game.");
+        for (Endpoint endpoint : ENDPOINTS) {
+            summary(out, "skylords_request_duration_seconds", "endpoint", label(endpoint), getRequest(endpoint), 1e9);
+        }
+        header(out, "skylords_request_duration_max_seconds", "gauge", "Longest request of the game.");
+        for (Endpoint endpoint : ENDPOINTS) {
+            sample(out, "skylords_request_duration_max_seconds", "endpoint", label(endpoint), getRequest(endpoint).max() / 1e9);
+        }
+
+        header(out, "skylords_tick_phase_seconds", "summary", "Duration of the phases of a tick.");
+        for (TickPhase phase : PHASES) {
+            summary(out, "skylords_tick_phase_seconds", "phase", label(phase), getPhase(phase), 1e9);
+        }
+        header(out, "skylords_tick_phase_max_seconds", "gauge", "Longest phase of a tick.");
+        for (TickPhase phase : PHASES) {
+            sample(out, "skylords_tick_phase_max_seconds", "phase", label(phase), getPhase(phase).max() / 1e9);
+        }
+
+        header(out, "skylords_ticks_total", "counter", "Decoded ticks.");
+        sample(out, "skylords_ticks_total", null, null, getTicks());
+        header(out, "skylords_decode_skipped_bytes_total", "counter", "Bytes of the ticks that weren't decoded, because the bots didn't select them.");
+        sample(out, "skylords_decode_skipped_bytes_total", null, null, getSkippedBytes());
+        header(out, "skylords_rejected_commands_total", "counter", "Commands of the bots that were rejected by the game.");
+        sample(out, "skylords_rejected_commands_total", null, null, getRejectedCommands());
+        header(out, "skylords_rejected_commands_per_tick", "summary", "Rejected commands per tick.");
+        summary(out, "skylords_rejected_commands_per_tick", null, null, rejectedPerTick.snapshot(), 1);
+
+        header(out, "skylords_entities", "gauge", "Entities in the latest tick of a match.");
+        for (MatchSession session : sessions) {
+            String match = escape(session.getKey().toString());
+            for (EntityKind kind : ENTITY_KINDS) {
+                out.append("skylords_entities{match=\"").append(match).append("\",kind=\"").append(label(kind)).append("\"} ")
+                        .append(session.getEntityCount(kind)).append('\n');
+            }
+        }
+        header(out, "skylords_actor_queue_depth", "gauge", "Queued callbacks of the bot of a match.");
+        for (MatchSession session : sessions) {
+            sample(out, "skylords_actor_queue_depth", "match", escape(session.getKey().toString()), session.getActorMetrics().queueDepth());
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String label, String value, Histogram.Snapshot snapshot, double unit) {
+        String labels = label == null ? "" : label + "=\"" + value + "\",";
+        quantile(out, name, labels, "0.5", snapshot.p50() / unit);
+        quantile(out, name, labels, "0.99", snapshot.p99() / unit);
+        quantile(out, name, labels, "0.999", snapshot.p999() / unit);
+        sample(out, name + "_sum", label, value, snapshot.sum() / unit);
+        sample(out, name + "_count", label, value, snapshot.count());
+    }
+
+    private static void quantile(StringBuilder out, String name, String labels, String quantile, double value) {
+        out.append(name).append('{').append(labels).append("quantile=\"").append(quantile).append("\"} ");
+        number(out, value);
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String value, double sample) {
+        out.append(name);
+        if (label != null) {
+            out.append('{').append(label).append("=\"").append(value).append("\"}");
+        }
+        out.append(' ');
+        number(out, sample);
+    }
+
+    private static void number(StringBuilder out, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String label(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Escapes a label value of the Prometheus text format. */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -1,129 +1,161 @@
 package eu.skylords.botapi;
 
-import eu.skylords.botapi.Types.*;
-import jakarta.ws.rs.Consumes;
-import jakarta.ws.rs.GET;
-import jakarta.ws.rs.POST;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
-import org.glassfish.grizzly.http.server.HttpServer;
-import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
-import org.glassfish.jersey.server.ResourceConfig;
-
-import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
-
-@Path("")
+import java.util.function.Supplier;
+
+/**
+ * Runs bots and serves the endpoints of the bot api to the game.
+ * How requests are received is defined by the {@link TransportType} of the {@link ServerConfig}.
+ */
 public class BotServer {
 
-    /** The currently running server */
-    private HttpServer server;
+    /** Receives the requests of the game; null if the server isn't running */
+    private BotTransport transport;
+    /** Executes the requests of the game */
+    private RequestExecutor executor;
+    /** Runs the callbacks of the bots, see {@link MatchActor} */
+    private final RequestExecutor botPool;
 
     /** The port on which the bot server runs and can be reached by the game */
     private final int port;
 
-    /** The bot that is running on this server */
+    /** The bot that is running on this server; null in hosting mode */
     private final Bot bot;
     /** Name of the bot */
     private final String name;
+    /** Configuration of the server */
+    private final ServerConfig config;
+    /** Session of the single bot, that is reused for all matches; null in hosting mode */
+    private final MatchSession defaultSession;
+    /** Bots and matches in hosting mode */
+    private final MatchRegistry matches;
+    /** Timings and counters, exposed on {@code /metrics} */
+    private final BotMetrics metrics = new BotMetrics();
+    /** Dispatches the requests to the sessions */
+    private final BotEndpoints endpoints;
 
     /**
-     * Create a new BotServer.
+     * Create a new BotServer with the default {@link ServerConfig configuration}.
      * @param bot The API bot that should run on the server.
      * @param port The port the BotServer listens to requests from the game.
      */
     public BotServer(Bot bot, int port) {
+        this(bot, port, new ServerConfig());
+    }
+
+    /**
+     * Create a new BotServer.
+     * @param bot The API bot that should run on the server.
+     * @param port The port the BotServer listens to requests from the game.
+     * @param config The configuration of the server.
+     */
+    public BotServer(Bot bot, int port, ServerConfig config) {
         this.bot = bot;
         this.port = port;
         this.name = bot.getName();
+        this.config = config;
+        this.botPool = createBotPool(config, port);
+        this.defaultSession = new MatchSession(new MatchSession.MatchKey(name, "default"), bot, config, botPool, metrics);
+        this.matches = new MatchRegistry(config, botPool, metrics);
+        this.endpoints = new BotEndpoints(defaultSession, matches, metrics);
+    }
+
+    /**
+     * Create a new BotServer in hosting mode, that serves many bots and many concurrent matches.
+     * Bots are added with {@link #register(String, Supplier)}. The endpoints of a match are located at
+     * {@code /{bot}/{match}/hello}, {@code /{bot}/{match}/tick}, ..., where {@code bot} is the registered name
+     * of the bot and {@code match} an arbitrary id that is unique for each concurrent match.
+     * Every match gets its own bot instance, created on {@code /hello} and dropped on {@code /end}.
+     * @param port The port the BotServer listens to requests from the game.
+     * @param config The configuration of the server.
+     */
+    public BotServer(int port, ServerConfig config) {
+        this.bot = null;
+        this.port = port;
+        this.name = "BotHost";
+        this.config = config;
+        this.botPool = createBotPool(config, port);
+        this.defaultSession = null;
+        this.matches = new MatchRegistry(config, botPool, metrics);
+        this.endpoints = new BotEndpoints(null, matches, metrics);
+    }
+
+    private static RequestExecutor createBotPool(ServerConfig config, int port) {
+        // bots compute on platform threads; the actors keep the callbacks of each match in order
+        return new RequestExecutor(ExecutionMode.WORKER_POOL, config.getBotPoolSize(), "bot-actor-" + port);
+    }
+
+    /**
+     * Register a bot that can be hosted on this server.
+     * @param name Name of the bot, used as first part of the path of its endpoints.
+     * @param factory Creates a new bot instance for every match.
+     */
+    public void register(String name, Supplier<? extends Bot> factory) {
+        matches.register(name, factory);
     }
 
-    /** Starts the server on the provided port */
+    /** Starts the server on the provided port, or on the configured socket of {@link TransportType#UNIX_SOCKET} */
     public void startServer() {
-        String baseUri = "http://localhost:" + port + "/";
         System.out.println("Creating new Skylords Reborn Bot API Server...");
+        transport = BotTransport.create(config, port);
         try {
-            final ResourceConfig rc = new ResourceConfig().register(this);
-            server = GrizzlyHttpServerFactory.createHttpServer(URI.create(baseUri), rc);
+            executor = new RequestExecutor(config.getExecutionMode(), config.getWorkerPoolSize(), "bot-server-" + port);
+            transport.start(endpoints, executor);
 
             System.out.printf("Skylords Reborn Bot API Server '%s' successfully started%n", name);
-            System.out.printf("Listening on %s%n", baseUri);
+            System.out.printf("Listening on %s with config %s%n", transport.getAddress(), config);
 
-            this.bot.initialize();
+            if (defaultSession != null) {
+                defaultSession.initialize();
+            } else {
+                System.out.printf("Hosting bots %s%n", matches.getBotNames());
+            }
 
         } catch (Throwable t) {
-            System.out.printf("Couldn't start Bot '%s' on %s; cause: %s%n", name, baseUri, t);
+            System.out.printf("Couldn't start Bot '%s' on %s; cause: %s%n", name, transport.getAddress(), t);
             t.printStackTrace();
         }
     }
 
     public void shutdown() {
         System.out.println("Shutting down...");
-        server.shutdown();
+        transport.stop();
+        executor.shutdown();
+        matches.closeAll();
+        botPool.shutdown();
         System.out.println("bye");
     }
 
-    // ----------------------------------------------------------------------------------------------------------------
-    // REST Endpoints:
-
-    @POST
-    @Path("/hello")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response hello(ApiHello hello) {
-        if (ApiVersion.VERSION != hello.getVersion()) {
-            System.out.printf("Incompatible API versions: Bot uses version %d; game requires version %d", ApiVersion.VERSION, hello.getVersion());
-            return Response.status(422).build(); // 422 = Unprocessable Entity
-        }
-        AiForMap aiForMap = bot.sayHello(hello);
-        return Response.ok(aiForMap).build();
+    public int getPort() {
+        return port;
     }
-
-    @POST
-    @Path("/prepare")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response prepare(Prepare prepare) {
-        bot.prepareForBattle(prepare);
-        return Response.ok().build();
+    public Bot getBot() {
+        return bot;
     }
-
-    @POST
-    @Path("/start")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response start(GameStartState gameStartState) {
-        bot.matchStart(gameStartState);
-        return Response.ok().build();
+    public ServerConfig getConfig() {
+        return config;
     }
-
-    @POST
-    @Path("/tick")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public List<CommandHolder> tick(GameState gameState) {
-        return bot.onTick(gameState)
-                .stream()
-                .map(CommandHolder::new)
-                .collect(Collectors.toList());
+    /** @return The deadline counters of the single bot, or {@code null} if no tick deadline is configured or in hosting mode. */
+    public TickBudget.BudgetMetrics getTickBudgetMetrics() {
+        return defaultSession == null ? null : defaultSession.getTickBudgetMetrics();
     }
-
-    @GET
-    @Path("/end")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response end() {
-        bot.onEnd();
-        return Response.ok().build();
+    /** @return The queue depth of the callbacks of the single bot, or {@code null} in hosting mode. */
+    public MatchActor.ActorMetrics getActorMetrics() {
+        return defaultSession == null ? null : defaultSession.getActorMetrics();
     }
-
-    public int getPort() {
-        return port;
+    /** @return The timings and counters of the server. */
+    public BotMetrics getMetrics() {
+        return metrics;
     }
-    public Bot getBot() {
-        return bot;
+    /** @return The running matches in hosting mode. */
+    public MatchRegistry getMatches() {
+        return matches;
+    }
+    /** @return The current queue and pool metrics of the request executor, or {@code null} if the server isn't running. */
+    public RequestExecutor.ExecutorMetrics getExecutorMetrics() {
+        return executor == null ? null : executor.getMetrics();
+    }
+    /** @return The current queue and pool metrics of the threads that run the bots. */
+    public RequestExecutor.ExecutorMetrics getBotPoolMetrics() {
+        return botPool.getMetrics();
     }
 }
@@ -0,0 +1,45 @@
+package eu.skylords.botapi;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Receives the requests of the game and dispatches them to the {@link BotEndpoints}.
+ * The endpoints of the single bot are located on the root path ({@code /hello}, {@code /tick}, ...),
+ * the endpoints of a match in hosting mode on {@code /{bot}/{match}/hello}, {@code /{bot}/{match}/tick}, ...
+ */
+public interface BotTransport {
+
+    /**
+     * Starts to listen for requests.
+     * @param endpoints Handles the requests.
+     * @param executor Executes the requests.
+     */
+    void start(BotEndpoints endpoints, ExecutorService executor) throws IOException;
+
+    /** Stops to listen for requests. */
+    void stop();
+
+    /** @return Where the game can reach the bot. */
+    String getAddress();
+
+    /**
+     * Create the transport that is selected in the configuration.
+     * @param config The configuration of the server.
+     * @param port The port the game sends its requests to; not used by {@link TransportType#UNIX_SOCKET}.
+     */
+    static BotTransport create(ServerConfig config, int port) {
+        return switch (config.getTransport()) {
+            case JERSEY -> {
+                try {
+                    Class.forName("org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory", false, BotTransport.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("TransportType.JERSEY needs the optional Jersey dependencies, see the README", e);
+                }
+                yield new JerseyTransport(port);
+            }
+            case HTTP_SERVER -> new HttpServerTransport(port);
+            case UNIX_SOCKET -> new UnixSocketTransport(config.getUnixSocketPath());
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Lookup of the {@link CardTemplate} and the {@link Upgrade} of a {@link CardId}, and of the metadata of the cards.
+ * <p>
+ * A card id is the id of the template plus the value of the upgrade, see {@link Helpers#Card(CardTemplate, Upgrade)}.
+ * {@link #template(CardId)} and {@link #upgrade(CardId)} decode it with a division and the tables of
+ * the {@link IntEnumCodec}s of the enums, without allocating.
+ * <p>
+ * The metadata of the cards ({@link CardInfo}) isn't part of the api, so a catalog loads it from a local file with
+ * one card per line: {@code template,type,orbs,power}, e.g. {@code MasterArchers,Unit,Nature+White,70}.
+ * The template is the name of the {@link CardTemplate} constant, the type a {@link CardType}, the orbs the
+ * {@link OrbColor colors} of the required orbs joined with {@code +} ({@code White} for a neutral orb)
+ * and the power the power cost. Empty lines and lines starting with {@code #} are ignored.
+ * <p>
+ * Immutable and thread safe.
+ */
+public final class CardCatalog {
+
+    /** Difference between the ids of two upgrades of a card */
+    public static final int UPGRADE_STEP = 1_000_000;
+
+    private static final IntEnumCodec<CardTemplate> TEMPLATES = IntEnumCodec.of(CardTemplate.class);
+    private static final IntEnumCodec<Upgrade> UPGRADES = IntEnumCodec.of(Upgrade.class);
+
+    /** Catalog without metadata */
+    public static final CardCatalog EMPTY = new CardCatalog(new CardInfo[CardTemplate.values().length]);
+
+    /** Metadata by the ordinal of the template */
+    private final CardInfo[] infos;
+
+    private CardCatalog(CardInfo[] infos) {
+        this.infos = infos;
+    }
+
+    /** @return The template of the card id, or {@code null} if it isn't a known card. */
+    public static CardTemplate template(CardId id) {
+        return template(id.value());
+    }
+
+    /** @return The template of the card id, with or without upgrade, or {@code null} if it isn't a known card. */
+    public static CardTemplate template(int id) {
+        return id < 0 ? null : TEMPLATES.decode(id % UPGRADE_STEP);
+    }
+
+    /** @return The upgrade of the card id, or {@code null} if it isn't a known upgrade. */
+    public static Upgrade upgrade(CardId id) {
+        return upgrade(id.value());
+    }
+
+    /** @return The upgrade of the card id, or {@code null} if it isn't a known upgrade. */
+    public static Upgrade upgrade(int id) {
+        return id < 0 ? null : UPGRADES.decode(id - id % UPGRADE_STEP);
+    }
+
+    /** Loads the metadata from a file, see the format above. */
+    public static CardCatalog load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    /** Loads the metadata from a resource on the classpath, e.g. {@code "/cards.csv"}. */
+    public static CardCatalog loadResource(String name) throws IOException {
+        try (InputStream in = CardCatalog.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Card resource " + name + " not found");
+            }
+            return load(in);
+        }
+    }
+
+    /** Loads the metadata from a stream in UTF-8, see the format above. The stream isn't closed. */
+    public static CardCatalog load(InputStream in) throws IOException {
+        CardInfo[] infos = new CardInfo[CardTemplate.values().length];
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            CardInfo info = parse(line, number);
+            if (infos[info.getTemplate().ordinal()] != null) {
+                throw new IllegalArgumentException("Line " + number + ": duplicate card " + info.getTemplate());
+            }
+            infos[info.getTemplate().ordinal()] = info;
+        }
+        return new CardCatalog(infos);
+    }
+
+    private static CardInfo parse(String line, int number) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Line " + number + ": expected template,type,orbs,power but was " + line);
+        }
+        try {
+            String[] colors = fields[2].strip().split("\\+");
+            OrbColor[] orbs = new OrbColor[colors.length];
+            for (int i = 0; i < colors.length; i++) {
+                orbs[i] = OrbColor.valueOf(colors[i].strip());
+            }
+            return new CardInfo(CardTemplate.valueOf(fields[0].strip()), CardType.valueOf(fields[1].strip()),
+                    orbs, Float.parseFloat(fields[3].strip()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + number + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** @return The metadata of the card, or {@code null} if the catalog doesn't contain it. */
+    public CardInfo get(CardTemplate template) {
+        return infos[template.ordinal()];
+    }
+
+    /** @return The metadata of the card of the id, with or without upgrade, or {@code null} if there is none. */
+    public CardInfo get(CardId id) {
+        CardTemplate template = template(id.value());
+        return template == null ? null : infos[template.ordinal()];
+    }
+
+    /** @return Number of cards with metadata. */
+    public int size() {
+        int size = 0;
+        for (CardInfo info : infos) {
+            if (info != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /** Kind of a card */
+    public enum CardType {
+        Unit,
+        Building,
+        Spell;
+    }
+
+    /** Metadata of a card, loaded by a {@link CardCatalog}. */
+    public static final class CardInfo {
+        private final CardTemplate template;
+        private final CardType type;
+        private final OrbColor[] orbs;
+        private final float powerCost;
+
+        public CardInfo(CardTemplate template, CardType type, OrbColor[] orbs, float powerCost) {
+            this.template = template;
+            this.type = type;
+            this.orbs = orbs.clone();
+            this.powerCost = powerCost;
+        }
+
+        public CardTemplate getTemplate() {
+            return template;
+        }
+        public CardType getType() {
+            return type;
+        }
+        /** @return The colors of the required orbs, {@link OrbColor#White} for neutral orbs. Must not be modified. */
+        public OrbColor[] getOrbs() {
+            return orbs;
+        }
+        /** @return Number of required orbs, the tier of the card. */
+        public int getTier() {
+            return orbs.length;
+        }
+        public float getPowerCost() {
+            return powerCost;
+        }
+
+        @Override
+        public String toString() {
+            return "{template: " + template + ", type: " + type + ", orbs: " + Arrays.toString(orbs) + ", power_cost: " + powerCost + "}";
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package eu.skylords.botapi;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /** Identifies a Card */
+@JsonSerialize(using = IntEnumCodec.Serializer.class)
+@JsonDeserialize(using = IntEnumCodec.Deserializer.class)
 public enum CardTemplate {
     NotACard(0),
     /** Test strike */
@@ -585,6 +588,7 @@ public enum CardTemplate {
 
     // ----------------------------------------------------------------------
     public final int id;
+    private static final IntEnumCodec<CardTemplate> CODEC = IntEnumCodec.of(CardTemplate.class);
 
     CardTemplate(int id) {
         this.id = id;
@@ -595,9 +599,16 @@ public enum CardTemplate {
         return id;
     }
 
+    /**
+     * @return The template with exactly this id, or {@code null}; unlike {@link #fromId(int)} without allocating.
+     *         See {@link CardCatalog#template(int)} for ids with upgrade.
+     */
+    public static CardTemplate decode(int id) {
+        return CODEC.decode(id);
+    }
+
+    /** @return The template with exactly this id, see {@link CardCatalog#template(int)} for ids with upgrade. */
     public static Optional<CardTemplate> fromId(int id) {
-        return Arrays.stream(CardTemplate.values())
-                .filter(ct -> ct.id == id)
-                .findFirst();
+        return Optional.ofNullable(decode(id));
     }
 }
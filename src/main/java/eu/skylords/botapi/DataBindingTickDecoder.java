@@ -0,0 +1,18 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import eu.skylords.botapi.Types.GameState;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Decodes the {@link GameState} with Jackson data binding, the same way Jersey does. */
+public class DataBindingTickDecoder implements TickDecoder {
+
+    private static final ObjectReader READER = Json.MAPPER.readerFor(GameState.class);
+
+    @Override
+    public GameState decode(InputStream in) throws IOException {
+        return READER.readValue(in);
+    }
+}
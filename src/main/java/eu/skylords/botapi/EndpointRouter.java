@@ -0,0 +1,94 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.core.JacksonException;
+import eu.skylords.botapi.MatchSession.MatchKey;
+import eu.skylords.botapi.Types.*;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Routes plain HTTP requests to the {@link BotEndpoints}, for the transports that don't use Jersey.
+ * Request and response bodies are mapped with {@link Json#MAPPER}.
+ */
+public class EndpointRouter {
+
+    private static final String JSON = "application/json";
+
+    private final BotEndpoints endpoints;
+
+    public EndpointRouter(BotEndpoints endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Handles a request.
+     * @param method The HTTP method of the request.
+     * @param path The path of the request: {@code /hello} for the single bot or {@code /{bot}/{match}/hello} in hosting mode.
+     * @param body The body of the request.
+     * @return Completes with the answer.
+     */
+    public CompletableFuture<Answer> route(String method, String path, InputStream body) {
+        try {
+            String[] parts = path.substring(1).split("/");
+            MatchKey key = switch (parts.length) {
+                case 1 -> null;
+                case 3 -> new MatchKey(parts[0], parts[1]);
+                default -> throw new BotApiException(404, "Unknown endpoint " + path);
+            };
+            String endpoint = parts[parts.length - 1];
+            String expectedMethod = endpoint.equals("end") || endpoint.equals("metrics") ? "GET" : "POST";
+            if (!method.equals(expectedMethod)) {
+                throw new BotApiException(405, "Method " + method + " not allowed"); // 405 = Method Not Allowed
+            }
+            switch (endpoint) {
+                case "hello" -> {
+                    AiForMap aiForMap = endpoints.hello(key, Json.MAPPER.readValue(body, ApiHello.class));
+                    return CompletableFuture.completedFuture(new Answer(JSON, Json.MAPPER.writeValueAsBytes(aiForMap)));
+                }
+                case "prepare" -> endpoints.prepare(key, Json.MAPPER.readValue(body, Prepare.class));
+                case "start" -> endpoints.start(key, Json.MAPPER.readValue(body, GameStartState.class));
+                case "tick" -> {
+                    return endpoints.tick(key, body).thenApply(json -> new Answer(JSON, json));
+                }
+                case "end" -> endpoints.end(key);
+                case "metrics" -> {
+                    if (key != null) {
+                        throw new BotApiException(404, "Unknown endpoint " + path);
+                    }
+                    return CompletableFuture.completedFuture(
+                            new Answer(BotMetrics.CONTENT_TYPE, endpoints.metrics().getBytes(StandardCharsets.UTF_8)));
+                }
+                default -> throw new BotApiException(404, "Unknown endpoint " + path);
+            }
+            return CompletableFuture.completedFuture(Answer.EMPTY);
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+    }
+
+    /** @return The HTTP status of the answer to a failed request. */
+    public static int status(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof BotApiException e) {
+            return e.getStatus();
+        }
+        if (cause instanceof JacksonException) {
+            return 400; // 400 = Bad Request
+        }
+        System.out.printf("Error while handling a request: %s%n", cause);
+        cause.printStackTrace();
+        return 500;
+    }
+
+    /**
+     * Answer to a successful request.
+     * @param contentType Content type of the body; {@code null} if there is no body.
+     * @param body The body; empty if there is none.
+     */
+    public record Answer(String contentType, byte[] body) {
+        public static final Answer EMPTY = new Answer(null, new byte[0]);
+    }
+}
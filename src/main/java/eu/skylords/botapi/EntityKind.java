@@ -0,0 +1,47 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+/** The kinds of entities of {@link MapEntities} */
+public enum EntityKind {
+    PROJECTILES, POWER_SLOTS, TOKEN_SLOTS, ABILITY_WORLD_OBJECTS, SQUADS, FIGURES, BUILDINGS, BARRIER_SETS, BARRIER_MODULES;
+
+    /** @return The entities of this kind, or {@code null} if there are none. */
+    public Object[] of(MapEntities entities) {
+        return switch (this) {
+            case PROJECTILES -> entities.getProjectiles();
+            case POWER_SLOTS -> entities.getPowerSlots();
+            case TOKEN_SLOTS -> entities.getTokenSlots();
+            case ABILITY_WORLD_OBJECTS -> entities.getAbilityWorldObjects();
+            case SQUADS -> entities.getSquads();
+            case FIGURES -> entities.getFigures();
+            case BUILDINGS -> entities.getBuildings();
+            case BARRIER_SETS -> entities.getBarrierSets();
+            case BARRIER_MODULES -> entities.getBarrierModules();
+        };
+    }
+
+    /** @return The number of entities of this kind. */
+    public int count(MapEntities entities) {
+        Object[] array = of(entities);
+        return array == null ? 0 : array.length;
+    }
+
+    /**
+     * @param entity An element of the array of this kind.
+     * @return The {@link Entity} of the element, or {@code null} for projectiles, they don't have one.
+     */
+    public Entity entityOf(Object entity) {
+        return switch (this) {
+            case PROJECTILES -> null;
+            case POWER_SLOTS -> ((PowerSlot) entity).getEntity();
+            case TOKEN_SLOTS -> ((TokenSlot) entity).getEntity();
+            case ABILITY_WORLD_OBJECTS -> ((AbilityWorldObject) entity).getEntity();
+            case SQUADS -> ((Squad) entity).getEntity();
+            case FIGURES -> ((Figure) entity).getEntity();
+            case BUILDINGS -> ((Building) entity).getEntity();
+            case BARRIER_SETS -> ((BarrierSet) entity).getEntity();
+            case BARRIER_MODULES -> ((BarrierModule) entity).getEntity();
+        };
+    }
+}
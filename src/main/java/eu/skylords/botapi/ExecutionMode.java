@@ -0,0 +1,16 @@
+package eu.skylords.botapi;
+
+/** Defines on which kind of threads the {@link BotServer} handles the requests of the game. */
+public enum ExecutionMode {
+    /**
+     * Requests are handled by a fixed pool of platform threads.
+     * The size of the pool is configured with {@link ServerConfig#setWorkerPoolSize(int)}.
+     */
+    WORKER_POOL,
+    /**
+     * Every request is handled on its own virtual thread.
+     * A slow {@link Bot#onTick(Types.GameState) onTick} doesn't block the requests of other matches,
+     * so many concurrent matches can be hosted in the same JVM.
+     */
+    VIRTUAL_THREADS
+}
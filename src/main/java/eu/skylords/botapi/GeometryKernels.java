@@ -0,0 +1,73 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.Position2D;
+
+/**
+ * Batch geometry on coordinate arrays, for loops like "the distance of every own squad to every enemy figure".
+ * <p>
+ * The kernels work on two parallel coordinate arrays of the ground plane: x and z of a {@link Types.Position},
+ * as kept by {@link UnitStore}, or x and y of a {@link Position2D}. Only the first {@code count} elements are read.
+ * <p>
+ * {@link #get()} returns kernels that use the SIMD instructions of the CPU through the incubating Vector API,
+ * if the JVM runs with {@code --add-modules jdk.incubator.vector}; otherwise the {@link #scalar() scalar} kernels.
+ * Sums may differ from the scalar kernels in the last bits, because the vector kernels add in a different order.
+ * Thread safe.
+ */
+public abstract class GeometryKernels {
+
+    private static final GeometryKernels SCALAR = new ScalarGeometryKernels();
+    private static final GeometryKernels BEST = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            ? new VectorGeometryKernels()
+            : SCALAR;
+
+    GeometryKernels() {
+        // only the implementations of this package
+    }
+
+    /** @return The vector kernels if the Vector API is available, otherwise the scalar kernels. */
+    public static GeometryKernels get() {
+        return BEST;
+    }
+
+    /** @return The kernels without the Vector API. */
+    public static GeometryKernels scalar() {
+        return SCALAR;
+    }
+
+    /** @return true if these kernels use the Vector API. */
+    public abstract boolean isVectorized();
+
+    /**
+     * Computes the squared distances of all points to a point.
+     * @param distancesSquared Receives the squared distance of point i at index i.
+     */
+    public abstract void distancesSquared(float x, float y, float[] xs, float[] ys, int count, float[] distancesSquared);
+
+    /**
+     * Marks the points within a distance of a point.
+     * @param inRadius Receives at index i whether point i is within the radius.
+     * @return The number of points within the radius.
+     */
+    public abstract int withinRadius(float x, float y, float radius, float[] xs, float[] ys, int count, boolean[] inRadius);
+
+    /** @return The index of the point nearest to a point, or -1 if there are no points. */
+    public abstract int nearest(float x, float y, float[] xs, float[] ys, int count);
+
+    /**
+     * Sums the weights of the points within a distance of a point, e.g. the health of the enemy figures around a squad.
+     * @param weights The weight of point i at index i.
+     */
+    public abstract float sumWithinRadius(float x, float y, float radius, float[] xs, float[] ys, float[] weights, int count);
+
+    /**
+     * Copies positions into coordinate arrays.
+     * @param xs Receives the x coordinates.
+     * @param ys Receives the y coordinates.
+     */
+    public static void coordinates(Position2D[] positions, float[] xs, float[] ys) {
+        for (int i = 0; i < positions.length; i++) {
+            xs[i] = positions[i].getX();
+            ys[i] = positions[i].getY();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package eu.skylords.botapi;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Serves the endpoints with the HTTP server built into the JDK.
+ * Only the five endpoints of the api are routed, so there is no resource scanning or dependency injection,
+ * and requests and responses are mapped with {@link Json#MAPPER} directly.
+ * <p>
+ * The server writes headers and body separately, so without TCP_NODELAY the body may wait for the delayed ack
+ * of the client. The option is a JVM-wide system property of the JDK server; start the bot with
+ * {@code -Dsun.net.httpserver.nodelay=true} to enable it.
+ */
+public class HttpServerTransport implements BotTransport {
+
+    private final int port;
+    /** The currently running server */
+    private HttpServer server;
+    private EndpointRouter router;
+
+    /** @param port The port the game sends its requests to. */
+    public HttpServerTransport(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public void start(BotEndpoints endpoints, ExecutorService executor) throws IOException {
+        router = new EndpointRouter(endpoints);
+        // only the game on the same host may call the bot, as with the Jersey transport
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Override
+    public String getAddress() {
+        return "http://localhost:" + port + "/";
+    }
+
+    private void handle(HttpExchange exchange) {
+        // the exchange is completed when the answer is ready, e.g. a tick releases the request thread meanwhile
+        router.route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), exchange.getRequestBody())
+                .whenComplete((answer, error) -> {
+                    try (exchange) {
+                        if (error != null) {
+                            exchange.sendResponseHeaders(EndpointRouter.status(error), -1);
+                        } else if (answer.contentType() == null) {
+                            exchange.sendResponseHeaders(200, -1);
+                        } else {
+                            exchange.getResponseHeaders().set("Content-Type", answer.contentType());
+                            exchange.sendResponseHeaders(200, answer.body().length);
+                            try (OutputStream out = exchange.getResponseBody()) {
+                                out.write(answer.body());
+                            }
+                        }
+                    } catch (IOException e) {
+                        System.out.printf("Couldn't answer %s: %s%n", exchange.getRequestURI(), e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Cache of the id records of a match, so every value is only allocated once and equal ids are the same instance.
+ * <p>
+ * Entity, squad and building ids are small, dense numbers that recur on every tick, so they are kept in arrays
+ * indexed by their value, which grow with the largest value of the match. Card ids are kept by their upgrade and
+ * the id of their template (see {@link CardCatalog#UPGRADE_STEP}). Every tick is only decoded once, so only the
+ * latest {@link Tick} is kept, for a state that is decoded again. Values that are negative or too large
+ * for the arrays are not cached, so the same value may then return different instances; compare ids with
+ * {@code equals}, {@code ==} is only a shortcut.
+ * <p>
+ * The streaming {@link TickDecoder}s create their ids with an interner of their own. A session may play several
+ * matches with the same decoder, so the interner is {@link #clear() cleared} on {@link TickDecoder#reset() reset}
+ * at the end of every match; the arrays hold at most {@code 2^20} instances per kind of id. Not thread safe.
+ */
+public final class IdInterner {
+
+    /** Values up to this one are cached; ids are dense, so this covers long matches */
+    private static final int MAX_CACHED_VALUE = 1 << 20;
+    /** Upgrades of the cards that are cached */
+    private static final int CACHED_UPGRADES = 4;
+
+    private final Table<EntityId> entityIds = new Table<>(EntityId::new);
+    private final Table<SquadId> squadIds = new Table<>(SquadId::new);
+    private final Table<BuildingId> buildingIds = new Table<>(BuildingId::new);
+    /** The latest tick, or {@code null} */
+    private Tick tick;
+    /** Card ids by upgrade, then by the id of the template */
+    private final Table<CardId>[] cardIds;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IdInterner() {
+        cardIds = new Table[CACHED_UPGRADES];
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = new Table<>(CardId::new);
+        }
+    }
+
+    public EntityId entityId(int value) {
+        return entityIds.get(value, value);
+    }
+
+    public SquadId squadId(int value) {
+        return squadIds.get(value, value);
+    }
+
+    public BuildingId buildingId(int value) {
+        return buildingIds.get(value, value);
+    }
+
+    public Tick tick(int value) {
+        if (tick == null || tick.value() != value) {
+            tick = new Tick(value);
+        }
+        return tick;
+    }
+
+    public CardId cardId(int value) {
+        int upgrade = value / CardCatalog.UPGRADE_STEP;
+        if (value < 0 || upgrade >= cardIds.length) {
+            return new CardId(value);
+        }
+        return cardIds[upgrade].get(value % CardCatalog.UPGRADE_STEP, value);
+    }
+
+    /** Drops all cached instances, e.g. at the end of a match. */
+    public void clear() {
+        entityIds.clear();
+        squadIds.clear();
+        buildingIds.clear();
+        tick = null;
+        for (Table<CardId> table : cardIds) {
+            table.clear();
+        }
+    }
+
+    /** @return Number of cached instances. */
+    public int size() {
+        int size = entityIds.size + squadIds.size + buildingIds.size + (tick == null ? 0 : 1);
+        for (Table<CardId> table : cardIds) {
+            size += table.size;
+        }
+        return size;
+    }
+
+    /** Growable array of the instances by index. */
+    private static final class Table<T> {
+        private final IntFunction<T> create;
+        private Object[] values = new Object[0];
+        private int size;
+
+        private Table(IntFunction<T> create) {
+            this.create = create;
+        }
+
+        private void clear() {
+            values = new Object[0];
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(int index, int value) {
+            if (index < 0 || index >= MAX_CACHED_VALUE) {
+                return create.apply(value);
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_CACHED_VALUE, Math.max(index + 1, values.length * 2)));
+            }
+            T instance = (T) values[index];
+            if (instance == null) {
+                instance = create.apply(value);
+                values[index] = instance;
+                size++;
+            }
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Lookup table between the constants of an enum and the int values of its {@link JsonValue} method,
+ * e.g. {@link Types.BuildState} or {@link CardTemplate}.
+ * <p>
+ * The values are stored by {@code (value - min) / step}, where step is the greatest common divisor of the distances
+ * of the values, so also {@link Types.Upgrade} ({@code 0, 1000000, ...}) has a dense table. Enums with values too sparse
+ * for a table fall back to a binary search. {@link #decode(int)} and {@link #encode(Enum)} don't allocate.
+ * <p>
+ * The enums are read and written by {@link Deserializer} and {@link Serializer}, registered with
+ * {@code @JsonDeserialize} and {@code @JsonSerialize}, instead of the reflective {@link JsonValue} handling of Jackson.
+ * Immutable and thread safe.
+ * @param <E> Enum with an int {@link JsonValue} method.
+ */
+public final class IntEnumCodec<E extends Enum<E>> {
+
+    /** Largest table, relative to the number of constants, before the codec switches to a binary search */
+    private static final int MAX_SPARSITY = 16;
+
+    private static final ClassValue<IntEnumCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected IntEnumCodec<?> computeValue(Class<?> type) {
+            if (!type.isEnum()) {
+                throw new IllegalArgumentException(type.getName() + " isn't an enum");
+            }
+            return new IntEnumCodec(type);
+        }
+    };
+
+    private final Class<E> type;
+    /** Values by the ordinal of the constants */
+    private final int[] values;
+    private final int min;
+    private final int step;
+    /** Constants by (value - min) / step, or {@code null} if the values are too sparse */
+    private final E[] table;
+    /** Sorted values and their constants for the binary search, if there is no table */
+    private final int[] sortedValues;
+    private final E[] sortedConstants;
+
+    private IntEnumCodec(Class<E> type) {
+        this.type = type;
+        E[] constants = type.getEnumConstants();
+        Method valueMethod = valueMethod(type);
+        values = new int[constants.length];
+        for (E constant : constants) {
+            try {
+                values[constant.ordinal()] = (int) valueMethod.invoke(constant);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Couldn't read the value of " + constant, e);
+            }
+        }
+        int lowest = Integer.MAX_VALUE;
+        for (int value : values) {
+            lowest = Math.min(lowest, value);
+        }
+        min = constants.length == 0 ? 0 : lowest;
+        long gcd = 0;
+        long range = 0;
+        for (int value : values) {
+            gcd = gcd(gcd, (long) value - min);
+            range = Math.max(range, (long) value - min);
+        }
+        step = gcd == 0 || gcd > Integer.MAX_VALUE ? 1 : (int) gcd;
+        long size = range / step + 1;
+        if (size <= Math.max(64, (long) MAX_SPARSITY * constants.length)) {
+            table = Arrays.copyOf(constants, (int) size);
+            Arrays.fill(table, null);
+            for (E constant : constants) {
+                int i = (values[constant.ordinal()] - min) / step;
+                if (table[i] != null) {
+                    throw new IllegalArgumentException(type.getSimpleName() + "." + table[i] + " and " + constant + " have the same value");
+                }
+                table[i] = constant;
+            }
+            sortedValues = null;
+            sortedConstants = null;
+        } else {
+            table = null;
+            E[] sorted = constants.clone();
+            Arrays.sort(sorted, (a, b) -> Integer.compare(values[a.ordinal()], values[b.ordinal()]));
+            sortedConstants = sorted;
+            sortedValues = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sortedValues[i] = values[sorted[i].ordinal()];
+            }
+        }
+    }
+
+    /** @return The codec of the enum, created on first use. */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> IntEnumCodec<E> of(Class<E> type) {
+        return (IntEnumCodec<E>) CODECS.get(type);
+    }
+
+    /** @return The constant with the value, or {@code null} if there is none. */
+    public E decode(int value) {
+        if (table != null) {
+            // the subtraction is done in long, so values far below min can't wrap around into the table
+            long offset = (long) value - min;
+            if (offset < 0 || offset % step != 0) {
+                return null;
+            }
+            long i = offset / step;
+            return i < table.length ? table[(int) i] : null;
+        }
+        int i = Arrays.binarySearch(sortedValues, value);
+        return i < 0 ? null : sortedConstants[i];
+    }
+
+    /** @return The value of the constant. */
+    public int encode(E constant) {
+        return values[constant.ordinal()];
+    }
+
+    public Class<E> getType() {
+        return type;
+    }
+
+    private static Method valueMethod(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(JsonValue.class) && method.getParameterCount() == 0 && method.getReturnType() == int.class) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " has no @JsonValue method that returns an int");
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /** Writes an enum as its int value. */
+    public static final class Serializer extends StdSerializer<Enum<?>> {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Serializer() {
+            super((Class) Enum.class);
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void serialize(Enum<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            IntEnumCodec codec = CODECS.get(value.getDeclaringClass());
+            gen.writeNumber(codec.encode(value));
+        }
+    }
+
+    /**
+     * Reads an enum from its int value, or from the value as a string ({@code "4"}).
+     * Unknown values are an error, or {@code null} with {@link DeserializationFeature#READ_UNKNOWN_ENUM_VALUES_AS_NULL}.
+     */
+    public static final class Deserializer extends StdDeserializer<Enum<?>> implements ContextualDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        /** The codec of the contextual instance; transient, Jackson never serializes its deserializers */
+        private final transient IntEnumCodec<?> codec;
+
+        public Deserializer() {
+            super(Enum.class);
+            codec = null;
+        }
+
+        private Deserializer(IntEnumCodec<?> codec) {
+            super(codec.getType());
+            this.codec = codec;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            JavaType type = ctxt.getContextualType() != null ? ctxt.getContextualType() : property.getType();
+            return codec != null && codec.getType() == type.getRawClass() ? this : new Deserializer(CODECS.get(type.getRawClass()));
+        }
+
+        @Override
+        public Enum<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            int value;
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                value = p.getIntValue();
+            } else if (p.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    value = Integer.parseInt(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    return (Enum<?>) ctxt.handleWeirdStringValue(handledType(), p.getText(), "not a value of %s", handledType().getSimpleName());
+                }
+            } else {
+                return (Enum<?>) ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            Enum<?> constant = codec.decode(value);
+            if (constant == null && !ctxt.isEnabled(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)) {
+                return (Enum<?>) ctxt.handleWeirdNumberValue(handledType(), value, "not one of the values of %s", handledType().getSimpleName());
+            }
+            return constant;
+        }
+    }
+}
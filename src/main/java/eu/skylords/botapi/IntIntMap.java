@@ -0,0 +1,136 @@
+package eu.skylords.botapi;
+
+import java.util.Arrays;
+
+/**
+ * Map from int keys to int values, in open addressing tables with linear probing.
+ * <p>
+ * Keys and values are stored in primitive arrays, so lookups and inserts don't box and don't allocate
+ * unless the table grows. {@link #clear()} keeps the tables, so a map that is refilled every tick
+ * stops allocating once it reached the size of the largest tick. Not thread safe.
+ */
+public class IntIntMap {
+
+    /** Marks a free slot; the key 0 is stored separately */
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    /** @param expectedSize Number of entries the map can hold without growing. */
+    public IntIntMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * @param key The key.
+     * @param missing Returned if the key isn't in the map.
+     * @return The value of the key, or {@code missing}.
+     */
+    public int get(int key, int missing) {
+        if (key == FREE) {
+            return hasZero ? zeroValue : missing;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int k = keys[slot];
+            if (k == key) {
+                return values[slot];
+            }
+            if (k == FREE) {
+                return missing;
+            }
+        }
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasZero;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int k = keys[slot];
+            if (k == key) {
+                return true;
+            }
+            if (k == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /** Adds the key or replaces its value. */
+    public void put(int key, int value) {
+        if (key == FREE) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        // keep the load factor at most 1/2, so probe sequences stay short
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Removes all entries; the tables are kept. */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, FREE);
+            size = 0;
+            hasZero = false;
+        }
+    }
+
+    private int slot(int key) {
+        // keys are often dense ids; spread them over the table
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int tableSize) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(tableSize);
+        size = hasZero ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private static int tableSize(int expectedSize) {
+        int size = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) * 2;
+        return Math.max(size, 8);
+    }
+}
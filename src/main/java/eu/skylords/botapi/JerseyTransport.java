@@ -0,0 +1,47 @@
+package eu.skylords.botapi;
+
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+
+/** Serves the endpoints with Jersey on a Grizzly server. */
+public class JerseyTransport implements BotTransport {
+
+    private final int port;
+    /** The currently running server */
+    private HttpServer server;
+
+    /** @param port The port the game sends its requests to. */
+    public JerseyTransport(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public void start(BotEndpoints endpoints, ExecutorService executor) throws IOException {
+        final ResourceConfig rc = new ResourceConfig().register(new MatchResource(endpoints, null));
+        server = GrizzlyHttpServerFactory.createHttpServer(URI.create(getAddress()), rc, false);
+
+        // replace the default grizzly worker pool, so requests are handled according to the execution mode
+        for (NetworkListener listener : server.getListeners()) {
+            listener.getTransport().setWorkerThreadPool(executor);
+        }
+        server.start();
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    @Override
+    public String getAddress() {
+        return "http://localhost:" + port + "/";
+    }
+}
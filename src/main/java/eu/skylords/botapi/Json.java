@@ -0,0 +1,13 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Shared json configuration of the bot api, used wherever requests are decoded outside of Jersey. */
+public final class Json {
+    /** Mapper with the same defaults as the json provider of Jersey */
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Json() {
+        // prevent class initialization
+    }
+}
@@ -0,0 +1,77 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+
+/**
+ * {@link Entity} of the {@link TickDecoding#LAZY} decoding.
+ * The effects and aspects are kept as the position of their json in the body of the tick,
+ * and are only bound by the decoder on the first call of {@link #getEffects()} or {@link #getAspects()}.
+ */
+final class LazyEntity extends Entity {
+
+    private final StreamingTickDecoder decoder;
+    private byte[] effectsJson;
+    private int effectsStart;
+    private int effectsEnd;
+    private byte[] aspectsJson;
+    private int aspectsStart;
+    private int aspectsEnd;
+
+    LazyEntity(StreamingTickDecoder decoder) {
+        this.decoder = decoder;
+    }
+
+    @Override
+    public AbilityEffect[] getEffects() {
+        if (effectsJson != null) {
+            try {
+                setEffects(decoder.bindEffects(effectsJson, effectsStart, effectsEnd));
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't decode the effects of entity " + getId() + ": " + e.getMessage(), e);
+            }
+        }
+        return super.getEffects();
+    }
+
+    @Override
+    public void setEffects(AbilityEffect[] v) {
+        effectsJson = null;
+        super.setEffects(v);
+    }
+
+    @Override
+    public AspectHolder[] getAspects() {
+        if (aspectsJson != null) {
+            try {
+                setAspects(decoder.bindAspects(aspectsJson, aspectsStart, aspectsEnd));
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't decode the aspects of entity " + getId() + ": " + e.getMessage(), e);
+            }
+        }
+        return super.getAspects();
+    }
+
+    @Override
+    public void setAspects(AspectHolder[] v) {
+        aspectsJson = null;
+        super.setAspects(v);
+    }
+
+    /** Sets the json array of the effects, {@code json[start .. end)}, replacing bound effects. */
+    void setEffectsJson(byte[] json, int start, int end) {
+        super.setEffects(null);
+        effectsJson = json;
+        effectsStart = start;
+        effectsEnd = end;
+    }
+
+    /** Sets the json array of the aspects, {@code json[start .. end)}, replacing bound aspects. */
+    void setAspectsJson(byte[] json, int start, int end) {
+        super.setAspects(null);
+        aspectsJson = json;
+        aspectsStart = start;
+        aspectsEnd = end;
+    }
+}
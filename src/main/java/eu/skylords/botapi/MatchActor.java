@@ -0,0 +1,78 @@
+package eu.skylords.botapi;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs all callbacks of the bot of one match one after another, on a thread pool shared by all matches.
+ * <p>
+ * Tasks are queued in a lock-free mailbox. At most one task of an actor runs at a time, and every task sees the
+ * changes of the tasks before it, so bot code doesn't need locks or volatile fields. Different matches still run
+ * in parallel on the shared pool.
+ */
+public class MatchActor implements Executor {
+
+    /** Maximum number of tasks that run in a row, before the thread is handed to other actors */
+    private static final int BATCH_SIZE = 16;
+
+    private final Executor pool;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    /** Queued tasks, including the running one */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicInteger peakPending = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /** @param pool The threads the tasks run on. */
+    public MatchActor(Executor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        mailbox.offer(task);
+        int queued = pending.getAndIncrement();
+        peakPending.accumulateAndGet(queued + 1, Math::max);
+        if (queued == 0) {
+            // no task was queued, so no drain is running; start one
+            pool.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Runnable task = mailbox.poll();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                failed.incrementAndGet();
+                System.out.printf("Unhandled error in bot callback: %s%n", t);
+                t.printStackTrace();
+            }
+            processed.incrementAndGet();
+            if (pending.decrementAndGet() == 0) {
+                return;
+            }
+        }
+        // more tasks are waiting; continue later, so other matches get their turn
+        pool.execute(this::drain);
+    }
+
+    /** @return A snapshot of the mailbox of this actor. */
+    public ActorMetrics getMetrics() {
+        return new ActorMetrics(pending.get(), peakPending.get(), processed.get(), failed.get());
+    }
+
+    /**
+     * Snapshot of the mailbox of a {@link MatchActor}.
+     * @param queueDepth Tasks that are queued or running.
+     * @param peakQueueDepth Highest queue depth since the actor was created.
+     * @param processedTasks Total number of completed tasks.
+     * @param failedTasks Tasks that ended with an uncaught exception.
+     */
+    public record ActorMetrics(int queueDepth, int peakQueueDepth, long processedTasks, long failedTasks) {}
+}
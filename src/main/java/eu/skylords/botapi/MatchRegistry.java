@@ -0,0 +1,150 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.MatchSession.MatchKey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the bots that can be hosted and of the running matches.
+ * Every match gets its own bot instance in its own {@link MatchSession},
+ * which is created on {@code /hello} and destroyed on {@code /end}.
+ * <p>
+ * The game may not send {@code /end}, e.g. if it crashed. Sessions without a request for
+ * {@link ServerConfig#getMatchIdleTimeoutMillis()} are therefore closed when the next match opens.
+ */
+public class MatchRegistry {
+
+    /** Configuration of the server, shared by all sessions */
+    private final ServerConfig config;
+    /** Threads the actors of all sessions run on */
+    private final Executor botPool;
+    /** Timings and counters of the server, shared by all sessions */
+    private final BotMetrics metrics;
+    /** Creates a new bot instance for every match, by name of the bot */
+    private final Map<String, Supplier<? extends Bot>> factories = new ConcurrentHashMap<>();
+    /** The running matches; a match is added before its bot is initialized, so it only gets one bot */
+    private final Map<MatchKey, Entry> sessions = new ConcurrentHashMap<>();
+
+    public MatchRegistry(ServerConfig config, Executor botPool, BotMetrics metrics) {
+        this.config = config;
+        this.botPool = botPool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Register a bot that can be hosted.
+     * @param name Name of the bot, used as first part of the path of the endpoints.
+     * @param factory Creates a new bot instance for every match.
+     */
+    public void register(String name, Supplier<? extends Bot> factory) {
+        if (factories.putIfAbsent(name, factory) != null) {
+            throw new IllegalArgumentException("A bot with the name '" + name + "' is already registered");
+        }
+    }
+
+    /**
+     * Get the session of a match, or create it with a new bot instance if it doesn't exist yet.
+     * @return The session, or {@code null} if no bot with the name of the key is registered.
+     */
+    public MatchSession open(MatchKey key) {
+        Supplier<? extends Bot> factory = factories.get(key.bot());
+        if (factory == null) {
+            return null;
+        }
+        Entry entry = sessions.get(key);
+        if (entry == null) {
+            closeIdle();
+            Entry created = new Entry();
+            entry = sessions.putIfAbsent(key, created);
+            if (entry == null) {
+                // the bot is initialized outside of the map, so a slow or reentrant callback doesn't block other matches
+                return initialize(key, factory, created);
+            }
+        }
+        return entry.await();
+    }
+
+    private MatchSession initialize(MatchKey key, Supplier<? extends Bot> factory, Entry entry) {
+        try {
+            MatchSession session = new MatchSession(key, factory.get(), config, botPool, metrics);
+            session.initialize();
+            entry.session.complete(session);
+            System.out.printf("Opened match %s%n", key);
+            return session;
+        } catch (RuntimeException | Error e) {
+            sessions.remove(key, entry);
+            entry.session.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** @return The session of a running match, or {@code null} if there is none. */
+    public MatchSession get(MatchKey key) {
+        Entry entry = sessions.get(key);
+        return entry == null ? null : entry.await();
+    }
+
+    /** Removes the session of a match. */
+    public void close(MatchKey key) {
+        if (sessions.remove(key) != null) {
+            System.out.printf("Closed match %s%n", key);
+        }
+    }
+
+    /** Removes the sessions that didn't get a request for the idle timeout of the config. */
+    private void closeIdle() {
+        long timeout = TimeUnit.MILLISECONDS.toNanos(config.getMatchIdleTimeoutMillis());
+        if (timeout <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        sessions.forEach((key, entry) -> {
+            if (entry.session.isDone() && now - entry.lastAccess > timeout && sessions.remove(key, entry)) {
+                System.out.printf("Closed match %s after %d ms without request%n", key, (now - entry.lastAccess) / 1_000_000);
+            }
+        });
+    }
+
+    /** Closes all running matches. */
+    public void closeAll() {
+        sessions.keySet().forEach(this::close);
+    }
+
+    /** @return The names of the registered bots. */
+    public Set<String> getBotNames() {
+        return Collections.unmodifiableSet(factories.keySet());
+    }
+
+    /** @return The sessions of all running matches. */
+    public Collection<MatchSession> getSessions() {
+        List<MatchSession> result = new ArrayList<>(sessions.size());
+        for (Entry entry : sessions.values()) {
+            if (entry.session.isDone() && !entry.session.isCompletedExceptionally()) {
+                result.add(entry.session.join());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** A session, which completes when its bot is initialized, and the time of its latest request. */
+    private static final class Entry {
+        private final CompletableFuture<MatchSession> session = new CompletableFuture<>();
+        private volatile long lastAccess = System.nanoTime();
+
+        /** @return The session, after the initialization of its bot. */
+        private MatchSession await() {
+            lastAccess = System.nanoTime();
+            return session.join();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.MatchSession.MatchKey;
+import eu.skylords.botapi.Types.*;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The Jersey resource of the {@link BotEndpoints} of a single match.
+ * Registered on the root path for the single bot; locates the resources of the matches in hosting mode.
+ */
+@Path("")
+public class MatchResource {
+
+    private final BotEndpoints endpoints;
+    /** The match; null for the single bot on the root path */
+    private final MatchKey key;
+
+    public MatchResource(BotEndpoints endpoints, MatchKey key) {
+        this.endpoints = endpoints;
+        this.key = key;
+    }
+
+    @POST
+    @Path("/hello")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response hello(ApiHello hello) {
+        try {
+            return Response.ok(endpoints.hello(key, hello)).build();
+        } catch (BotApiException e) {
+            throw toJersey(e);
+        }
+    }
+
+    @POST
+    @Path("/prepare")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response prepare(Prepare prepare) {
+        try {
+            endpoints.prepare(key, prepare);
+            return Response.ok().build();
+        } catch (BotApiException e) {
+            throw toJersey(e);
+        }
+    }
+
+    @POST
+    @Path("/start")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response start(GameStartState gameStartState) {
+        try {
+            endpoints.start(key, gameStartState);
+            return Response.ok().build();
+        } catch (BotApiException e) {
+            throw toJersey(e);
+        }
+    }
+
+    @POST
+    @Path("/tick")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void tick(InputStream body, @Suspended AsyncResponse response) throws IOException {
+        try {
+            // the request thread is released while the bot computes; the response is resumed when the commands are ready
+            endpoints.tick(key, body).whenComplete((json, error) -> {
+                if (error == null) {
+                    response.resume(Response.ok(json, MediaType.APPLICATION_JSON).build());
+                } else {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    response.resume(cause instanceof BotApiException e ? toJersey(e) : cause);
+                }
+            });
+        } catch (BotApiException e) {
+            throw toJersey(e);
+        }
+    }
+
+    @GET
+    @Path("/end")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response end() {
+        try {
+            endpoints.end(key);
+            return Response.ok().build();
+        } catch (BotApiException e) {
+            throw toJersey(e);
+        }
+    }
+
+    @GET
+    @Path("/metrics")
+    @Produces(BotMetrics.CONTENT_TYPE)
+    public String metrics() {
+        if (key != null) {
+            throw new NotFoundException();
+        }
+        return endpoints.metrics();
+    }
+
+    /** Locates the endpoints of a match in hosting mode. */
+    @Path("/{bot}/{match}")
+    public MatchResource match(@PathParam("bot") String bot, @PathParam("match") String match) {
+        if (key != null) {
+            throw new NotFoundException();
+        }
+        return new MatchResource(endpoints, new MatchKey(bot, match));
+    }
+
+    private static WebApplicationException toJersey(BotApiException e) {
+        return new WebApplicationException(e.getMessage(), e.getStatus());
+    }
+}
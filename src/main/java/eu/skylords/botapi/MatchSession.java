@@ -0,0 +1,307 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import eu.skylords.botapi.BotEvents.*;
+import eu.skylords.botapi.BotMetrics.TickPhase;
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Everything that belongs to a single match: the bot and the per match state of the server
+ * (tick decoder, tick budget and response builder).
+ * The game sends the requests of a match one after another, so a session is never used concurrently.
+ * <p>
+ * All callbacks of the bot run on the {@link MatchActor actor} of the session, one after another, so the bot
+ * is never called concurrently. This includes {@link Bot#onDeadlineMissed()}: it is called on the actor after every
+ * tick, and a later tick that misses its deadline is answered with the commands it returned.
+ */
+public class MatchSession {
+
+    /** Identifies the session */
+    private final MatchKey key;
+    /** The bot that plays the match */
+    private final Bot bot;
+    /** Configuration of the server */
+    private final ServerConfig config;
+    /** Runs the callbacks of the bot */
+    private final MatchActor actor;
+    /** Decodes the state of the match on every tick */
+    private final TickDecoder tickDecoder;
+    /** Enforces the tick deadline; null if no deadline is configured */
+    private final TickBudget tickBudget;
+    /** Builds the answer of the tick endpoint */
+    private final TickResponseBuilder responseBuilder = new TickResponseBuilder();
+    /** Timings and counters of the server */
+    private final BotMetrics metrics;
+    /** Number of entities in the latest tick, by {@link EntityKind} */
+    private final AtomicIntegerArray entityCounts = new AtomicIntegerArray(EntityKind.values().length);
+    /** The answer of a tick that misses the deadline, the result of {@link Bot#onDeadlineMissed()} after the latest tick */
+    private volatile List<Command> fallbackCommands = List.of();
+
+    /**
+     * Create a new session.
+     * @param key Identifies the session.
+     * @param bot The bot that plays the match.
+     * @param config The configuration of the server.
+     * @param botPool The threads the actor of the session runs on; shared by all sessions.
+     * @param metrics Records the timings of the ticks; shared by all sessions.
+     */
+    public MatchSession(MatchKey key, Bot bot, ServerConfig config, Executor botPool, BotMetrics metrics) {
+        this.key = key;
+        this.bot = bot;
+        this.config = config;
+        this.metrics = metrics;
+        this.actor = new MatchActor(botPool);
+        this.tickDecoder = TickDecoder.create(config.getTickDecoding());
+        this.tickBudget = config.getTickDeadlineMillis() > 0
+                ? new TickBudget(config.getTickDeadlineMillis(), actor)
+                : null;
+    }
+
+    /** @return true if the game uses the same version of the API as this bot. */
+    public static boolean isCompatible(ApiHello hello) {
+        return ApiVersion.VERSION == hello.getVersion();
+    }
+
+    public void initialize() {
+        call(() -> {
+            bot.initialize();
+            return null;
+        });
+        tickDecoder.select(call(bot::getTickSelection));
+    }
+
+    public AiForMap hello(ApiHello hello) {
+        HelloEvent event = new HelloEvent();
+        event.begin();
+        AiForMap aiForMap = call(() -> bot.sayHello(hello));
+        event.end();
+        if (event.shouldCommit()) {
+            event.setKey(key);
+            event.map = hello.getMap() == null ? null : String.valueOf(hello.getMap().getMap());
+            event.commit();
+        }
+        return aiForMap;
+    }
+
+    public void prepare(Prepare prepare) {
+        PrepareEvent event = new PrepareEvent();
+        event.begin();
+        call(() -> {
+            bot.prepareForBattle(prepare);
+            return null;
+        });
+        tickDecoder.select(call(bot::getTickSelection));
+        event.end();
+        if (event.shouldCommit()) {
+            event.setKey(key);
+            event.deck = prepare.getDeck();
+            event.commit();
+        }
+    }
+
+    public void start(GameStartState gameStartState) {
+        StartEvent event = new StartEvent();
+        event.begin();
+        call(() -> {
+            bot.matchStart(gameStartState);
+            return null;
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.setKey(key);
+            event.commit();
+        }
+    }
+
+    /**
+     * Decodes the state of the current tick and lets the bot react on it.
+     * @return Completes with the json of the answer: the {@link TickResponse},
+     *         or the plain list of commands if {@link ServerConfig#isTickResponse()} is disabled.
+     */
+    public CompletableFuture<byte[]> tick(InputStream body) throws IOException {
+        TickEvent event = new TickEvent();
+        event.begin();
+        if (tickBudget != null && tickBudget.isBusy()) {
+            // the bot may still read the previous state, which the decoder could reuse
+            body.transferTo(OutputStream.nullOutputStream());
+            tickBudget.countSkipped();
+            event.skipped = true;
+            TickResponse response = responseBuilder.build(fallbackCommands);
+            byte[] json = encode(response, event);
+            commit(event, null, response);
+            return CompletableFuture.completedFuture(json);
+        }
+        long start = System.nanoTime();
+        GameState gameState = tickDecoder.decode(body);
+        long decoded = System.nanoTime();
+        event.decodeTime = decoded - start;
+        event.skippedBytes = tickDecoder.getSkippedBytes();
+        metrics.recordPhase(TickPhase.DECODE, event.decodeTime);
+        metrics.recordTick(gameState, event.skippedBytes);
+        if (gameState.getEntities() != null) {
+            for (EntityKind kind : EntityKind.values()) {
+                entityCounts.set(kind.ordinal(), kind.count(gameState.getEntities()));
+            }
+        }
+        return compute(gameState)
+                .thenCompose(commands -> {
+                    event.computeTime = System.nanoTime() - decoded;
+                    metrics.recordPhase(TickPhase.COMPUTE, event.computeTime);
+                    return respond(gameState, commands);
+                })
+                .thenApply(response -> {
+                    byte[] json = encode(response, event);
+                    commit(event, gameState, response);
+                    return json;
+                });
+    }
+
+    /** Lets the bot react on the already decoded state of the current tick. */
+    public CompletableFuture<TickResponse> tick(GameState gameState) {
+        return compute(gameState).thenCompose(commands -> respond(gameState, commands));
+    }
+
+    /** Lets the bot compute its commands on the actor, within the tick deadline if one is configured. */
+    private CompletableFuture<List<Command>> compute(GameState gameState) {
+        if (bot instanceof AsyncBot asyncBot) {
+            Supplier<CompletableFuture<List<Command>>> onTick = () -> CompletableFuture
+                    .supplyAsync(() -> asyncBot.onTickAsync(gameState), actor)
+                    .thenCompose(Function.identity());
+            return tickBudget == null
+                    ? onTick.get()
+                    : tickBudget.runAsync(() -> onTick.get().thenApply(this::prepareFallback), () -> fallbackCommands);
+        } else if (tickBudget != null) {
+            return tickBudget.run(() -> prepareFallback(bot.onTick(gameState)), () -> fallbackCommands);
+        }
+        return CompletableFuture.supplyAsync(() -> bot.onTick(gameState), actor);
+    }
+
+    /**
+     * Asks the bot for the {@link #fallbackCommands} of the next tick, on the actor after the current callback,
+     * so the answer of the tick isn't delayed and the bot isn't called concurrently.
+     * @return The commands of the current tick.
+     */
+    private List<Command> prepareFallback(List<Command> commands) {
+        actor.execute(() -> fallbackCommands = bot.onDeadlineMissed());
+        return commands;
+    }
+
+    private CompletableFuture<TickResponse> respond(GameState gameState, List<Command> commands) {
+        TickResponse response = responseBuilder.build(commands);
+        // a bot that missed the deadline is still computing, so it must not be asked for its state
+        boolean botIdle = tickBudget == null || !tickBudget.isBusy();
+        if (config.isDebugState() && config.isTickResponse() && botIdle) {
+            return CompletableFuture.supplyAsync(() -> {
+                bot.describeState(gameState, response);
+                return response;
+            }, actor);
+        }
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private byte[] encode(TickResponse response, TickEvent event) {
+        long start = System.nanoTime();
+        try {
+            byte[] json = Json.MAPPER.writeValueAsBytes(config.isTickResponse() ? response : TickResponseBuilder.asList(response));
+            event.encodeTime = System.nanoTime() - start;
+            metrics.recordPhase(TickPhase.ENCODE, event.encodeTime);
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Couldn't encode the answer of the tick", e);
+        }
+    }
+
+    /** Fills the tick event, if it is enabled in the running recording. The entity counts are those of the latest decoded tick. */
+    private void commit(TickEvent event, GameState gameState, TickResponse response) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setKey(key);
+        event.commands = response.getCommands().length;
+        if (gameState != null) {
+            event.tick = gameState.getCurrentTick() == null ? 0 : gameState.getCurrentTick().value();
+            event.rejectedCommands = gameState.getRejectedCommands() == null ? 0 : gameState.getRejectedCommands().length;
+        }
+        event.figures = getEntityCount(EntityKind.FIGURES);
+        event.squads = getEntityCount(EntityKind.SQUADS);
+        event.buildings = getEntityCount(EntityKind.BUILDINGS);
+        event.projectiles = getEntityCount(EntityKind.PROJECTILES);
+        event.powerSlots = getEntityCount(EntityKind.POWER_SLOTS);
+        event.tokenSlots = getEntityCount(EntityKind.TOKEN_SLOTS);
+        event.abilityWorldObjects = getEntityCount(EntityKind.ABILITY_WORLD_OBJECTS);
+        event.barrierSets = getEntityCount(EntityKind.BARRIER_SETS);
+        event.barrierModules = getEntityCount(EntityKind.BARRIER_MODULES);
+        event.commit();
+    }
+
+    public void end() {
+        EndEvent event = new EndEvent();
+        event.begin();
+        call(() -> {
+            bot.onEnd();
+            return null;
+        });
+        // a session of a single bot server plays the next match with the same decoder
+        tickDecoder.reset();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setKey(key);
+            event.commit();
+        }
+    }
+
+    /** Runs a callback of the bot on the actor and waits for its result. */
+    private <T> T call(Supplier<T> callback) {
+        try {
+            return CompletableFuture.supplyAsync(callback, actor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public MatchKey getKey() {
+        return key;
+    }
+    public Bot getBot() {
+        return bot;
+    }
+    /** @return The number of entities of a kind in the latest tick. */
+    public int getEntityCount(EntityKind kind) {
+        return entityCounts.get(kind.ordinal());
+    }
+    /** @return The current queue depth of the callbacks of the bot. */
+    public MatchActor.ActorMetrics getActorMetrics() {
+        return actor.getMetrics();
+    }
+    /** @return The deadline counters, or {@code null} if no tick deadline is configured. */
+    public TickBudget.BudgetMetrics getTickBudgetMetrics() {
+        return tickBudget == null ? null : tickBudget.getMetrics();
+    }
+
+    /**
+     * Identifies a match on the server.
+     * @param bot Name under which the bot is registered.
+     * @param match Id of the match, chosen by whoever configures the game.
+     */
+    public record MatchKey(String bot, String match) {
+        @Override
+        public String toString() {
+            return bot + "/" + match;
+        }
+    }
+}
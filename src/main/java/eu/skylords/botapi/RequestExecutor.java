@@ -0,0 +1,105 @@
+package eu.skylords.botapi;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor that runs the requests of the game (or the callbacks of the bots) according to the configured {@link ExecutionMode}
+ * and keeps track of the number of queued, active and completed requests.
+ */
+public class RequestExecutor extends AbstractExecutorService {
+
+    private final ExecutionMode mode;
+    /** Maximum number of threads; {@code -1} if unbounded */
+    private final int poolSize;
+    private final ExecutorService delegate;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    public RequestExecutor(ExecutionMode mode, int poolSize, String threadName) {
+        this.mode = mode;
+        switch (mode) {
+            case VIRTUAL_THREADS -> {
+                this.poolSize = -1;
+                ThreadFactory factory = Thread.ofVirtual().name(threadName + "-", 0).factory();
+                this.delegate = Executors.newThreadPerTaskExecutor(factory);
+            }
+            case WORKER_POOL -> {
+                this.poolSize = poolSize;
+                ThreadFactory factory = Thread.ofPlatform().name(threadName + "-", 0).daemon(true).factory();
+                this.delegate = Executors.newFixedThreadPool(poolSize, factory);
+            }
+            default -> throw new IllegalArgumentException("Unknown ExecutionMode " + mode);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submitted.incrementAndGet();
+        queued.incrementAndGet();
+        delegate.execute(() -> {
+            queued.decrementAndGet();
+            int running = active.incrementAndGet();
+            peakActive.accumulateAndGet(running, Math::max);
+            try {
+                command.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    /** @return A snapshot of the current state of this executor. */
+    public ExecutorMetrics getMetrics() {
+        return new ExecutorMetrics(mode, poolSize, queued.get(), active.get(), peakActive.get(), submitted.get(), completed.get());
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Snapshot of the state of a {@link RequestExecutor}.
+     * @param mode The execution mode of the executor.
+     * @param poolSize Maximum number of threads; {@code -1} if unbounded (virtual threads).
+     * @param queuedTasks Requests waiting for a free thread.
+     * @param activeTasks Requests that are currently handled.
+     * @param peakActiveTasks Highest number of concurrently handled requests since startup.
+     * @param submittedTasks Total number of requests since startup.
+     * @param completedTasks Total number of handled requests since startup.
+     */
+    public record ExecutorMetrics(ExecutionMode mode, int poolSize, int queuedTasks, int activeTasks,
+                                  int peakActiveTasks, long submittedTasks, long completedTasks) {}
+}
@@ -0,0 +1,77 @@
+package eu.skylords.botapi;
+
+/** The {@link GeometryKernels} as plain loops; also computes the tails of the vector kernels. */
+class ScalarGeometryKernels extends GeometryKernels {
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public void distancesSquared(float x, float y, float[] xs, float[] ys, int count, float[] distancesSquared) {
+        distancesSquared(x, y, xs, ys, 0, count, distancesSquared);
+    }
+
+    @Override
+    public int withinRadius(float x, float y, float radius, float[] xs, float[] ys, int count, boolean[] inRadius) {
+        return withinRadius(x, y, radius * radius, xs, ys, 0, count, inRadius);
+    }
+
+    @Override
+    public int nearest(float x, float y, float[] xs, float[] ys, int count) {
+        int nearest = -1;
+        float best = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            float distanceSquared = dx * dx + dy * dy;
+            if (distanceSquared < best) {
+                best = distanceSquared;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    @Override
+    public float sumWithinRadius(float x, float y, float radius, float[] xs, float[] ys, float[] weights, int count) {
+        return sumWithinRadius(x, y, radius * radius, xs, ys, weights, 0, count);
+    }
+
+    // the kernels on the elements from .. to:
+
+    static void distancesSquared(float x, float y, float[] xs, float[] ys, int from, int to, float[] distancesSquared) {
+        for (int i = from; i < to; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            distancesSquared[i] = dx * dx + dy * dy;
+        }
+    }
+
+    static int withinRadius(float x, float y, float radiusSquared, float[] xs, float[] ys, int from, int to, boolean[] inRadius) {
+        int found = 0;
+        for (int i = from; i < to; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            boolean in = dx * dx + dy * dy <= radiusSquared;
+            inRadius[i] = in;
+            if (in) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    static float sumWithinRadius(float x, float y, float radiusSquared, float[] xs, float[] ys, float[] weights, int from, int to) {
+        float sum = 0f;
+        for (int i = from; i < to; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            if (dx * dx + dy * dy <= radiusSquared) {
+                sum += weights[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,102 @@
+package eu.skylords.botapi;
+
+import java.nio.file.Path;
+
+/** Configuration of a {@link BotServer}. All options have sensible defaults. */
+public class ServerConfig {
+
+    /** Default size of the worker pool: the number of available processors, but at least 8 threads */
+    public static final int DEFAULT_WORKER_POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors());
+
+    /** How requests are received; the default only needs the JDK and Jackson */
+    private TransportType transport = TransportType.HTTP_SERVER;
+    /** Socket file of {@link TransportType#UNIX_SOCKET} */
+    private Path unixSocketPath = Path.of(System.getProperty("java.io.tmpdir"), "skylords-bot.sock");
+    /** On which kind of threads requests are handled */
+    private ExecutionMode executionMode = ExecutionMode.WORKER_POOL;
+    /** Number of platform threads used in {@link ExecutionMode#WORKER_POOL} */
+    private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    /** Number of platform threads that run the callbacks of the bots of all matches */
+    private int botPoolSize = Runtime.getRuntime().availableProcessors();
+    /** How the state is decoded on every tick */
+    private TickDecoding tickDecoding = TickDecoding.DATA_BINDING;
+    /** Time the bot has to answer a tick; 0 waits as long as the bot needs */
+    private long tickDeadlineMillis = 0;
+    /** Answer ticks with a {@link Types.TickResponse} instead of a plain list of commands */
+    private boolean tickResponse = false;
+    /** Let the bot describe its state for the debug UI of the game */
+    private boolean debugState = false;
+    /** Time without request after which a hosted match is closed; 0 keeps matches until {@code /end} */
+    private long matchIdleTimeoutMillis = 60 * 60 * 1000;
+
+    public TransportType getTransport() { return transport; }
+    public void setTransport(TransportType v) { this.transport = v; }
+    public Path getUnixSocketPath() { return unixSocketPath; }
+    public void setUnixSocketPath(Path v) { this.unixSocketPath = v; }
+    public ExecutionMode getExecutionMode() { return executionMode; }
+    public void setExecutionMode(ExecutionMode v) { this.executionMode = v; }
+    public int getWorkerPoolSize() { return workerPoolSize; }
+    public void setWorkerPoolSize(int v) {
+        if (v < 1) {
+            throw new IllegalArgumentException("Worker pool size must be at least 1, but was " + v);
+        }
+        this.workerPoolSize = v;
+    }
+    public int getBotPoolSize() { return botPoolSize; }
+    /**
+     * Set the number of platform threads that run the callbacks of the bots.
+     * The callbacks of one match always run one after another, different matches run in parallel.
+     * @param v The number of threads, at least 1.
+     */
+    public void setBotPoolSize(int v) {
+        if (v < 1) {
+            throw new IllegalArgumentException("Bot pool size must be at least 1, but was " + v);
+        }
+        this.botPoolSize = v;
+    }
+    public TickDecoding getTickDecoding() { return tickDecoding; }
+    public void setTickDecoding(TickDecoding v) { this.tickDecoding = v; }
+    public long getTickDeadlineMillis() { return tickDeadlineMillis; }
+    /**
+     * Set the time the bot has to answer a tick. One tick lasts 100 ms.
+     * If the deadline is exceeded, the server answers with the result of {@link Bot#onDeadlineMissed()} after the previous tick.
+     * @param v The deadline in milliseconds, 0 to disable the deadline.
+     */
+    public void setTickDeadlineMillis(long v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("Tick deadline must not be negative, but was " + v);
+        }
+        this.tickDeadlineMillis = v;
+    }
+    public boolean isTickResponse() { return tickResponse; }
+    /**
+     * Set whether the {@code /tick} endpoint answers with a {@link Types.TickResponse} instead of a plain list of commands.
+     * @param v true to answer with a {@link Types.TickResponse}
+     */
+    public void setTickResponse(boolean v) { this.tickResponse = v; }
+    public boolean isDebugState() { return debugState; }
+    /**
+     * Set whether {@link Bot#describeState(Types.GameState, Types.TickResponse)} is called on every tick.
+     * Leave it disabled in production, so no debug strings are built.
+     * @param v true to enable the debug state
+     */
+    public void setDebugState(boolean v) { this.debugState = v; }
+    public long getMatchIdleTimeoutMillis() { return matchIdleTimeoutMillis; }
+    /**
+     * Set the time after which a hosted match without requests is closed, e.g. because the game never sent {@code /end}.
+     * Idle matches are closed when the next match opens.
+     * @param v The timeout in milliseconds, 0 to keep matches until {@code /end}.
+     */
+    public void setMatchIdleTimeoutMillis(long v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("Match idle timeout must not be negative, but was " + v);
+        }
+        this.matchIdleTimeoutMillis = v;
+    }
+
+    @Override
+    public String toString() {
+        return "{" + "transport: " + transport + ", unixSocketPath: " + unixSocketPath + ", executionMode: " + executionMode + ", workerPoolSize: " + workerPoolSize + ", botPoolSize: " + botPoolSize + ", tickDecoding: " + tickDecoding + ", tickDeadlineMillis: " + tickDeadlineMillis
+                + ", tickResponse: " + tickResponse + ", debugState: " + debugState + ", matchIdleTimeoutMillis: " + matchIdleTimeoutMillis + "}";
+    }
+}
@@ -0,0 +1,488 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Uniform grid over the positions of the entities of a {@link GameState}, for range and nearest neighbour queries.
+ * <p>
+ * The grid works on the ground plane (x and z of {@link Position}). It is rebuilt with {@link #update(GameState)}
+ * on every tick in O(n): the entities are bucketed into cells of a fixed size by a counting sort, and all data
+ * is kept in primitive arrays that are reused across ticks. A query only visits the cells that overlap its range,
+ * instead of comparing every pair of entities.
+ * <p>
+ * Query results are written into reusable {@link Hits}; an entry of the result is resolved with {@link #get(int)},
+ * {@link #kind(int)}, {@link #x(int)}, ... Entries are only valid until the next update. Not thread safe.
+ */
+public class SpatialGrid {
+
+    /** Kinds that are indexed by default */
+    public static final EnumSet<EntityKind> DEFAULT_KINDS = EnumSet.of(EntityKind.FIGURES, EntityKind.SQUADS,
+            EntityKind.BUILDINGS, EntityKind.POWER_SLOTS, EntityKind.TOKEN_SLOTS, EntityKind.PROJECTILES);
+
+    /** Entities without owner, and projectiles */
+    public static final int NO_TEAM = -1;
+
+    private static final EntityKind[] ENTITY_KINDS = EntityKind.values();
+
+    /** Upper limit of cells per axis, so a huge map can't exhaust the memory */
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    private final float cellSize;
+    private final EnumSet<EntityKind> kinds;
+
+    // entries, by index of the entity in the grid
+    private int size;
+    private float[] xs = new float[0];
+    private float[] zs = new float[0];
+    private byte[] entryKinds = new byte[0];
+    private int[] owners = new int[0];
+    private int[] teams = new int[0];
+    private Object[] objects = new Object[0];
+
+    // cells
+    private float minX;
+    private float minZ;
+    private float inverseCellSize;
+    private int columns;
+    private int rows;
+    /** Entries of cell c are cellEntries[cellStart[c] .. cellStart[c + 1]) */
+    private int[] cellStart = new int[1];
+    private int[] cellEntries = new int[0];
+    private int[] entryCell = new int[0];
+    /** Entries of a kind are contiguous: kindStart[k] .. kindStart[k + 1] */
+    private final int[] kindStart = new int[ENTITY_KINDS.length + 1];
+
+    /** Team of the players of the current tick */
+    private final IntIntMap playerTeams = new IntIntMap(8);
+
+    /** Creates a grid over the {@link #DEFAULT_KINDS}. */
+    public SpatialGrid(float cellSize) {
+        this(cellSize, DEFAULT_KINDS);
+    }
+
+    /**
+     * @param cellSize Edge length of a cell in world units; about the typical query radius works best.
+     * @param kinds The kinds of entities to index.
+     */
+    public SpatialGrid(float cellSize, EnumSet<EntityKind> kinds) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive, but was " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.kinds = EnumSet.copyOf(kinds);
+    }
+
+    /** Rebuilds the grid for the state of a new tick. */
+    public void update(GameState state) {
+        playerTeams.clear();
+        if (state.getPlayers() != null) {
+            for (PlayerEntity player : state.getPlayers()) {
+                playerTeams.put(player.getId().value(), player.getTeam());
+            }
+        }
+        MapEntities entities = state.getEntities();
+        int count = 0;
+        if (entities != null) {
+            for (EntityKind kind : kinds) {
+                count += kind.count(entities);
+            }
+        }
+        ensureCapacity(count);
+        size = 0;
+        Arrays.fill(kindStart, 0);
+        for (EntityKind kind : ENTITY_KINDS) {
+            kindStart[kind.ordinal()] = size;
+            Object[] array = entities == null || !kinds.contains(kind) ? null : kind.of(entities);
+            if (array != null) {
+                for (Object entity : array) {
+                    add(kind, entity);
+                }
+            }
+        }
+        kindStart[kindStart.length - 1] = size;
+        buildCells();
+    }
+
+    /** @return Number of indexed entities. */
+    public int size() {
+        return size;
+    }
+
+    /** @return The entity of the entry: a {@link Figure}, {@link Squad}, {@link Building}, ... according to its {@link #kind(int) kind}. */
+    public Object get(int entry) {
+        return objects[entry];
+    }
+    public EntityKind kind(int entry) {
+        return ENTITY_KINDS[entryKinds[entry]];
+    }
+    public float x(int entry) {
+        return xs[entry];
+    }
+    public float z(int entry) {
+        return zs[entry];
+    }
+    /** @return The id of the owning player, or 0 if the entity has no owner. */
+    public int owner(int entry) {
+        return owners[entry];
+    }
+    /** @return The team of the entity, or {@link #NO_TEAM}. */
+    public int team(int entry) {
+        return teams[entry];
+    }
+
+    /**
+     * Finds all entities within a distance of a point.
+     * @param hits Receives the entries; cleared first.
+     */
+    public void withinRadius(float x, float z, float radius, Filter filter, Hits hits) {
+        hits.clear();
+        if (size == 0) {
+            return;
+        }
+        float radiusSquared = radius * radius;
+        int firstColumn = column(x - radius);
+        int lastColumn = column(x + radius);
+        int firstRow = row(z - radius);
+        int lastRow = row(z + radius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int entry = cellEntries[i];
+                    float dx = xs[entry] - x;
+                    float dz = zs[entry] - z;
+                    float distanceSquared = dx * dx + dz * dz;
+                    if (distanceSquared <= radiusSquared && matches(entry, filter)) {
+                        hits.add(entry, distanceSquared);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds all entities in an axis aligned rectangle.
+     * @param hits Receives the entries; cleared first. The distances are 0.
+     */
+    public void withinRectangle(float minX, float minZ, float maxX, float maxZ, Filter filter, Hits hits) {
+        hits.clear();
+        if (size == 0) {
+            return;
+        }
+        for (int row = row(minZ), lastRow = row(maxZ); row <= lastRow; row++) {
+            for (int column = column(minX), lastColumn = column(maxX); column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int entry = cellEntries[i];
+                    float ex = xs[entry];
+                    float ez = zs[entry];
+                    if (ex >= minX && ex <= maxX && ez >= minZ && ez <= maxZ && matches(entry, filter)) {
+                        hits.add(entry, 0f);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the nearest entities of a point.
+     * The cells are searched in rings around the point, until no unvisited cell can contain a nearer entity.
+     * Kinds with fewer entities than cells, like the token slots, are scanned directly instead,
+     * because the rings would mostly visit empty cells.
+     * @param count Maximum number of entities to find.
+     * @param hits Receives the entries, nearest first; cleared first.
+     */
+    public void nearest(float x, float z, int count, Filter filter, Hits hits) {
+        hits.clear();
+        if (size == 0 || count < 1) {
+            return;
+        }
+        int candidates = 0;
+        for (int kind = 0; kind < kindStart.length - 1; kind++) {
+            if (filter.acceptsKind(kind)) {
+                candidates += kindStart[kind + 1] - kindStart[kind];
+            }
+        }
+        if (candidates <= columns * rows) {
+            nearestByScan(x, z, count, filter, hits);
+            return;
+        }
+        int centerColumn = column(x);
+        int centerRow = row(z);
+        int maxRing = Math.max(Math.max(centerColumn, columns - 1 - centerColumn), Math.max(centerRow, rows - 1 - centerRow));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                // inner rows of the ring only have their first and last column on the ring
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    if (column >= 0 && column < columns) {
+                        nearestInCell(row * columns + column, x, z, count, filter, hits);
+                    }
+                }
+            }
+            // every cell of the next ring is at least ring cell sizes away
+            float bound = ring / inverseCellSize;
+            if (hits.size() == count && hits.distanceSquared(count - 1) <= bound * bound) {
+                return;
+            }
+        }
+    }
+
+    private void nearestInCell(int cell, float x, float z, int count, Filter filter, Hits hits) {
+        for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+            int entry = cellEntries[i];
+            float dx = xs[entry] - x;
+            float dz = zs[entry] - z;
+            float distanceSquared = dx * dx + dz * dz;
+            if ((hits.size() < count || distanceSquared < hits.distanceSquared(count - 1)) && matches(entry, filter)) {
+                hits.insertSorted(entry, distanceSquared, count);
+            }
+        }
+    }
+
+    private void nearestByScan(float x, float z, int count, Filter filter, Hits hits) {
+        for (int kind = 0; kind < kindStart.length - 1; kind++) {
+            if (!filter.acceptsKind(kind)) {
+                continue;
+            }
+            for (int entry = kindStart[kind], end = kindStart[kind + 1]; entry < end; entry++) {
+                float dx = xs[entry] - x;
+                float dz = zs[entry] - z;
+                float distanceSquared = dx * dx + dz * dz;
+                if ((hits.size() < count || distanceSquared < hits.distanceSquared(count - 1)) && matches(entry, filter)) {
+                    hits.insertSorted(entry, distanceSquared, count);
+                }
+            }
+        }
+    }
+
+    private boolean matches(int entry, Filter filter) {
+        return filter.test(entryKinds[entry], owners[entry], teams[entry]);
+    }
+
+    private void add(EntityKind kind, Object object) {
+        Position position;
+        int owner = 0;
+        int team = NO_TEAM;
+        if (object instanceof Projectile projectile) {
+            position = projectile.getPosition();
+        } else {
+            Entity entity = kind.entityOf(object);
+            position = entity.getPosition();
+            if (entity.getPlayerEntityId() != null) {
+                owner = entity.getPlayerEntityId().value();
+                team = playerTeams.get(owner, NO_TEAM);
+            }
+            if (object instanceof PowerSlot slot) {
+                team = slot.getTeam();
+            } else if (object instanceof TokenSlot slot) {
+                team = slot.getTeam();
+            } else if (object instanceof BarrierModule module) {
+                team = module.getTeam();
+            }
+        }
+        if (position == null) {
+            return;
+        }
+        xs[size] = position.getX();
+        zs[size] = position.getZ();
+        entryKinds[size] = (byte) kind.ordinal();
+        owners[size] = owner;
+        teams[size] = team;
+        objects[size] = object;
+        size++;
+    }
+
+
+    private void buildCells() {
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        minX = Float.POSITIVE_INFINITY;
+        minZ = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            minX = Math.min(minX, xs[i]);
+            minZ = Math.min(minZ, zs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxZ = Math.max(maxZ, zs[i]);
+        }
+        if (size == 0) {
+            minX = minZ = maxX = maxZ = 0f;
+        }
+        float extent = Math.max(maxX - minX, maxZ - minZ);
+        // the cells grow beyond the configured size only if the map is larger than the maximum number of cells
+        float effectiveCellSize = Math.max(cellSize, extent / (MAX_CELLS_PER_AXIS - 1));
+        inverseCellSize = 1f / effectiveCellSize;
+        columns = (int) ((maxX - minX) * inverseCellSize) + 1;
+        rows = (int) ((maxZ - minZ) * inverseCellSize) + 1;
+
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+        } else {
+            Arrays.fill(cellStart, 0, cells + 1, 0);
+        }
+        for (int i = 0; i < size; i++) {
+            int cell = row(zs[i]) * columns + column(xs[i]);
+            entryCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // fill the cells back to front, so cellStart ends up at the first entry of each cell
+        for (int i = size - 1; i >= 0; i--) {
+            int cell = entryCell[i];
+            int end = cellStart[cell + 1]--;
+            cellEntries[end - 1] = i;
+        }
+        // cellStart[c + 1] now points at the start of cell c; shift back by one cell
+        System.arraycopy(cellStart, 1, cellStart, 0, cells);
+        cellStart[cells] = size;
+    }
+
+    private int column(float x) {
+        int column = (int) Math.floor((x - minX) * inverseCellSize);
+        return Math.min(Math.max(column, 0), columns - 1);
+    }
+
+    private int row(float z) {
+        int row = (int) Math.floor((z - minZ) * inverseCellSize);
+        return Math.min(Math.max(row, 0), rows - 1);
+    }
+
+    private void ensureCapacity(int count) {
+        if (xs.length < count) {
+            int capacity = Math.max(count, xs.length * 3 / 2);
+            xs = new float[capacity];
+            zs = new float[capacity];
+            entryKinds = new byte[capacity];
+            owners = new int[capacity];
+            teams = new int[capacity];
+            objects = new Object[capacity];
+            cellEntries = new int[capacity];
+            entryCell = new int[capacity];
+        } else {
+            // drop the references of the previous tick that aren't overwritten
+            Arrays.fill(objects, count, Math.max(count, size), null);
+        }
+    }
+
+    /**
+     * Selects the entities a query returns. Filters are immutable; every method returns a new filter.
+     */
+    public static final class Filter {
+        private static final int TEAM_ANY = 0;
+        private static final int TEAM_SAME = 1;
+        private static final int TEAM_OTHER = 2;
+
+        /** Matches every indexed entity */
+        public static final Filter ANY = new Filter(-1, 0, false, NO_TEAM, TEAM_ANY);
+
+        private final int kindMask;
+        private final int owner;
+        private final boolean ownerSet;
+        private final int team;
+        private final int teamMode;
+
+        private Filter(int kindMask, int owner, boolean ownerSet, int team, int teamMode) {
+            this.kindMask = kindMask;
+            this.owner = owner;
+            this.ownerSet = ownerSet;
+            this.team = team;
+            this.teamMode = teamMode;
+        }
+
+        /** @return A filter for entities of the given kinds. */
+        public static Filter of(EntityKind... kinds) {
+            int mask = 0;
+            for (EntityKind kind : kinds) {
+                mask |= 1 << kind.ordinal();
+            }
+            return new Filter(mask, 0, false, NO_TEAM, TEAM_ANY);
+        }
+
+        /** @return A filter that also requires the entity to be owned by the player. */
+        public Filter ownedBy(EntityId player) {
+            return new Filter(kindMask, player.value(), true, team, teamMode);
+        }
+
+        /** @return A filter that also requires the entity to belong to the team. */
+        public Filter team(int team) {
+            return new Filter(kindMask, owner, ownerSet, team, TEAM_SAME);
+        }
+
+        /** @return A filter that also requires the entity to belong to another team than the given one; entities without team don't match. */
+        public Filter enemiesOf(int team) {
+            return new Filter(kindMask, owner, ownerSet, team, TEAM_OTHER);
+        }
+
+        boolean acceptsKind(int kind) {
+            return (kindMask & (1 << kind)) != 0;
+        }
+
+        boolean test(int kind, int entryOwner, int entryTeam) {
+            if ((kindMask & (1 << kind)) == 0 || ownerSet && entryOwner != owner) {
+                return false;
+            }
+            return switch (teamMode) {
+                case TEAM_SAME -> entryTeam == team;
+                case TEAM_OTHER -> entryTeam != team && entryTeam != NO_TEAM;
+                default -> true;
+            };
+        }
+    }
+
+    /** Reusable result of a query: entries of the grid with their squared distance to the query point. */
+    public static final class Hits {
+        private int[] entries = new int[16];
+        private float[] distancesSquared = new float[16];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+        /** @return The entry of the grid, see {@link SpatialGrid#get(int)}. */
+        public int entry(int i) {
+            return entries[i];
+        }
+        public float distanceSquared(int i) {
+            return distancesSquared[i];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int entry, float distanceSquared) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+                distancesSquared = Arrays.copyOf(distancesSquared, size * 2);
+            }
+            entries[size] = entry;
+            distancesSquared[size] = distanceSquared;
+            size++;
+        }
+
+        /** Inserts by ascending distance and keeps at most {@code limit} hits. */
+        void insertSorted(int entry, float distanceSquared, int limit) {
+            if (size < limit) {
+                add(entry, distanceSquared);
+            }
+            int i = size - 1;
+            while (i > 0 && distancesSquared[i - 1] > distanceSquared) {
+                entries[i] = entries[i - 1];
+                distancesSquared[i] = distancesSquared[i - 1];
+                i--;
+            }
+            entries[i] = entry;
+            distancesSquared[i] = distanceSquared;
+        }
+    }
+}
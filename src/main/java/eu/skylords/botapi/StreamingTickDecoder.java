@@ -0,0 +1,908 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decodes the {@link GameState} token by token with Jackson's streaming {@link JsonParser}.
+ * <p>
+ * The hot parts of the state (entities, positions, ids, squads, figures, ...) are read directly from the token stream
+ * into a {@link GameState} and {@link MapEntities} that are reused on every tick.
+ * Rarely used and deeply polymorphic sub-trees (effects, aspects, jobs and commands) are still bound by Jackson.
+ * The ids of the entities, squads, buildings and cards are taken from an {@link IdInterner} of the decoder,
+ * so equal ids of a match are the same instance, also across ticks.
+ * <p>
+ * If the decoder {@link #StreamingTickDecoder(boolean) recycles}, the entities, players, positions and arrays
+ * of the previous tick are filled again instead of allocating new ones (see {@link TickDecoding#POOLED}).
+ * The n-th element of an array is decoded into the object of the n-th element of the previous tick;
+ * an array is reused if the number of elements didn't change.
+ * <p>
+ * A {@link #StreamingTickDecoder(boolean, boolean) lazy} decoder only skips over the effects and aspects of
+ * the entities and keeps their position in the body; they are bound on the first call of their getter
+ * (see {@link TickDecoding#LAZY}).
+ * <p>
+ * Parts of the state that aren't {@link #select(TickSelection) selected} by the bot are skipped
+ * with {@link JsonParser#skipChildren()}, without binding them. Unknown properties are handed to the
+ * {@link DeserializationContext}, so they fail or are skipped as with data binding.
+ * <p>
+ * Not thread safe; use one decoder per match.
+ */
+public class StreamingTickDecoder implements TickDecoder {
+
+    private static final ObjectMapper MAPPER = Json.MAPPER;
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    /** Largest decimal significand that is an exact float */
+    private static final long MAX_EXACT_SIGNIFICAND = 1 << 24;
+    /** The powers of ten that are exact floats */
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private static final AbilityEffect[] NO_EFFECTS = new AbilityEffect[0];
+    private static final AspectHolder[] NO_ASPECTS = new AspectHolder[0];
+    private static final Projectile[] NO_PROJECTILES = new Projectile[0];
+    private static final PowerSlot[] NO_POWER_SLOTS = new PowerSlot[0];
+    private static final TokenSlot[] NO_TOKEN_SLOTS = new TokenSlot[0];
+    private static final AbilityWorldObject[] NO_ABILITY_WORLD_OBJECTS = new AbilityWorldObject[0];
+    private static final Squad[] NO_SQUADS = new Squad[0];
+    private static final Figure[] NO_FIGURES = new Figure[0];
+    private static final Building[] NO_BUILDINGS = new Building[0];
+    private static final BarrierSet[] NO_BARRIER_SETS = new BarrierSet[0];
+    private static final BarrierModule[] NO_BARRIER_MODULES = new BarrierModule[0];
+    /** The json names of the entity arrays of {@link MapEntities}, which may be {@code null} */
+    private static final Set<String> KNOWN_ENTITY_ARRAYS = Set.of("projectiles", "power_slots", "token_slots",
+            "ability_world_objects", "squads", "figures", "buildings", "barrier_sets", "barrier_modules");
+
+    /** The types by the json names of the aspect and job holders */
+    private static final Map<String, AspectType> ASPECT_TYPES = new HashMap<>();
+    private static final Map<String, JobType> JOB_TYPES = new HashMap<>();
+
+    private static final IntEnumCodec<BuildState> BUILD_STATES = IntEnumCodec.of(BuildState.class);
+    private static final IntEnumCodec<OrbColor> ORB_COLORS = IntEnumCodec.of(OrbColor.class);
+    static {
+        for (AspectType t : AspectType.values()) {
+            ASPECT_TYPES.put(t.name(), t);
+        }
+        for (JobType t : JobType.values()) {
+            JOB_TYPES.put(t.name(), t);
+        }
+    }
+
+    /** The state that is filled on every tick */
+    private final GameState state = new GameState();
+    private final MapEntities entities = new MapEntities();
+    /** The arrays of the previous tick, which a recycling decoder fills again */
+    private final MapEntities previous = new MapEntities();
+    private PlayerEntity[] previousPlayers;
+
+    /** Reused buffers to collect array elements before the final array is created */
+    private final ArrayList<Object> elements = new ArrayList<>();
+    /** Buffer for arrays nested into the elements of {@link #elements} */
+    private final ArrayList<Object> nested = new ArrayList<>();
+    private int[] ids = new int[16];
+
+    private final boolean recycle;
+    private final boolean lazy;
+    /** The selection of the following ticks; may be changed between ticks */
+    private volatile TickSelection selection = TickSelection.ALL;
+    /** The selection of the current tick */
+    private TickSelection selected = TickSelection.ALL;
+    private long skippedBytes;
+    /** The body of the current tick, if the decoder is lazy */
+    private byte[] body;
+    /** Buffer for the body, reused by a recycling decoder */
+    private byte[] buffer = new byte[0];
+    private final Pool<Projectile> projectiles;
+    private final Pool<PowerSlot> powerSlots;
+    private final Pool<TokenSlot> tokenSlots;
+    private final Pool<AbilityWorldObject> abilityWorldObjects;
+    private final Pool<Squad> squads;
+    private final Pool<Figure> figures;
+    private final Pool<Building> buildings;
+    private final Pool<BarrierSet> barrierSets;
+    private final Pool<BarrierModule> barrierModules;
+    private final Pool<PlayerEntity> players;
+    /** The ids of the match, so equal ids are only allocated once */
+    private final IdInterner interned = new IdInterner();
+
+    /**
+     * Jackson context and deserializers for the sub-trees that are bound by Jackson.
+     * Resolved once per tick, instead of once per bound sub-tree as {@code ObjectReader} would do.
+     */
+    private DeserializationContext context;
+    private JsonDeserializer<Object> effectDeserializer;
+    private JsonDeserializer<Object> aspectDeserializer;
+    private JsonDeserializer<Object> jobDeserializer;
+    private JsonDeserializer<Object> commandsDeserializer;
+    private JsonDeserializer<Object> rejectedCommandsDeserializer;
+    /** Parser and context to bind the effects and aspects of {@link LazyEntity lazy entities} */
+    private JsonParser lazyParser;
+    private DeserializationContext lazyContext;
+
+    /** Creates a decoder that allocates new entities on every tick. */
+    public StreamingTickDecoder() {
+        this(false);
+    }
+
+    /** @param recycle Whether the entities of the previous tick are reused. */
+    public StreamingTickDecoder(boolean recycle) {
+        this(recycle, false);
+    }
+
+    /**
+     * @param recycle Whether the entities of the previous tick are reused.
+     * @param lazy Whether the effects and aspects of the entities are only bound when they are read.
+     */
+    public StreamingTickDecoder(boolean recycle, boolean lazy) {
+        this.recycle = recycle;
+        this.lazy = lazy;
+        this.projectiles = new Pool<>(recycle, Projectile::new);
+        this.powerSlots = new Pool<>(recycle, PowerSlot::new);
+        this.tokenSlots = new Pool<>(recycle, TokenSlot::new);
+        this.abilityWorldObjects = new Pool<>(recycle, AbilityWorldObject::new);
+        this.squads = new Pool<>(recycle, Squad::new);
+        this.figures = new Pool<>(recycle, Figure::new);
+        this.buildings = new Pool<>(recycle, Building::new);
+        this.barrierSets = new Pool<>(recycle, BarrierSet::new);
+        this.barrierModules = new Pool<>(recycle, BarrierModule::new);
+        this.players = new Pool<>(recycle, PlayerEntity::new);
+        state.setEntities(entities);
+    }
+
+    @Override
+    public GameState decode(InputStream in) throws IOException {
+        if (lazy) {
+            // the entities refer to the body until their effects and aspects are bound
+            int length = readBody(in);
+            try (JsonParser p = FACTORY.createParser(body, 0, length)) {
+                return decode(p);
+            }
+        }
+        try (JsonParser p = FACTORY.createParser(in)) {
+            return decode(p);
+        }
+    }
+
+    /**
+     * Decode the state from a complete json document.
+     * A lazy decoder keeps a reference to the document, so it must not be modified while the state is used.
+     */
+    public GameState decode(byte[] json) throws IOException {
+        body = json;
+        try (JsonParser p = FACTORY.createParser(json)) {
+            return decode(p);
+        }
+    }
+
+    /** Reads the whole body into {@link #body}; a recycling decoder reuses the buffer of the previous tick. */
+    private int readBody(InputStream in) throws IOException {
+        if (!recycle) {
+            body = in.readAllBytes();
+            return body.length;
+        }
+        int length = 0;
+        while (true) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(8192, length * 2));
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                body = buffer;
+                return length;
+            }
+            length += read;
+        }
+    }
+
+    @Override
+    public void select(TickSelection selection) {
+        this.selection = selection == null ? TickSelection.ALL : selection;
+    }
+
+    @Override
+    public void reset() {
+        interned.clear();
+    }
+
+    @Override
+    public long getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    private GameState decode(JsonParser p) throws IOException {
+        selected = selection;
+        skippedBytes = 0;
+        createContext(p);
+        if (effectDeserializer == null) {
+            effectDeserializer = context.findRootValueDeserializer(MAPPER.constructType(AbilityEffect.class));
+            aspectDeserializer = context.findRootValueDeserializer(MAPPER.constructType(AspectHolder.class));
+            jobDeserializer = context.findRootValueDeserializer(MAPPER.constructType(JobHolder.class));
+            commandsDeserializer = context.findRootValueDeserializer(MAPPER.constructType(PlayerCommand[].class));
+            rejectedCommandsDeserializer = context.findRootValueDeserializer(MAPPER.constructType(RejectedCommand[].class));
+        }
+        expect(p.nextToken(), JsonToken.START_OBJECT, p);
+        // fields that are missing or null in this tick are null, as with data binding, and never those of the previous tick
+        previousPlayers = recycle ? state.getPlayers() : null;
+        state.setYourPlayerId(null);
+        state.setCurrentTick(null);
+        state.setCommands(null);
+        state.setRejectedCommands(null);
+        state.setPlayers(null);
+        state.setEntities(null);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "your_player_id" -> state.setYourPlayerId(readEntityId(p));
+                case "current_tick" -> state.setCurrentTick(isNull(p) ? null : interned.tick(p.getIntValue()));
+                case "commands" -> state.setCommands(isNull(p) ? null : (PlayerCommand[]) commandsDeserializer.deserialize(p, context));
+                case "rejected_commands" -> state.setRejectedCommands(isNull(p) ? null : (RejectedCommand[]) rejectedCommandsDeserializer.deserialize(p, context));
+                case "players" -> state.setPlayers(isNull(p) ? null : readPlayers(p));
+                case "entities" -> state.setEntities(isNull(p) ? null : readEntities(p));
+                default -> unknown(p, GameState.class);
+            }
+        }
+        return state;
+    }
+
+    private void createContext(JsonParser p) {
+        context = ((DefaultDeserializationContext) MAPPER.getDeserializationContext())
+                .createInstance(MAPPER.getDeserializationConfig(), p, MAPPER.getInjectableValues());
+    }
+
+    /** Binds the effects of a {@link LazyEntity}, the json array {@code json[start .. end)}. */
+    AbilityEffect[] bindEffects(byte[] json, int start, int end) throws IOException {
+        try {
+            return readEffects(feedLazyParser(json, start, end));
+        } catch (IOException | RuntimeException e) {
+            lazyParser = null;
+            throw e;
+        }
+    }
+
+    /** Binds the aspects of a {@link LazyEntity}, the json array {@code json[start .. end)}. */
+    AspectHolder[] bindAspects(byte[] json, int start, int end) throws IOException {
+        // unselected aspects are skipped while the bot runs, after the skipped bytes of the tick were recorded
+        long skipped = skippedBytes;
+        try {
+            return readAspects(feedLazyParser(json, start, end), selected);
+        } catch (IOException | RuntimeException e) {
+            lazyParser = null;
+            throw e;
+        } finally {
+            skippedBytes = skipped;
+        }
+    }
+
+    /**
+     * The lazily bound arrays are complete json values, so they are fed one after another into the same
+     * non-blocking parser and bound with the same context, instead of creating both for every entity.
+     * @return The parser at the start of the array.
+     */
+    private JsonParser feedLazyParser(byte[] json, int start, int end) throws IOException {
+        if (lazyParser == null) {
+            lazyParser = FACTORY.createNonBlockingByteArrayParser();
+            lazyContext = ((DefaultDeserializationContext) MAPPER.getDeserializationContext())
+                    .createInstance(MAPPER.getDeserializationConfig(), lazyParser, MAPPER.getInjectableValues());
+        }
+        ((ByteArrayFeeder) lazyParser.getNonBlockingInputFeeder()).feedInput(json, start, end);
+        context = lazyContext;
+        lazyParser.nextToken();
+        return lazyParser;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // MapEntities:
+
+    private MapEntities readEntities(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT, p);
+        if (recycle) {
+            previous.setProjectiles(entities.getProjectiles());
+            previous.setPowerSlots(entities.getPowerSlots());
+            previous.setTokenSlots(entities.getTokenSlots());
+            previous.setAbilityWorldObjects(entities.getAbilityWorldObjects());
+            previous.setSquads(entities.getSquads());
+            previous.setFigures(entities.getFigures());
+            previous.setBuildings(entities.getBuildings());
+            previous.setBarrierSets(entities.getBarrierSets());
+            previous.setBarrierModules(entities.getBarrierModules());
+        }
+        entities.setProjectiles(null);
+        entities.setPowerSlots(null);
+        entities.setTokenSlots(null);
+        entities.setAbilityWorldObjects(null);
+        entities.setSquads(null);
+        entities.setFigures(null);
+        entities.setBuildings(null);
+        entities.setBarrierSets(null);
+        entities.setBarrierModules(null);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            if (p.nextToken() == JsonToken.VALUE_NULL && KNOWN_ENTITY_ARRAYS.contains(field)) {
+                continue; // stays null
+            }
+            switch (field) {
+                case "projectiles" -> entities.setProjectiles(
+                        selected.includes(EntityKind.PROJECTILES) ? readProjectiles(p) : skip(p, NO_PROJECTILES));
+                case "power_slots" -> entities.setPowerSlots(
+                        selected.includes(EntityKind.POWER_SLOTS) ? readPowerSlots(p) : skip(p, NO_POWER_SLOTS));
+                case "token_slots" -> entities.setTokenSlots(
+                        selected.includes(EntityKind.TOKEN_SLOTS) ? readTokenSlots(p) : skip(p, NO_TOKEN_SLOTS));
+                case "ability_world_objects" -> entities.setAbilityWorldObjects(
+                        selected.includes(EntityKind.ABILITY_WORLD_OBJECTS) ? readAbilityWorldObjects(p) : skip(p, NO_ABILITY_WORLD_OBJECTS));
+                case "squads" -> entities.setSquads(
+                        selected.includes(EntityKind.SQUADS) ? readSquads(p) : skip(p, NO_SQUADS));
+                case "figures" -> entities.setFigures(
+                        selected.includes(EntityKind.FIGURES) ? readFigures(p) : skip(p, NO_FIGURES));
+                case "buildings" -> entities.setBuildings(
+                        selected.includes(EntityKind.BUILDINGS) ? readBuildings(p) : skip(p, NO_BUILDINGS));
+                case "barrier_sets" -> entities.setBarrierSets(
+                        selected.includes(EntityKind.BARRIER_SETS) ? readBarrierSets(p) : skip(p, NO_BARRIER_SETS));
+                case "barrier_modules" -> entities.setBarrierModules(
+                        selected.includes(EntityKind.BARRIER_MODULES) ? readBarrierModules(p) : skip(p, NO_BARRIER_MODULES));
+                default -> unknown(p, MapEntities.class);
+            }
+        }
+        return entities;
+    }
+
+    private Projectile[] readProjectiles(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        projectiles.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Projectile projectile = projectiles.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> projectile.setId(readEntityId(p));
+                    case "position" -> projectile.setPosition(readPosition(p, projectile.getPosition()));
+                    default -> unknown(p, Projectile.class);
+                }
+            }
+            elements.add(projectile);
+        }
+        return toArray(previous.getProjectiles(), Projectile[]::new);
+    }
+
+    private PowerSlot[] readPowerSlots(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        powerSlots.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            PowerSlot slot = powerSlots.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> slot.setEntity(readEntity(p, slot.getEntity()));
+                    case "res_id" -> slot.setResId(p.getIntValue());
+                    case "state" -> slot.setState(readBuildState(p));
+                    case "team" -> slot.setTeam(p.getByteValue());
+                    default -> unknown(p, PowerSlot.class);
+                }
+            }
+            elements.add(slot);
+        }
+        return toArray(previous.getPowerSlots(), PowerSlot[]::new);
+    }
+
+    private TokenSlot[] readTokenSlots(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        tokenSlots.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            TokenSlot slot = tokenSlots.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> slot.setEntity(readEntity(p, slot.getEntity()));
+                    case "res_id" -> slot.setResId(p.getIntValue());
+                    case "state" -> slot.setState(readBuildState(p));
+                    case "team" -> slot.setTeam(p.getByteValue());
+                    case "color" -> slot.setColor(readOrbColor(p));
+                    default -> unknown(p, TokenSlot.class);
+                }
+            }
+            elements.add(slot);
+        }
+        return toArray(previous.getTokenSlots(), TokenSlot[]::new);
+    }
+
+    private AbilityWorldObject[] readAbilityWorldObjects(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        abilityWorldObjects.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            AbilityWorldObject object = abilityWorldObjects.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if (field.equals("entity")) {
+                    object.setEntity(readEntity(p, object.getEntity()));
+                } else {
+                    unknown(p, AbilityWorldObject.class);
+                }
+            }
+            elements.add(object);
+        }
+        return toArray(previous.getAbilityWorldObjects(), AbilityWorldObject[]::new);
+    }
+
+    private Squad[] readSquads(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        squads.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Squad squad = squads.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> squad.setEntity(readEntity(p, squad.getEntity()));
+                    case "card_id" -> squad.setCardId(interned.cardId(p.getIntValue()));
+                    case "res_squad_id" -> squad.setResSquadId(interned.squadId(p.getIntValue()));
+                    case "bound_power" -> squad.setBoundPower(readFloat(p));
+                    case "squad_size" -> squad.setSquadSize(p.getByteValue());
+                    case "figures" -> squad.setFigures(readEntityIds(p, squad.getFigures()));
+                    default -> unknown(p, Squad.class);
+                }
+            }
+            elements.add(squad);
+        }
+        return toArray(previous.getSquads(), Squad[]::new);
+    }
+
+    private Figure[] readFigures(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        figures.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Figure figure = figures.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> figure.setEntity(readEntity(p, figure.getEntity()));
+                    case "squad_id" -> figure.setSquadId(readEntityId(p));
+                    case "current_speed" -> figure.setCurrentSpeed(readFloat(p));
+                    case "rotation_speed" -> figure.setRotationSpeed(readFloat(p));
+                    case "unit_size" -> figure.setUnitSize(p.getByteValue());
+                    case "move_mode" -> figure.setMoveMode(p.getByteValue());
+                    default -> unknown(p, Figure.class);
+                }
+            }
+            elements.add(figure);
+        }
+        return toArray(previous.getFigures(), Figure[]::new);
+    }
+
+    private Building[] readBuildings(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        buildings.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Building building = buildings.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> building.setEntity(readEntity(p, building.getEntity()));
+                    case "building_id" -> building.setBuildingId(interned.buildingId(p.getIntValue()));
+                    case "card_id" -> building.setCardId(interned.cardId(p.getIntValue()));
+                    case "power_cost" -> building.setPowerCost(readFloat(p));
+                    default -> unknown(p, Building.class);
+                }
+            }
+            elements.add(building);
+        }
+        return toArray(previous.getBuildings(), Building[]::new);
+    }
+
+    private BarrierSet[] readBarrierSets(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        barrierSets.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            BarrierSet set = barrierSets.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if (field.equals("entity")) {
+                    set.setEntity(readEntity(p, set.getEntity()));
+                } else {
+                    unknown(p, BarrierSet.class);
+                }
+            }
+            elements.add(set);
+        }
+        return toArray(previous.getBarrierSets(), BarrierSet[]::new);
+    }
+
+    private BarrierModule[] readBarrierModules(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        barrierModules.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            BarrierModule module = barrierModules.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "entity" -> module.setEntity(readEntity(p, module.getEntity()));
+                    case "team" -> module.setTeam(p.getByteValue());
+                    case "set" -> module.setSet(readEntityId(p));
+                    case "state" -> module.setState(p.getIntValue());
+                    case "slots" -> module.setSlots(p.getByteValue());
+                    case "free_slots" -> module.setFreeSlots(p.getByteValue());
+                    case "walkable" -> module.setWalkable(p.getBooleanValue());
+                    default -> unknown(p, BarrierModule.class);
+                }
+            }
+            elements.add(module);
+        }
+        return toArray(previous.getBarrierModules(), BarrierModule[]::new);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Players:
+
+    private PlayerEntity[] readPlayers(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        elements.clear();
+        players.rewind();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            PlayerEntity player = players.next();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> player.setId(readEntityId(p));
+                    case "effects" -> player.setEffects(readEffects(p));
+                    case "aspects" -> player.setAspects(readAspects(p, TickSelection.ALL));
+                    case "team" -> player.setTeam(p.getByteValue());
+                    case "power" -> player.setPower(readFloat(p));
+                    case "void_power" -> player.setVoidPower(readFloat(p));
+                    case "population_count" -> player.setPopulationCount(p.getShortValue());
+                    case "name" -> player.setName(p.getValueAsString());
+                    case "orbs" -> player.setOrbs(readOrbs(p, player.getOrbs()));
+                    default -> unknown(p, PlayerEntity.class);
+                }
+            }
+            elements.add(player);
+        }
+        return toArray(previousPlayers, PlayerEntity[]::new);
+    }
+
+    private Orbs readOrbs(JsonParser p, Orbs reuse) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT, p);
+        Orbs orbs = reuse != null ? reuse : new Orbs();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "shadow" -> orbs.setShadow(p.getByteValue());
+                case "nature" -> orbs.setNature(p.getByteValue());
+                case "frost" -> orbs.setFrost(p.getByteValue());
+                case "fire" -> orbs.setFire(p.getByteValue());
+                case "starting" -> orbs.setStarting(p.getByteValue());
+                case "white" -> orbs.setWhite(p.getByteValue());
+                case "all" -> orbs.setAll(p.getByteValue());
+                default -> unknown(p, Orbs.class);
+            }
+        }
+        return orbs;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Shared structures:
+
+    /** @param reuse The entity of the previous tick, or {@code null}. */
+    private Entity readEntity(JsonParser p, Entity reuse) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT, p);
+        Entity entity = reuse != null ? reuse : lazy ? new LazyEntity(this) : new Entity();
+        entity.setPlayerEntityId(null); // the only optional field
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> entity.setId(readEntityId(p));
+                case "effects" -> {
+                    if (!selected.includesEffects()) {
+                        skip(p);
+                        entity.setEffects(NO_EFFECTS);
+                    } else if (lazy) {
+                        int start = tokenOffset(p);
+                        p.skipChildren();
+                        ((LazyEntity) entity).setEffectsJson(body, start, tokenOffset(p) + 1);
+                    } else {
+                        entity.setEffects(readEffects(p));
+                    }
+                }
+                case "aspects" -> {
+                    if (!selected.includesAspects()) {
+                        skip(p);
+                        entity.setAspects(NO_ASPECTS);
+                    } else if (lazy) {
+                        int start = tokenOffset(p);
+                        p.skipChildren();
+                        ((LazyEntity) entity).setAspectsJson(body, start, tokenOffset(p) + 1);
+                    } else {
+                        entity.setAspects(readAspects(p, selected));
+                    }
+                }
+                case "job" -> entity.setJob(readJob(p));
+                case "position" -> entity.setPosition(readPosition(p, entity.getPosition()));
+                case "player_entity_id" -> entity.setPlayerEntityId(readEntityId(p));
+                default -> unknown(p, Entity.class);
+            }
+        }
+        return entity;
+    }
+
+    private AbilityEffect[] readEffects(JsonParser p) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        if (p.nextToken() == JsonToken.END_ARRAY) {
+            return NO_EFFECTS;
+        }
+        nested.clear();
+        do {
+            nested.add(effectDeserializer.deserialize(p, context));
+        } while (p.nextToken() != JsonToken.END_ARRAY);
+        return nested.toArray(new AbilityEffect[0]);
+    }
+
+    /** Reads the aspects of the selected types. */
+    private AspectHolder[] readAspects(JsonParser p, TickSelection selection) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        if (p.nextToken() == JsonToken.END_ARRAY) {
+            return NO_ASPECTS;
+        }
+        nested.clear();
+        do {
+            if (selection.includesAllAspects() || p.currentToken() != JsonToken.START_OBJECT) {
+                nested.add(aspectDeserializer.deserialize(p, context));
+                continue;
+            }
+            // a holder is an object with the type as its only field: {"Health": {...}}
+            int start = tokenOffset(p);
+            if (p.nextToken() == JsonToken.FIELD_NAME) {
+                AspectType type = ASPECT_TYPES.get(p.currentName());
+                if (type != null && !selection.includes(type)) {
+                    skipRest(p, start);
+                    continue;
+                }
+            }
+            nested.add(aspectDeserializer.deserialize(p, context));
+        } while (p.nextToken() != JsonToken.END_ARRAY);
+        return nested.isEmpty() ? NO_ASPECTS : nested.toArray(new AspectHolder[0]);
+    }
+
+    /** @return The job, or {@code null} if its type isn't selected. */
+    private JobHolder readJob(JsonParser p) throws IOException {
+        if (selected.includesAllJobs() || p.currentToken() != JsonToken.START_OBJECT) {
+            return (JobHolder) jobDeserializer.deserialize(p, context);
+        }
+        // a holder is an object with the type as its only field: {"Idle": {...}}
+        int start = tokenOffset(p);
+        if (p.nextToken() == JsonToken.FIELD_NAME) {
+            JobType type = JOB_TYPES.get(p.currentName());
+            if (type != null && !selected.includes(type)) {
+                skipRest(p, start);
+                return null;
+            }
+        }
+        return (JobHolder) jobDeserializer.deserialize(p, context);
+    }
+
+    private Position readPosition(JsonParser p, Position reuse) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT, p);
+        Position position = reuse != null ? reuse : new Position();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "x" -> position.setX(readFloat(p));
+                case "y" -> position.setY(readFloat(p));
+                case "z" -> position.setZ(readFloat(p));
+                default -> unknown(p, Position.class);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Reads a float from the characters of the token, without the String Jackson creates for every float.
+     * If the decimal significand and the power of ten are exact floats, a single division is correctly rounded;
+     * longer numbers and exponents are parsed by Jackson.
+     */
+    private static float readFloat(JsonParser p) throws IOException {
+        if (!p.currentToken().isNumeric()) {
+            return p.getFloatValue();
+        }
+        char[] text = p.getTextCharacters();
+        int i = p.getTextOffset();
+        int end = i + p.getTextLength();
+        boolean negative = i < end && text[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long significand = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c >= '0' && c <= '9') {
+                significand = significand * 10 + (c - '0');
+                if (significand > MAX_EXACT_SIGNIFICAND) {
+                    return p.getFloatValue();
+                }
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return p.getFloatValue();
+            }
+        }
+        if (fractionDigits >= POWERS_OF_TEN.length) {
+            return p.getFloatValue();
+        }
+        float value = significand / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /** Reads a nullable entity id */
+    private EntityId readEntityId(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : entityId(p.getIntValue());
+    }
+
+    private EntityId entityId(int value) {
+        return interned.entityId(value);
+    }
+
+    /** @param previous The ids of the previous tick, or {@code null}. */
+    private EntityId[] readEntityIds(JsonParser p, EntityId[] previous) throws IOException {
+        expect(p.currentToken(), JsonToken.START_ARRAY, p);
+        int count = 0;
+        while (p.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = p.getIntValue();
+        }
+        EntityId[] result = recycle && previous != null && previous.length == count ? previous : new EntityId[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = entityId(ids[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @param previous The array of the previous tick, or {@code null}.
+     * @return The collected {@link #elements}, in the previous array if it has the same length and the decoder recycles.
+     */
+    private <T> T[] toArray(T[] previous, IntFunction<T[]> create) {
+        T[] array = recycle && previous != null && previous.length == elements.size() ? previous : create.apply(elements.size());
+        return elements.toArray(array);
+    }
+
+    private static BuildState readBuildState(JsonParser p) throws IOException {
+        BuildState state = BUILD_STATES.decode(p.getIntValue());
+        if (state == null) {
+            throw new IOException("Unknown BuildState " + p.getIntValue() + " at " + p.currentLocation());
+        }
+        return state;
+    }
+
+    private static OrbColor readOrbColor(JsonParser p) throws IOException {
+        OrbColor color = ORB_COLORS.decode(p.getIntValue());
+        if (color == null) {
+            throw new IOException("Unknown OrbColor " + p.getIntValue() + " at " + p.currentLocation());
+        }
+        return color;
+    }
+
+    /**
+     * Handles a property the decoder doesn't know the way data binding does: fails if the mapper
+     * {@link com.fasterxml.jackson.databind.DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES fails on unknown properties},
+     * skips the value otherwise.
+     * @param type The type of the object that has the property.
+     */
+    private void unknown(JsonParser p, Class<?> type) throws IOException {
+        context.handleUnknownProperty(p, null, type, p.currentName());
+    }
+
+    /** Skips the current array or object and counts it as skipped. */
+    private void skip(JsonParser p) throws IOException {
+        int start = tokenOffset(p);
+        p.skipChildren();
+        skippedBytes += tokenOffset(p) + 1 - start;
+    }
+
+    /** @return The empty array, after skipping the array of the json. */
+    private <T> T[] skip(JsonParser p, T[] empty) throws IOException {
+        skip(p);
+        return empty;
+    }
+
+    /**
+     * Skips the remaining fields of the current object, from a field name to the end of the object,
+     * and counts the whole object as skipped.
+     * @param start The offset of the start of the object.
+     */
+    private void skipRest(JsonParser p, int start) throws IOException {
+        while (p.currentToken() == JsonToken.FIELD_NAME) {
+            p.nextToken();
+            p.skipChildren();
+            p.nextToken();
+        }
+        skippedBytes += tokenOffset(p) + 1 - start;
+    }
+
+    /**
+     * @return The offset of the current token in the body, without allocating a {@code JsonLocation}.
+     *         The byte parser counts one ahead; {@code currentTokenLocation()} subtracts one the same way.
+     */
+    private static int tokenOffset(JsonParser p) {
+        return (int) ((ParserBase) p).getTokenCharacterOffset() - 1;
+    }
+
+    private static boolean isNull(JsonParser p) {
+        return p.currentToken() == JsonToken.VALUE_NULL;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser p) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but got " + actual + " at " + p.currentLocation());
+        }
+    }
+
+    /** Hands out the objects of the previous ticks again, in the same order; creates new objects if it doesn't recycle. */
+    private static final class Pool<T> {
+        private final boolean recycle;
+        private final Supplier<T> factory;
+        private final ArrayList<T> objects = new ArrayList<>();
+        private int next;
+
+        Pool(boolean recycle, Supplier<T> factory) {
+            this.recycle = recycle;
+            this.factory = factory;
+        }
+
+        /** Starts to hand out the objects from the first one again. */
+        void rewind() {
+            next = 0;
+        }
+
+        T next() {
+            if (!recycle) {
+                return factory.get();
+            }
+            if (next == objects.size()) {
+                objects.add(factory.get());
+            }
+            return objects.get(next++);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.impl.UnknownSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import eu.skylords.botapi.Types.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Json codec of the holders of the sealed {@link MultiType} interfaces ({@link JobHolder}, {@link AspectHolder},
+ * {@link CommandHolder}, ...).
+ * <p>
+ * The api tags a value with the name of its type, as the only field of an object: {@code {"Idle": {}}}.
+ * The tags and the classes of a union are taken once from the permitted subclasses of its interface,
+ * so the codec looks a tag up in a table, binds the payload with the deserializer of the concrete class
+ * and keeps it in the single field of the holder. Empty holders are written as {@code {}}.
+ * <p>
+ * Registered on the holders with {@code @JsonSerialize} and {@code @JsonDeserialize}, so it is used by every mapper.
+ */
+public final class TaggedUnionCodec {
+
+    private static final Map<Class<?>, Union<?, ?>> HOLDERS = new HashMap<>();
+
+    static {
+        register(SingleTargetHolder.class, SingleTarget.class, SingleTargetHolder::new, SingleTargetHolder::new, SingleTargetHolder::value);
+        register(TargetHolder.class, Target.class, TargetHolder::new, TargetHolder::new, TargetHolder::value);
+        register(AreaShapeHolder.class, AreaShape.class, AreaShapeHolder::new, AreaShapeHolder::new, AreaShapeHolder::value);
+        register(AbilityEffectSpecificHolder.class, AbilityEffectSpecific.class,
+                AbilityEffectSpecificHolder::new, AbilityEffectSpecificHolder::new, AbilityEffectSpecificHolder::value);
+        register(MountStateHolder.class, MountState.class, MountStateHolder::new, MountStateHolder::new, MountStateHolder::value);
+        register(AspectHolder.class, Aspect.class, AspectHolder::new, AspectHolder::new, AspectHolder::value);
+        register(JobHolder.class, Job.class, JobHolder::new, JobHolder::new, JobHolder::value);
+        register(CommandHolder.class, Command.class, CommandHolder::new, CommandHolder::new, CommandHolder::value);
+        register(CommandRejectionReasonHolder.class, CommandRejectionReason.class,
+                CommandRejectionReasonHolder::new, CommandRejectionReasonHolder::new, CommandRejectionReasonHolder::value);
+    }
+
+    private TaggedUnionCodec() {
+        // prevent class initialization
+    }
+
+    private static <T extends MultiType<?>, H> void register(Class<H> holder, Class<T> type, Supplier<H> empty,
+                                                            Function<T, H> wrap, Function<H, T> unwrap) {
+        HOLDERS.put(holder, new Union<>(holder, type, empty, wrap, unwrap));
+    }
+
+    private static Union<?, ?> unionOf(Class<?> holder) {
+        Union<?, ?> union = HOLDERS.get(holder);
+        if (union == null) {
+            throw new IllegalArgumentException(holder.getName() + " isn't the holder of a sealed MultiType");
+        }
+        return union;
+    }
+
+    /** Tags and classes of the implementations of a sealed interface, indexed by the ordinal of their type. */
+    private static final class Union<T extends MultiType<?>, H> {
+        private final Class<H> holder;
+        private final Supplier<H> empty;
+        private final Function<T, H> wrap;
+        private final Function<H, T> unwrap;
+        private final Class<?>[] classes;
+        private final SerializedString[] tags;
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        private Union(Class<H> holder, Class<T> type, Supplier<H> empty, Function<T, H> wrap, Function<H, T> unwrap) {
+            this.holder = holder;
+            this.empty = empty;
+            this.wrap = wrap;
+            this.unwrap = unwrap;
+            Class<?>[] permitted = type.getPermittedSubclasses();
+            if (permitted == null) {
+                throw new IllegalArgumentException(type.getName() + " isn't sealed");
+            }
+            classes = new Class<?>[permitted.length];
+            tags = new SerializedString[permitted.length];
+            for (Class<?> c : permitted) {
+                Enum<?> tag = instantiate(c).getType();
+                if (classes[tag.ordinal()] != null) {
+                    throw new IllegalStateException(c.getName() + " and " + classes[tag.ordinal()].getName() + " have the same type " + tag);
+                }
+                classes[tag.ordinal()] = c;
+                tags[tag.ordinal()] = new SerializedString(tag.name());
+                indices.put(tag.name(), tag.ordinal());
+            }
+        }
+
+        private static MultiType<?> instantiate(Class<?> c) {
+            try {
+                return (MultiType<?>) c.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Couldn't create " + c.getName() + " to read its type", e);
+            }
+        }
+    }
+
+    /** Writes a holder as {@code {"Tag": payload}}. */
+    public static final class HolderSerializer extends StdSerializer<Object> {
+        private static final long serialVersionUID = 1L;
+
+        public HolderSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(Object holder, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Union<MultiType<?>, Object> union = (Union<MultiType<?>, Object>) unionOf(holder.getClass());
+            MultiType<?> value = union.unwrap.apply(holder);
+            gen.writeStartObject(holder);
+            if (value != null) {
+                gen.writeFieldName(union.tags[value.getType().ordinal()]);
+                JsonSerializer<Object> serializer = provider.findValueSerializer(value.getClass());
+                if (serializer instanceof UnknownSerializer) {
+                    // types without fields, like JobIdle, are empty objects
+                    gen.writeStartObject(value);
+                    gen.writeEndObject();
+                } else {
+                    serializer.serialize(value, gen, provider);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads a holder from {@code {"Tag": payload}}, or from the first tag (or the end) if the parser is already past the start of the object.
+     * {@code {}} is an empty holder.
+     */
+    public static final class HolderDeserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        // transient: Jackson declares its deserializers serializable, but never serializes a contextual one
+        private final transient Union<MultiType<?>, Object> union;
+        /** Deserializers of the payloads, resolved on first use */
+        private final transient JsonDeserializer<Object>[] payloads;
+
+        public HolderDeserializer() {
+            super(Object.class);
+            union = null;
+            payloads = null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private HolderDeserializer(Union<?, ?> union) {
+            super(union.holder);
+            this.union = (Union<MultiType<?>, Object>) union;
+            this.payloads = new JsonDeserializer[union.classes.length];
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            JavaType type = ctxt.getContextualType() != null ? ctxt.getContextualType() : property.getType();
+            return union != null && union.holder == type.getRawClass() ? this : new HolderDeserializer(unionOf(type.getRawClass()));
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken t = p.currentToken();
+            String tag;
+            if (t == JsonToken.START_OBJECT) {
+                tag = p.nextFieldName();
+            } else if (t == JsonToken.FIELD_NAME) {
+                tag = p.currentName();
+            } else if (t == JsonToken.END_OBJECT) {
+                tag = null;
+            } else {
+                return ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            MultiType<?> value = null;
+            for (; tag != null; tag = p.nextFieldName()) {
+                p.nextToken();
+                Integer i = union.indices.get(tag);
+                if (i == null) {
+                    ctxt.handleUnknownProperty(p, this, handledType(), tag);
+                    continue;
+                }
+                if (value != null) {
+                    return ctxt.reportInputMismatch(this, "%s contains %s and %s, expected only one",
+                            handledType().getSimpleName(), value.getType(), tag);
+                }
+                if (p.currentToken() != JsonToken.VALUE_NULL) {
+                    value = (MultiType<?>) payload(i, ctxt).deserialize(p, ctxt);
+                }
+            }
+            return value == null ? union.empty.get() : union.wrap.apply(value);
+        }
+
+        private JsonDeserializer<Object> payload(int i, DeserializationContext ctxt) throws IOException {
+            JsonDeserializer<Object> deserializer = payloads[i];
+            if (deserializer == null) {
+                deserializer = ctxt.findRootValueDeserializer(ctxt.constructType(union.classes[i]));
+                payloads[i] = deserializer;
+            }
+            return deserializer;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.Command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Enforces a deadline on the computation of a tick.
+ * <p>
+ * The bot computes its commands on the {@link MatchActor actor} of its match, or asynchronously if it is an {@link AsyncBot}.
+ * If the result isn't available within the deadline,
+ * the {@link Bot#onDeadlineMissed() fallback commands} of the bot are answered instead and the bot keeps computing in the background.
+ * While the bot is still busy with an older tick, new ticks are answered immediately with the fallback,
+ * so the bot is never called concurrently.
+ */
+public class TickBudget {
+
+    private final long deadlineMillis;
+    private final Executor compute;
+
+    /** The computation of the latest tick that was handed to the bot */
+    private volatile CompletableFuture<List<Command>> inFlight = CompletableFuture.completedFuture(List.of());
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong missedDeadlines = new AtomicLong();
+    private final AtomicLong skippedTicks = new AtomicLong();
+    private final AtomicLong lateResults = new AtomicLong();
+
+    /**
+     * @param deadlineMillis Maximum time the bot has to answer a tick.
+     * @param compute Executes the computation of the bot.
+     */
+    public TickBudget(long deadlineMillis, Executor compute) {
+        if (deadlineMillis < 1) {
+            throw new IllegalArgumentException("Tick deadline must be at least 1 ms, but was " + deadlineMillis);
+        }
+        this.deadlineMillis = deadlineMillis;
+        this.compute = compute;
+    }
+
+    /** @return true while the bot is still computing an earlier tick. */
+    public boolean isBusy() {
+        return !inFlight.isDone();
+    }
+
+    /**
+     * Runs the computation of a tick on the compute executor of this budget.
+     * @param onTick Computes the commands of the bot.
+     * @param fallback Provides the commands if the deadline is exceeded or the bot is still busy.
+     * @return Completes with the commands of the bot, or the fallback commands, at the latest when the deadline is reached.
+     */
+    public CompletableFuture<List<Command>> run(Supplier<List<Command>> onTick, Supplier<List<Command>> fallback) {
+        return runAsync(() -> CompletableFuture.supplyAsync(onTick, compute), fallback);
+    }
+
+    /**
+     * Runs an asynchronous computation of a tick.
+     * @param onTick Starts the computation of the commands of the bot.
+     * @param fallback Provides the commands if the deadline is exceeded or the bot is still busy.
+     * @return Completes with the commands of the bot, or the fallback commands, at the latest when the deadline is reached.
+     */
+    public CompletableFuture<List<Command>> runAsync(Supplier<CompletionStage<List<Command>>> onTick, Supplier<List<Command>> fallback) {
+        ticks.incrementAndGet();
+        if (isBusy()) {
+            skippedTicks.incrementAndGet();
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+        CompletableFuture<List<Command>> computation = onTick.get().toCompletableFuture();
+        inFlight = computation;
+        return computation.copy()
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (!(cause instanceof TimeoutException)) {
+                        throw new CompletionException(cause);
+                    }
+                    missedDeadlines.incrementAndGet();
+                    computation.whenComplete((commands, lateError) -> lateResults.incrementAndGet());
+                    return fallback.get();
+                });
+    }
+
+    /** Counts a tick that was answered with the fallback without starting a computation. */
+    public void countSkipped() {
+        ticks.incrementAndGet();
+        skippedTicks.incrementAndGet();
+    }
+
+    /** @return A snapshot of the deadline counters. */
+    public BudgetMetrics getMetrics() {
+        return new BudgetMetrics(deadlineMillis, ticks.get(), missedDeadlines.get(), skippedTicks.get(), lateResults.get());
+    }
+
+    /**
+     * Snapshot of the counters of a {@link TickBudget}.
+     * @param deadlineMillis The configured deadline.
+     * @param ticks Total number of ticks.
+     * @param missedDeadlines Ticks on which the bot didn't answer within the deadline.
+     * @param skippedTicks Ticks that were answered with the fallback, because the bot was still busy with an earlier tick.
+     * @param lateResults Computations that finished after their deadline; their commands were dropped.
+     */
+    public record BudgetMetrics(long deadlineMillis, long ticks, long missedDeadlines, long skippedTicks, long lateResults) {}
+}
@@ -0,0 +1,52 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.GameState;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes the body of a {@code /tick} request into a {@link GameState}.
+ * Decoders may keep state between ticks and therefore are not thread safe; use one decoder per match.
+ */
+public interface TickDecoder {
+
+    /**
+     * Decode the state of the current tick.
+     * @param in The json body of the request.
+     * @return The decoded state.
+     * @throws IOException If the body couldn't be read or isn't a valid {@link GameState}.
+     */
+    GameState decode(InputStream in) throws IOException;
+
+    /**
+     * Restricts the following ticks to the parts of the state the bot reads.
+     * Decoders that can't skip parts of the state ignore the selection and decode everything.
+     */
+    default void select(TickSelection selection) {
+        // decode everything
+    }
+
+    /**
+     * Forgets the state of a finished match, so the decoder can be used for the next match.
+     * Decoders that keep nothing across ticks do nothing.
+     */
+    default void reset() {
+        // nothing to forget
+    }
+
+    /** @return Bytes of the latest decoded body that were skipped because they weren't {@link #select(TickSelection) selected}. */
+    default long getSkippedBytes() {
+        return 0;
+    }
+
+    /** Creates a new decoder of the provided kind. */
+    static TickDecoder create(TickDecoding decoding) {
+        return switch (decoding) {
+            case DATA_BINDING -> new DataBindingTickDecoder();
+            case STREAMING -> new StreamingTickDecoder();
+            case POOLED -> new StreamingTickDecoder(true);
+            case LAZY -> new StreamingTickDecoder(true, true);
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package eu.skylords.botapi;
+
+/** The available strategies to decode the {@link Types.GameState} sent on every tick. */
+public enum TickDecoding {
+    /** Jackson data binding. Every tick creates a completely new object graph. */
+    DATA_BINDING,
+    /**
+     * Token level decoding with Jackson's streaming parser.
+     * The {@link Types.GameState} and its {@link Types.MapEntities} are reused between ticks,
+     * so a bot must not keep a reference to them after {@link Bot#onTick(Types.GameState) onTick} returned.
+     * Unknown properties fail or are skipped as with data binding, depending on the configuration of {@link Json#MAPPER}.
+     * The ids are interned per match by an {@link IdInterner}, so equal ids are the same instance in every tick.
+     */
+    STREAMING,
+    /**
+     * Like {@link #STREAMING}, but the entities, players, positions, ids and arrays of the previous tick
+     * are recycled as well, so a tick with unchanged entity counts allocates almost nothing but the
+     * effects, aspects and jobs. Lifetime rules for the bot:
+     * <ul>
+     *     <li>The state and every object reachable from it is only valid until
+     *         {@link Bot#onTick(Types.GameState) onTick} (or the future of {@link AsyncBot#onTickAsync(Types.GameState) onTickAsync})
+     *         returned. The next tick overwrites it.</li>
+     *     <li>Don't keep references to entities, positions or arrays of the state between ticks;
+     *         copy the values the bot needs, or remember the {@link Types.EntityId} and look the entity up again.</li>
+     *     <li>The same object may hold a different entity in the next tick.</li>
+     * </ul>
+     */
+    POOLED,
+    /**
+     * Like {@link #POOLED}, but the effects and aspects of the entities are only skipped and bound on the first call
+     * of {@link Types.Entity#getEffects()} or {@link Types.Entity#getAspects()}. This saves most of the decoding time
+     * for bots that read the aspects of few entities. The same lifetime rules apply, and an entity must not be read
+     * from several threads. Invalid effects or aspects only fail when they are read, with an {@link IllegalStateException}.
+     * Reading the aspects of every entity, e.g. with {@link WorldDelta}, binds all of them.
+     */
+    LAZY
+}
@@ -0,0 +1,75 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.Command;
+import eu.skylords.botapi.Types.CommandHolder;
+import eu.skylords.botapi.Types.TickResponse;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the response of a tick into reused objects.
+ * <p>
+ * The {@link TickResponse}, its {@link CommandHolder} array and the holders themselves are reused on the next tick,
+ * so a response must be written before the next tick is built. The game waits for the answer of a tick before
+ * it sends the next one, so this holds for a single match. Not thread safe; use one builder per match.
+ */
+public class TickResponseBuilder {
+
+    /** Command arrays up to this size are cached, bigger ones are allocated per tick */
+    private static final int MAX_CACHED_SIZE = 32;
+
+    private final TickResponse response = new TickResponse();
+    /** Arrays of exactly the size of the response, so they can be serialized as they are */
+    private final CommandHolder[][] arrays = new CommandHolder[MAX_CACHED_SIZE + 1][];
+    /** Holders shared by all cached arrays */
+    private CommandHolder[] holders = new CommandHolder[0];
+
+    /**
+     * Fills the reused response with the provided commands.
+     * The debug state strings are reset and can be set afterward.
+     * @param commands The commands of the bot.
+     * @return The reused response.
+     */
+    public TickResponse build(List<Command> commands) {
+        int size = commands.size();
+        CommandHolder[] array;
+        if (size <= MAX_CACHED_SIZE) {
+            array = arrays[size];
+            if (array == null) {
+                array = new CommandHolder[size];
+                arrays[size] = array;
+            }
+            ensureHolders(size);
+            for (int i = 0; i < size; i++) {
+                CommandHolder holder = holders[i];
+                holder.set(commands.get(i));
+                array[i] = holder;
+            }
+        } else {
+            array = new CommandHolder[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = new CommandHolder(commands.get(i));
+            }
+        }
+        response.setCommands(array);
+        response.setStateString1(null);
+        response.setStateString2(null);
+        return response;
+    }
+
+    /** @return The commands of the response as list, for the plain command list answer of the {@code /tick} endpoint. */
+    public static List<CommandHolder> asList(TickResponse response) {
+        return Arrays.asList(response.getCommands());
+    }
+
+    private void ensureHolders(int size) {
+        if (holders.length < size) {
+            int oldSize = holders.length;
+            holders = Arrays.copyOf(holders, size);
+            for (int i = oldSize; i < size; i++) {
+                holders[i] = new CommandHolder();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+/**
+ * The parts of the {@link GameState} a bot reads, declared by {@link Bot#getTickSelection()}.
+ * <p>
+ * The streaming decoders ({@link TickDecoding#STREAMING}, {@link TickDecoding#POOLED} and {@link TickDecoding#LAZY})
+ * skip everything else at the token level, without building objects for it:
+ * <ul>
+ *     <li>the arrays of unselected {@link EntityKind kinds} are empty,</li>
+ *     <li>the entities have no effects if effects aren't selected,</li>
+ *     <li>aspects of unselected {@link AspectType types} are left out of {@link Entity#getAspects()},</li>
+ *     <li>the {@link Entity#getJob() job} is {@code null} if its {@link JobType type} isn't selected.</li>
+ * </ul>
+ * Players are always decoded completely. {@link TickDecoding#DATA_BINDING} binds the whole state and ignores the selection.
+ * <p>
+ * Immutable; every {@code with...} method returns a new selection.
+ */
+public final class TickSelection {
+
+    private static final long ALL_TYPES = -1L;
+
+    /** Selects the whole state */
+    public static final TickSelection ALL = new TickSelection(-1, true, ALL_TYPES, ALL_TYPES);
+
+    private final int kindMask;
+    private final boolean effects;
+    private final long aspectMask;
+    private final long jobMask;
+
+    private TickSelection(int kindMask, boolean effects, long aspectMask, long jobMask) {
+        this.kindMask = kindMask;
+        this.effects = effects;
+        this.aspectMask = aspectMask;
+        this.jobMask = jobMask;
+    }
+
+    /** @return A selection of the entities of the given kinds, with all their effects, aspects and jobs. */
+    public static TickSelection of(EntityKind... kinds) {
+        int mask = 0;
+        for (EntityKind kind : kinds) {
+            mask |= 1 << kind.ordinal();
+        }
+        return new TickSelection(mask, true, ALL_TYPES, ALL_TYPES);
+    }
+
+    /** @return A selection that only keeps the aspects of the given types; without types no aspects are decoded. */
+    public TickSelection withAspects(AspectType... types) {
+        long mask = 0;
+        for (AspectType type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        return new TickSelection(kindMask, effects, mask, jobMask);
+    }
+
+    /** @return A selection that only keeps the jobs of the given types; without types no jobs are decoded. */
+    public TickSelection withJobs(JobType... types) {
+        long mask = 0;
+        for (JobType type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        return new TickSelection(kindMask, effects, aspectMask, mask);
+    }
+
+    /** @return A selection without the effects of the entities. */
+    public TickSelection withoutEffects() {
+        return new TickSelection(kindMask, false, aspectMask, jobMask);
+    }
+
+    public boolean includes(EntityKind kind) {
+        return (kindMask & 1 << kind.ordinal()) != 0;
+    }
+    public boolean includesEffects() {
+        return effects;
+    }
+    public boolean includes(AspectType type) {
+        return (aspectMask & 1L << type.ordinal()) != 0;
+    }
+    public boolean includes(JobType type) {
+        return (jobMask & 1L << type.ordinal()) != 0;
+    }
+    /** @return false if no aspect type is selected, so the aspects can be skipped as a whole. */
+    public boolean includesAspects() {
+        return aspectMask != 0;
+    }
+    /** @return true if every aspect type is selected. */
+    public boolean includesAllAspects() {
+        return aspectMask == ALL_TYPES;
+    }
+    /** @return true if every job type is selected. */
+    public boolean includesAllJobs() {
+        return jobMask == ALL_TYPES;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("TickSelection[kinds=");
+        for (EntityKind kind : EntityKind.values()) {
+            if (includes(kind)) {
+                out.append(kind).append(' ');
+            }
+        }
+        return out.append("effects=").append(effects)
+                .append(" aspects=").append(includesAllAspects() ? "all" : Long.toBinaryString(aspectMask))
+                .append(" jobs=").append(includesAllJobs() ? "all" : Long.toBinaryString(jobMask))
+                .append(']').toString();
+    }
+}
@@ -0,0 +1,24 @@
+package eu.skylords.botapi;
+
+/** Defines how the {@link BotServer} receives the requests of the game. */
+public enum TransportType {
+    /**
+     * Jersey on a Grizzly server.
+     * Requires the optional dependencies {@code jersey-container-grizzly2-http}, {@code jersey-hk2},
+     * {@code jersey-media-json-jackson} and {@code jakarta.activation-api} of the {@code pom.xml}, which a bot has to
+     * declare itself.
+     */
+    JERSEY,
+    /**
+     * The HTTP server built into the JDK ({@code com.sun.net.httpserver}) (default).
+     * Has no dependencies besides Jackson and starts much faster than Jersey.
+     * Run the bot with {@code -Dsun.net.httpserver.nodelay=true} for low tick latencies.
+     */
+    HTTP_SERVER,
+    /**
+     * HTTP over a Unix domain socket, for a game that runs on the same host.
+     * Avoids the TCP loopback overhead on every tick. Has no dependencies besides Jackson. The path of the socket is configured with
+     * {@link ServerConfig#setUnixSocketPath(java.nio.file.Path)}; the port of the server isn't used.
+     */
+    UNIX_SOCKET
+}
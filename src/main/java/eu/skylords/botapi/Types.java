@@ -1,6 +1,8 @@
 package eu.skylords.botapi;
 
 import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,6 +20,8 @@ public class Types {
     public interface MultiType<E extends Enum<E>> {
         E getType();
     }
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum Upgrade {
         U0(0),
         U1(1000000),
@@ -27,13 +31,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<Upgrade> CODEC = IntEnumCodec.of(Upgrade.class);
         Upgrade(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static Upgrade decode(int value) {
+            return CODEC.decode(value);
+        }
         public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -76,22 +83,30 @@ public class Types {
         private float y;
         @JsonProperty(required = true)
         private float z;
+        /**  Cached {@link #hashCode()}, reset by the setters. */
+        @JsonIgnore
+        private transient int hash;
         public float getX() { return x; }
-        public void setX(float v) { this.x = v; }
+        public void setX(float v) { this.x = v; this.hash = 0; }
         public float getY() { return y; }
-        public void setY(float v) { this.y = v; }
+        public void setY(float v) { this.y = v; this.hash = 0; }
         public float getZ() { return z; }
-        public void setZ(float v) { this.z = v; }
+        public void setZ(float v) { this.z = v; this.hash = 0; }
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Position that = (Position) o;
-            return getX() == that.getX() && getY() == that.getY() && getZ() == that.getZ();
+            return Float.compare(getX(), that.getX()) == 0 && Float.compare(getY(), that.getY()) == 0 && Float.compare(getZ(), that.getZ()) == 0;
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getX(), getY(), getZ());
+            int h = hash;
+            if (h == 0) {
+                h = 31 * (31 * Float.hashCode(x) + Float.hashCode(y)) + Float.hashCode(z);
+                hash = h;
+            }
+            return h;
         }
         @Override
         public String toString() {
@@ -112,20 +127,28 @@ public class Types {
         private float x;
         @JsonProperty(required = true)
         private float y;
+        /**  Cached {@link #hashCode()}, reset by the setters. */
+        @JsonIgnore
+        private transient int hash;
         public float getX() { return x; }
-        public void setX(float v) { this.x = v; }
+        public void setX(float v) { this.x = v; this.hash = 0; }
         public float getY() { return y; }
-        public void setY(float v) { this.y = v; }
+        public void setY(float v) { this.y = v; this.hash = 0; }
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Position2D that = (Position2D) o;
-            return getX() == that.getX() && getY() == that.getY();
+            return Float.compare(getX(), that.getX()) == 0 && Float.compare(getY(), that.getY()) == 0;
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getX(), getY());
+            int h = hash;
+            if (h == 0) {
+                h = 31 * Float.hashCode(x) + Float.hashCode(y);
+                hash = h;
+            }
+            return h;
         }
         @Override
         public String toString() {
@@ -159,7 +182,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Position2DWithOrientation that = (Position2DWithOrientation) o;
-            return getX() == that.getX() && getY() == that.getY() && getOrientation() == that.getOrientation();
+            return Float.compare(getX(), that.getX()) == 0 && Float.compare(getY(), that.getY()) == 0 && Float.compare(getOrientation(), that.getOrientation()) == 0;
         }
         @Override
         public int hashCode() {
@@ -178,6 +201,8 @@ public class Types {
     }
 
     /**  Color of an orb. */
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum OrbColor {
         White(0),
         Shadow(1),
@@ -189,17 +214,22 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<OrbColor> CODEC = IntEnumCodec.of(OrbColor.class);
         OrbColor(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static OrbColor decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<OrbColor> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
     /**  Subset of `OrbColor`, because creating the other colors does not make sense. */
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum CreateOrbColor {
         Shadow(1),
         Nature(2),
@@ -208,13 +238,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<CreateOrbColor> CODEC = IntEnumCodec.of(CreateOrbColor.class);
         CreateOrbColor(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static CreateOrbColor decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<CreateOrbColor> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -223,7 +256,7 @@ public class Types {
         Location;
     }
     /** Marker fo all SingleTarget implementations */
-    public interface SingleTarget extends MultiType<SingleTargetType> {}
+    public sealed interface SingleTarget extends MultiType<SingleTargetType> {}
     /**  Target entity */
     public static final class SingleTargetSingleEntity implements  SingleTarget {
         @JsonProperty(required = true)
@@ -257,42 +290,38 @@ public class Types {
         }
     }
     /**  When targeting you can target either entity, or ground coordinates. */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class SingleTargetHolder {
-        /**  Target entity */
-        @JsonProperty(value = "SingleEntity")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private SingleTargetSingleEntity singleEntity;
-        /**  Target location on the ground */
-        @JsonProperty(value = "Location")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private SingleTargetLocation location;
+        private SingleTarget value;
         @JsonIgnore
         public SingleTarget get() {
-            if (singleEntity != null) {
-                return singleEntity;
-            }
-            else if (location != null) {
-                return location;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("SingleTargetHolder doesn't contain any SingleTarget. Check implementation and API!");
             }
+            return value;
         }
         public SingleTargetHolder() { }
         public SingleTargetHolder(SingleTarget v) {
-            Objects.requireNonNull(v, "SingleTarget must not be null");
-            switch (v.getType()) {
-                case SingleTargetType.SingleEntity:
-                    this.singleEntity = (SingleTargetSingleEntity) v;
-                    break;
-                case SingleTargetType.Location:
-                    this.location = (SingleTargetLocation) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown SingleTarget " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "SingleTarget must not be null");
+        }
+        /**  The contained singleTarget, {@code null} if the holder is empty */
+        SingleTarget value() { return value; }
+        /**  Target entity */
+        public SingleTargetSingleEntity getSingleEntity() { return value instanceof SingleTargetSingleEntity v ? v : null; }
+        /**  Target location on the ground */
+        public SingleTargetLocation getLocation() { return value instanceof SingleTargetLocation v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SingleTargetHolder that = (SingleTargetHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public SingleTargetSingleEntity getSingleEntity() { return singleEntity; }
-        public SingleTargetLocation getLocation() { return location; }
     }
 
     public enum TargetType {
@@ -300,7 +329,7 @@ public class Types {
         Multi;
     }
     /** Marker fo all Target implementations */
-    public interface Target extends MultiType<TargetType> {}
+    public sealed interface Target extends MultiType<TargetType> {}
     public static final class TargetSingle implements  Target {
         @JsonProperty(required = true)
         private SingleTargetHolder single;
@@ -332,42 +361,40 @@ public class Types {
             this.xy_end = xy_end;
         }
     }
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class TargetHolder {
-        @JsonProperty(value = "Single")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private TargetSingle single;
-        @JsonProperty(value = "Multi")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private TargetMulti multi;
+        private Target value;
         @JsonIgnore
         public Target get() {
-            if (single != null) {
-                return single;
-            }
-            else if (multi != null) {
-                return multi;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("TargetHolder doesn't contain any Target. Check implementation and API!");
             }
+            return value;
         }
         public TargetHolder() { }
         public TargetHolder(Target v) {
-            Objects.requireNonNull(v, "Target must not be null");
-            switch (v.getType()) {
-                case TargetType.Single:
-                    this.single = (TargetSingle) v;
-                    break;
-                case TargetType.Multi:
-                    this.multi = (TargetMulti) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown Target " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "Target must not be null");
+        }
+        /**  The contained target, {@code null} if the holder is empty */
+        Target value() { return value; }
+        public TargetSingle getSingle() { return value instanceof TargetSingle v ? v : null; }
+        public TargetMulti getMulti() { return value instanceof TargetMulti v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TargetHolder that = (TargetHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public TargetSingle getSingle() { return single; }
-        public TargetMulti getMulti() { return multi; }
     }
 
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum WalkMode {
         PartialForce(1),
         Force(2),
@@ -379,13 +406,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<WalkMode> CODEC = IntEnumCodec.of(WalkMode.class);
         WalkMode(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static WalkMode decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<WalkMode> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -405,7 +435,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             CommunityMapInfo that = (CommunityMapInfo) o;
-            return getName() == that.getName() && getCrc() == that.getCrc();
+            return Objects.equals(getName(), that.getName()) && getCrc() == that.getCrc();
         }
         @Override
         public int hashCode() {
@@ -430,20 +460,28 @@ public class Types {
         /**  Is relevant only for community maps. */
         @JsonProperty(required = false)
         private CommunityMapInfo community_map_details;
+        /**  Cached {@link #hashCode()}, reset by the setters. */
+        @JsonIgnore
+        private transient int hash;
         public Maps getMap() { return map; }
-        public void setMap(Maps v) { this.map = v; }
+        public void setMap(Maps v) { this.map = v; this.hash = 0; }
         public CommunityMapInfo getCommunityMapDetails() { return community_map_details; }
-        public void setCommunityMapDetails(CommunityMapInfo v) { this.community_map_details = v; }
+        public void setCommunityMapDetails(CommunityMapInfo v) { this.community_map_details = v; this.hash = 0; }
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             MapInfo that = (MapInfo) o;
-            return getMap() == that.getMap() && getCommunityMapDetails() == that.getCommunityMapDetails();
+            return Objects.equals(getMap(), that.getMap()) && Objects.equals(getCommunityMapDetails(), that.getCommunityMapDetails());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getMap(), getCommunityMapDetails());
+            int h = hash;
+            if (h == 0) {
+                h = Objects.hash(getMap(), getCommunityMapDetails());
+                hash = h;
+            }
+            return h;
         }
         @Override
         public String toString() {
@@ -472,22 +510,30 @@ public class Types {
          */
         @JsonProperty(required = true)
         private CardId[/*size=20*/] cards;
+        /**  Cached {@link #hashCode()}, reset by the setters. */
+        @JsonIgnore
+        private transient int hash;
         public String getName() { return name; }
-        public void setName(String v) { this.name = v; }
+        public void setName(String v) { this.name = v; this.hash = 0; }
         public byte getCoverCardIndex() { return cover_card_index; }
-        public void setCoverCardIndex(byte v) { this.cover_card_index = v; }
+        public void setCoverCardIndex(byte v) { this.cover_card_index = v; this.hash = 0; }
         public CardId[/*size=20*/] getCards() { return cards; }
-        public void setCards(CardId[/*size=20*/] v) { this.cards = v; }
+        public void setCards(CardId[/*size=20*/] v) { this.cards = v; this.hash = 0; }
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Deck that = (Deck) o;
-            return getName() == that.getName() && getCoverCardIndex() == that.getCoverCardIndex() && getCards() == that.getCards();
+            return Objects.equals(getName(), that.getName()) && getCoverCardIndex() == that.getCoverCardIndex() && Arrays.equals(getCards(), that.getCards());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getName(), getCoverCardIndex(), getCards());
+            int h = hash;
+            if (h == 0) {
+                h = Objects.hash(getName(), getCoverCardIndex(), Arrays.hashCode(getCards()));
+                hash = h;
+            }
+            return h;
         }
         @Override
         public String toString() {
@@ -501,6 +547,8 @@ public class Types {
         }
     }
 
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum AbilityLine {
         _EAsBug_betterSafeThanSorry(0),
         ModifyWalkSpeed(1),
@@ -714,13 +762,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<AbilityLine> CODEC = IntEnumCodec.of(AbilityLine.class);
         AbilityLine(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static AbilityLine decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<AbilityLine> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -731,7 +782,7 @@ public class Types {
         WideLine;
     }
     /** Marker fo all AreaShape implementations */
-    public interface AreaShape extends MultiType<AreaShapeType> {}
+    public sealed interface AreaShape extends MultiType<AreaShapeType> {}
     public static final class AreaShapeCircle implements  AreaShape {
         @JsonProperty(required = true)
         private Position2D center;
@@ -829,60 +880,38 @@ public class Types {
             this.width = width;
         }
     }
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class AreaShapeHolder {
-        @JsonProperty(value = "Circle")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AreaShapeCircle circle;
-        @JsonProperty(value = "Cone")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AreaShapeCone cone;
-        @JsonProperty(value = "ConeCut")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AreaShapeConeCut coneCut;
-        @JsonProperty(value = "WideLine")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AreaShapeWideLine wideLine;
+        private AreaShape value;
         @JsonIgnore
         public AreaShape get() {
-            if (circle != null) {
-                return circle;
-            }
-            else if (cone != null) {
-                return cone;
-            }
-            else if (coneCut != null) {
-                return coneCut;
-            }
-            else if (wideLine != null) {
-                return wideLine;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("AreaShapeHolder doesn't contain any AreaShape. Check implementation and API!");
             }
+            return value;
         }
         public AreaShapeHolder() { }
         public AreaShapeHolder(AreaShape v) {
-            Objects.requireNonNull(v, "AreaShape must not be null");
-            switch (v.getType()) {
-                case AreaShapeType.Circle:
-                    this.circle = (AreaShapeCircle) v;
-                    break;
-                case AreaShapeType.Cone:
-                    this.cone = (AreaShapeCone) v;
-                    break;
-                case AreaShapeType.ConeCut:
-                    this.coneCut = (AreaShapeConeCut) v;
-                    break;
-                case AreaShapeType.WideLine:
-                    this.wideLine = (AreaShapeWideLine) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown AreaShape " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "AreaShape must not be null");
+        }
+        /**  The contained areaShape, {@code null} if the holder is empty */
+        AreaShape value() { return value; }
+        public AreaShapeCircle getCircle() { return value instanceof AreaShapeCircle v ? v : null; }
+        public AreaShapeCone getCone() { return value instanceof AreaShapeCone v ? v : null; }
+        public AreaShapeConeCut getConeCut() { return value instanceof AreaShapeConeCut v ? v : null; }
+        public AreaShapeWideLine getWideLine() { return value instanceof AreaShapeWideLine v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AreaShapeHolder that = (AreaShapeHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public AreaShapeCircle getCircle() { return circle; }
-        public AreaShapeCone getCone() { return cone; }
-        public AreaShapeConeCut getConeCut() { return coneCut; }
-        public AreaShapeWideLine getWideLine() { return wideLine; }
     }
 
     public enum AbilityEffectSpecificType {
@@ -897,7 +926,7 @@ public class Types {
         Other;
     }
     /** Marker fo all AbilityEffectSpecific implementations */
-    public interface AbilityEffectSpecific extends MultiType<AbilityEffectSpecificType> {}
+    public sealed interface AbilityEffectSpecific extends MultiType<AbilityEffectSpecificType> {}
     public static final class AbilityEffectSpecificDamageArea implements  AbilityEffectSpecific {
         @JsonProperty(required = true)
         private float progress_current;
@@ -1095,111 +1124,44 @@ public class Types {
         /**  If you think something interesting got hidden by Other report it */
         public AbilityEffectSpecificOther() { }
     }
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class AbilityEffectSpecificHolder {
-        @JsonProperty(value = "DamageArea")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificDamageArea damageArea;
-        @JsonProperty(value = "DamageOverTime")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificDamageOverTime damageOverTime;
-        @JsonProperty(value = "LinkedFire")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificLinkedFire linkedFire;
-        @JsonProperty(value = "SpellOnEntityNearby")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificSpellOnEntityNearby spellOnEntityNearby;
-        @JsonProperty(value = "TimedSpell")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificTimedSpell timedSpell;
-        @JsonProperty(value = "Collector")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificCollector collector;
-        @JsonProperty(value = "Aura")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificAura aura;
-        @JsonProperty(value = "MovingIntervalCast")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificMovingIntervalCast movingIntervalCast;
-        /**  If you think something interesting got hidden by Other report it */
-        @JsonProperty(value = "Other")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AbilityEffectSpecificOther other;
+        private AbilityEffectSpecific value;
         @JsonIgnore
         public AbilityEffectSpecific get() {
-            if (damageArea != null) {
-                return damageArea;
-            }
-            else if (damageOverTime != null) {
-                return damageOverTime;
-            }
-            else if (linkedFire != null) {
-                return linkedFire;
-            }
-            else if (spellOnEntityNearby != null) {
-                return spellOnEntityNearby;
-            }
-            else if (timedSpell != null) {
-                return timedSpell;
-            }
-            else if (collector != null) {
-                return collector;
-            }
-            else if (aura != null) {
-                return aura;
-            }
-            else if (movingIntervalCast != null) {
-                return movingIntervalCast;
-            }
-            else if (other != null) {
-                return other;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("AbilityEffectSpecificHolder doesn't contain any AbilityEffectSpecific. Check implementation and API!");
             }
+            return value;
         }
         public AbilityEffectSpecificHolder() { }
         public AbilityEffectSpecificHolder(AbilityEffectSpecific v) {
-            Objects.requireNonNull(v, "AbilityEffectSpecific must not be null");
-            switch (v.getType()) {
-                case AbilityEffectSpecificType.DamageArea:
-                    this.damageArea = (AbilityEffectSpecificDamageArea) v;
-                    break;
-                case AbilityEffectSpecificType.DamageOverTime:
-                    this.damageOverTime = (AbilityEffectSpecificDamageOverTime) v;
-                    break;
-                case AbilityEffectSpecificType.LinkedFire:
-                    this.linkedFire = (AbilityEffectSpecificLinkedFire) v;
-                    break;
-                case AbilityEffectSpecificType.SpellOnEntityNearby:
-                    this.spellOnEntityNearby = (AbilityEffectSpecificSpellOnEntityNearby) v;
-                    break;
-                case AbilityEffectSpecificType.TimedSpell:
-                    this.timedSpell = (AbilityEffectSpecificTimedSpell) v;
-                    break;
-                case AbilityEffectSpecificType.Collector:
-                    this.collector = (AbilityEffectSpecificCollector) v;
-                    break;
-                case AbilityEffectSpecificType.Aura:
-                    this.aura = (AbilityEffectSpecificAura) v;
-                    break;
-                case AbilityEffectSpecificType.MovingIntervalCast:
-                    this.movingIntervalCast = (AbilityEffectSpecificMovingIntervalCast) v;
-                    break;
-                case AbilityEffectSpecificType.Other:
-                    this.other = (AbilityEffectSpecificOther) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown AbilityEffectSpecific " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "AbilityEffectSpecific must not be null");
+        }
+        /**  The contained abilityEffectSpecific, {@code null} if the holder is empty */
+        AbilityEffectSpecific value() { return value; }
+        public AbilityEffectSpecificDamageArea getDamageArea() { return value instanceof AbilityEffectSpecificDamageArea v ? v : null; }
+        public AbilityEffectSpecificDamageOverTime getDamageOverTime() { return value instanceof AbilityEffectSpecificDamageOverTime v ? v : null; }
+        public AbilityEffectSpecificLinkedFire getLinkedFire() { return value instanceof AbilityEffectSpecificLinkedFire v ? v : null; }
+        public AbilityEffectSpecificSpellOnEntityNearby getSpellOnEntityNearby() { return value instanceof AbilityEffectSpecificSpellOnEntityNearby v ? v : null; }
+        public AbilityEffectSpecificTimedSpell getTimedSpell() { return value instanceof AbilityEffectSpecificTimedSpell v ? v : null; }
+        public AbilityEffectSpecificCollector getCollector() { return value instanceof AbilityEffectSpecificCollector v ? v : null; }
+        public AbilityEffectSpecificAura getAura() { return value instanceof AbilityEffectSpecificAura v ? v : null; }
+        public AbilityEffectSpecificMovingIntervalCast getMovingIntervalCast() { return value instanceof AbilityEffectSpecificMovingIntervalCast v ? v : null; }
+        /**  If you think something interesting got hidden by Other report it */
+        public AbilityEffectSpecificOther getOther() { return value instanceof AbilityEffectSpecificOther v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AbilityEffectSpecificHolder that = (AbilityEffectSpecificHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public AbilityEffectSpecificDamageArea getDamageArea() { return damageArea; }
-        public AbilityEffectSpecificDamageOverTime getDamageOverTime() { return damageOverTime; }
-        public AbilityEffectSpecificLinkedFire getLinkedFire() { return linkedFire; }
-        public AbilityEffectSpecificSpellOnEntityNearby getSpellOnEntityNearby() { return spellOnEntityNearby; }
-        public AbilityEffectSpecificTimedSpell getTimedSpell() { return timedSpell; }
-        public AbilityEffectSpecificCollector getCollector() { return collector; }
-        public AbilityEffectSpecificAura getAura() { return aura; }
-        public AbilityEffectSpecificMovingIntervalCast getMovingIntervalCast() { return movingIntervalCast; }
-        public AbilityEffectSpecificOther getOther() { return other; }
     }
 
     public static class AbilityEffect {
@@ -1236,7 +1198,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             AbilityEffect that = (AbilityEffect) o;
-            return getId() == that.getId() && getLine() == that.getLine() && getSource() == that.getSource() && getSourceTeam() == that.getSourceTeam() && getStartTick() == that.getStartTick() && getEndTick() == that.getEndTick() && getSpecific() == that.getSpecific();
+            return Objects.equals(getId(), that.getId()) && getLine() == that.getLine() && Objects.equals(getSource(), that.getSource()) && getSourceTeam() == that.getSourceTeam() && Objects.equals(getStartTick(), that.getStartTick()) && Objects.equals(getEndTick(), that.getEndTick()) && Objects.equals(getSpecific(), that.getSpecific());
         }
         @Override
         public int hashCode() {
@@ -1267,7 +1229,7 @@ public class Types {
         Unknown;
     }
     /** Marker fo all MountState implementations */
-    public interface MountState extends MultiType<MountStateType> {}
+    public sealed interface MountState extends MultiType<MountStateType> {}
     /**  not mounted on any barrier (EA's 0) */
     public static final class MountStateUnmounted implements  MountState {
         @Override
@@ -1387,86 +1349,46 @@ public class Types {
         }
     }
     /**  State of entity being mounted (or not) on barrier */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class MountStateHolder {
-        /**  not mounted on any barrier (EA's 0) */
-        @JsonProperty(value = "Unmounted")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateUnmounted unmounted;
-        /**  squad in process of mounting to barrier (EA's 1, 2, 3) */
-        @JsonProperty(value = "MountingSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateMountingSquad mountingSquad;
-        /**  figure in process of mounting to barrier (EA's 1, 2, 3) */
-        @JsonProperty(value = "MountingFigure")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateMountingFigure mountingFigure;
-        /**  squad mounted to barrier (EA's 4) */
-        @JsonProperty(value = "MountedSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateMountedSquad mountedSquad;
-        /**  figure mounted to barrier (EA's 4) */
-        @JsonProperty(value = "MountedFigure")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateMountedFigure mountedFigure;
-        /**  Unknown (EA's 5, 6) please report a bug (ideally with steps to reproduce) */
-        @JsonProperty(value = "Unknown")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private MountStateUnknown unknown;
+        private MountState value;
         @JsonIgnore
         public MountState get() {
-            if (unmounted != null) {
-                return unmounted;
-            }
-            else if (mountingSquad != null) {
-                return mountingSquad;
-            }
-            else if (mountingFigure != null) {
-                return mountingFigure;
-            }
-            else if (mountedSquad != null) {
-                return mountedSquad;
-            }
-            else if (mountedFigure != null) {
-                return mountedFigure;
-            }
-            else if (unknown != null) {
-                return unknown;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("MountStateHolder doesn't contain any MountState. Check implementation and API!");
             }
+            return value;
         }
         public MountStateHolder() { }
         public MountStateHolder(MountState v) {
-            Objects.requireNonNull(v, "MountState must not be null");
-            switch (v.getType()) {
-                case MountStateType.Unmounted:
-                    this.unmounted = (MountStateUnmounted) v;
-                    break;
-                case MountStateType.MountingSquad:
-                    this.mountingSquad = (MountStateMountingSquad) v;
-                    break;
-                case MountStateType.MountingFigure:
-                    this.mountingFigure = (MountStateMountingFigure) v;
-                    break;
-                case MountStateType.MountedSquad:
-                    this.mountedSquad = (MountStateMountedSquad) v;
-                    break;
-                case MountStateType.MountedFigure:
-                    this.mountedFigure = (MountStateMountedFigure) v;
-                    break;
-                case MountStateType.Unknown:
-                    this.unknown = (MountStateUnknown) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown MountState " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "MountState must not be null");
+        }
+        /**  The contained mountState, {@code null} if the holder is empty */
+        MountState value() { return value; }
+        /**  not mounted on any barrier (EA's 0) */
+        public MountStateUnmounted getUnmounted() { return value instanceof MountStateUnmounted v ? v : null; }
+        /**  squad in process of mounting to barrier (EA's 1, 2, 3) */
+        public MountStateMountingSquad getMountingSquad() { return value instanceof MountStateMountingSquad v ? v : null; }
+        /**  figure in process of mounting to barrier (EA's 1, 2, 3) */
+        public MountStateMountingFigure getMountingFigure() { return value instanceof MountStateMountingFigure v ? v : null; }
+        /**  squad mounted to barrier (EA's 4) */
+        public MountStateMountedSquad getMountedSquad() { return value instanceof MountStateMountedSquad v ? v : null; }
+        /**  figure mounted to barrier (EA's 4) */
+        public MountStateMountedFigure getMountedFigure() { return value instanceof MountStateMountedFigure v ? v : null; }
+        /**  Unknown (EA's 5, 6) please report a bug (ideally with steps to reproduce) */
+        public MountStateUnknown getUnknown() { return value instanceof MountStateUnknown v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MountStateHolder that = (MountStateHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public MountStateUnmounted getUnmounted() { return unmounted; }
-        public MountStateMountingSquad getMountingSquad() { return mountingSquad; }
-        public MountStateMountingFigure getMountingFigure() { return mountingFigure; }
-        public MountStateMountedSquad getMountedSquad() { return mountedSquad; }
-        public MountStateMountedFigure getMountedFigure() { return mountedFigure; }
-        public MountStateUnknown getUnknown() { return unknown; }
     }
 
     public enum AspectType {
@@ -1501,7 +1423,7 @@ public class Types {
         Roam;
     }
     /** Marker fo all Aspect implementations */
-    public interface Aspect extends MultiType<AspectType> {}
+    public sealed interface Aspect extends MultiType<AspectType> {}
     /**  Used by *mostly* power wells */
     public static final class AspectPowerProduction implements  Aspect {
         @JsonProperty(required = true)
@@ -1760,313 +1682,66 @@ public class Types {
     /**  Most of the aspects do not contain data, if you think any of them would contain something,
      *  and you would want to use it, let me know, and I will add it
      */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class AspectHolder {
-        /**  Used by *mostly* power wells */
-        @JsonProperty(value = "PowerProduction")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectPowerProduction powerProduction;
-        /**  Health of an entity. */
-        @JsonProperty(value = "Health")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectHealth health;
-        @JsonProperty(value = "Combat")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectCombat combat;
-        @JsonProperty(value = "ModeChange")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectModeChange modeChange;
-        @JsonProperty(value = "Ammunition")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectAmmunition ammunition;
-        @JsonProperty(value = "SuperWeaponShadow")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectSuperWeaponShadow superWeaponShadow;
-        @JsonProperty(value = "WormMovement")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectWormMovement wormMovement;
-        @JsonProperty(value = "NPCTag")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectNPCTag npcTag;
-        @JsonProperty(value = "PlayerKit")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectPlayerKit playerKit;
-        @JsonProperty(value = "Loot")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectLoot loot;
-        @JsonProperty(value = "Immunity")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectImmunity immunity;
-        @JsonProperty(value = "Turret")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectTurret turret;
-        @JsonProperty(value = "Tunnel")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectTunnel tunnel;
-        @JsonProperty(value = "MountBarrier")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectMountBarrier mountBarrier;
-        @JsonProperty(value = "SpellMemory")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectSpellMemory spellMemory;
-        @JsonProperty(value = "Portal")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectPortal portal;
-        @JsonProperty(value = "Hate")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectHate hate;
-        @JsonProperty(value = "BarrierGate")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectBarrierGate barrierGate;
-        @JsonProperty(value = "Attackable")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectAttackable attackable;
-        @JsonProperty(value = "SquadRefill")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectSquadRefill squadRefill;
-        @JsonProperty(value = "PortalExit")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectPortalExit portalExit;
-        /**  When building / barrier is under construction it has this aspect. */
-        @JsonProperty(value = "ConstructionData")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectConstructionData constructionData;
-        @JsonProperty(value = "SuperWeaponShadowBomb")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectSuperWeaponShadowBomb superWeaponShadowBomb;
-        @JsonProperty(value = "RepairBarrierSet")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectRepairBarrierSet repairBarrierSet;
-        @JsonProperty(value = "ConstructionRepair")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectConstructionRepair constructionRepair;
-        @JsonProperty(value = "Follower")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectFollower follower;
-        @JsonProperty(value = "CollisionBase")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectCollisionBase collisionBase;
-        @JsonProperty(value = "EditorUniqueID")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectEditorUniqueID editorUniqueId;
-        @JsonProperty(value = "Roam")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private AspectRoam roam;
+        private Aspect value;
         @JsonIgnore
         public Aspect get() {
-            if (powerProduction != null) {
-                return powerProduction;
-            }
-            else if (health != null) {
-                return health;
-            }
-            else if (combat != null) {
-                return combat;
-            }
-            else if (modeChange != null) {
-                return modeChange;
-            }
-            else if (ammunition != null) {
-                return ammunition;
-            }
-            else if (superWeaponShadow != null) {
-                return superWeaponShadow;
-            }
-            else if (wormMovement != null) {
-                return wormMovement;
-            }
-            else if (npcTag != null) {
-                return npcTag;
-            }
-            else if (playerKit != null) {
-                return playerKit;
-            }
-            else if (loot != null) {
-                return loot;
-            }
-            else if (immunity != null) {
-                return immunity;
-            }
-            else if (turret != null) {
-                return turret;
-            }
-            else if (tunnel != null) {
-                return tunnel;
-            }
-            else if (mountBarrier != null) {
-                return mountBarrier;
-            }
-            else if (spellMemory != null) {
-                return spellMemory;
-            }
-            else if (portal != null) {
-                return portal;
-            }
-            else if (hate != null) {
-                return hate;
-            }
-            else if (barrierGate != null) {
-                return barrierGate;
-            }
-            else if (attackable != null) {
-                return attackable;
-            }
-            else if (squadRefill != null) {
-                return squadRefill;
-            }
-            else if (portalExit != null) {
-                return portalExit;
-            }
-            else if (constructionData != null) {
-                return constructionData;
-            }
-            else if (superWeaponShadowBomb != null) {
-                return superWeaponShadowBomb;
-            }
-            else if (repairBarrierSet != null) {
-                return repairBarrierSet;
-            }
-            else if (constructionRepair != null) {
-                return constructionRepair;
-            }
-            else if (follower != null) {
-                return follower;
-            }
-            else if (collisionBase != null) {
-                return collisionBase;
-            }
-            else if (editorUniqueId != null) {
-                return editorUniqueId;
-            }
-            else if (roam != null) {
-                return roam;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("AspectHolder doesn't contain any Aspect. Check implementation and API!");
             }
+            return value;
         }
         public AspectHolder() { }
         public AspectHolder(Aspect v) {
-            Objects.requireNonNull(v, "Aspect must not be null");
-            switch (v.getType()) {
-                case AspectType.PowerProduction:
-                    this.powerProduction = (AspectPowerProduction) v;
-                    break;
-                case AspectType.Health:
-                    this.health = (AspectHealth) v;
-                    break;
-                case AspectType.Combat:
-                    this.combat = (AspectCombat) v;
-                    break;
-                case AspectType.ModeChange:
-                    this.modeChange = (AspectModeChange) v;
-                    break;
-                case AspectType.Ammunition:
-                    this.ammunition = (AspectAmmunition) v;
-                    break;
-                case AspectType.SuperWeaponShadow:
-                    this.superWeaponShadow = (AspectSuperWeaponShadow) v;
-                    break;
-                case AspectType.WormMovement:
-                    this.wormMovement = (AspectWormMovement) v;
-                    break;
-                case AspectType.NPCTag:
-                    this.npcTag = (AspectNPCTag) v;
-                    break;
-                case AspectType.PlayerKit:
-                    this.playerKit = (AspectPlayerKit) v;
-                    break;
-                case AspectType.Loot:
-                    this.loot = (AspectLoot) v;
-                    break;
-                case AspectType.Immunity:
-                    this.immunity = (AspectImmunity) v;
-                    break;
-                case AspectType.Turret:
-                    this.turret = (AspectTurret) v;
-                    break;
-                case AspectType.Tunnel:
-                    this.tunnel = (AspectTunnel) v;
-                    break;
-                case AspectType.MountBarrier:
-                    this.mountBarrier = (AspectMountBarrier) v;
-                    break;
-                case AspectType.SpellMemory:
-                    this.spellMemory = (AspectSpellMemory) v;
-                    break;
-                case AspectType.Portal:
-                    this.portal = (AspectPortal) v;
-                    break;
-                case AspectType.Hate:
-                    this.hate = (AspectHate) v;
-                    break;
-                case AspectType.BarrierGate:
-                    this.barrierGate = (AspectBarrierGate) v;
-                    break;
-                case AspectType.Attackable:
-                    this.attackable = (AspectAttackable) v;
-                    break;
-                case AspectType.SquadRefill:
-                    this.squadRefill = (AspectSquadRefill) v;
-                    break;
-                case AspectType.PortalExit:
-                    this.portalExit = (AspectPortalExit) v;
-                    break;
-                case AspectType.ConstructionData:
-                    this.constructionData = (AspectConstructionData) v;
-                    break;
-                case AspectType.SuperWeaponShadowBomb:
-                    this.superWeaponShadowBomb = (AspectSuperWeaponShadowBomb) v;
-                    break;
-                case AspectType.RepairBarrierSet:
-                    this.repairBarrierSet = (AspectRepairBarrierSet) v;
-                    break;
-                case AspectType.ConstructionRepair:
-                    this.constructionRepair = (AspectConstructionRepair) v;
-                    break;
-                case AspectType.Follower:
-                    this.follower = (AspectFollower) v;
-                    break;
-                case AspectType.CollisionBase:
-                    this.collisionBase = (AspectCollisionBase) v;
-                    break;
-                case AspectType.EditorUniqueID:
-                    this.editorUniqueId = (AspectEditorUniqueID) v;
-                    break;
-                case AspectType.Roam:
-                    this.roam = (AspectRoam) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown Aspect " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "Aspect must not be null");
+        }
+        /**  The contained aspect, {@code null} if the holder is empty */
+        Aspect value() { return value; }
+        /**  Used by *mostly* power wells */
+        public AspectPowerProduction getPowerProduction() { return value instanceof AspectPowerProduction v ? v : null; }
+        /**  Health of an entity. */
+        public AspectHealth getHealth() { return value instanceof AspectHealth v ? v : null; }
+        public AspectCombat getCombat() { return value instanceof AspectCombat v ? v : null; }
+        public AspectModeChange getModeChange() { return value instanceof AspectModeChange v ? v : null; }
+        public AspectAmmunition getAmmunition() { return value instanceof AspectAmmunition v ? v : null; }
+        public AspectSuperWeaponShadow getSuperWeaponShadow() { return value instanceof AspectSuperWeaponShadow v ? v : null; }
+        public AspectWormMovement getWormMovement() { return value instanceof AspectWormMovement v ? v : null; }
+        public AspectNPCTag getNpcTag() { return value instanceof AspectNPCTag v ? v : null; }
+        public AspectPlayerKit getPlayerKit() { return value instanceof AspectPlayerKit v ? v : null; }
+        public AspectLoot getLoot() { return value instanceof AspectLoot v ? v : null; }
+        public AspectImmunity getImmunity() { return value instanceof AspectImmunity v ? v : null; }
+        public AspectTurret getTurret() { return value instanceof AspectTurret v ? v : null; }
+        public AspectTunnel getTunnel() { return value instanceof AspectTunnel v ? v : null; }
+        public AspectMountBarrier getMountBarrier() { return value instanceof AspectMountBarrier v ? v : null; }
+        public AspectSpellMemory getSpellMemory() { return value instanceof AspectSpellMemory v ? v : null; }
+        public AspectPortal getPortal() { return value instanceof AspectPortal v ? v : null; }
+        public AspectHate getHate() { return value instanceof AspectHate v ? v : null; }
+        public AspectBarrierGate getBarrierGate() { return value instanceof AspectBarrierGate v ? v : null; }
+        public AspectAttackable getAttackable() { return value instanceof AspectAttackable v ? v : null; }
+        public AspectSquadRefill getSquadRefill() { return value instanceof AspectSquadRefill v ? v : null; }
+        public AspectPortalExit getPortalExit() { return value instanceof AspectPortalExit v ? v : null; }
+        /**  When building / barrier is under construction it has this aspect. */
+        public AspectConstructionData getConstructionData() { return value instanceof AspectConstructionData v ? v : null; }
+        public AspectSuperWeaponShadowBomb getSuperWeaponShadowBomb() { return value instanceof AspectSuperWeaponShadowBomb v ? v : null; }
+        public AspectRepairBarrierSet getRepairBarrierSet() { return value instanceof AspectRepairBarrierSet v ? v : null; }
+        public AspectConstructionRepair getConstructionRepair() { return value instanceof AspectConstructionRepair v ? v : null; }
+        public AspectFollower getFollower() { return value instanceof AspectFollower v ? v : null; }
+        public AspectCollisionBase getCollisionBase() { return value instanceof AspectCollisionBase v ? v : null; }
+        public AspectEditorUniqueID getEditorUniqueId() { return value instanceof AspectEditorUniqueID v ? v : null; }
+        public AspectRoam getRoam() { return value instanceof AspectRoam v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AspectHolder that = (AspectHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public AspectPowerProduction getPowerProduction() { return powerProduction; }
-        public AspectHealth getHealth() { return health; }
-        public AspectCombat getCombat() { return combat; }
-        public AspectModeChange getModeChange() { return modeChange; }
-        public AspectAmmunition getAmmunition() { return ammunition; }
-        public AspectSuperWeaponShadow getSuperWeaponShadow() { return superWeaponShadow; }
-        public AspectWormMovement getWormMovement() { return wormMovement; }
-        public AspectNPCTag getNpcTag() { return npcTag; }
-        public AspectPlayerKit getPlayerKit() { return playerKit; }
-        public AspectLoot getLoot() { return loot; }
-        public AspectImmunity getImmunity() { return immunity; }
-        public AspectTurret getTurret() { return turret; }
-        public AspectTunnel getTunnel() { return tunnel; }
-        public AspectMountBarrier getMountBarrier() { return mountBarrier; }
-        public AspectSpellMemory getSpellMemory() { return spellMemory; }
-        public AspectPortal getPortal() { return portal; }
-        public AspectHate getHate() { return hate; }
-        public AspectBarrierGate getBarrierGate() { return barrierGate; }
-        public AspectAttackable getAttackable() { return attackable; }
-        public AspectSquadRefill getSquadRefill() { return squadRefill; }
-        public AspectPortalExit getPortalExit() { return portalExit; }
-        public AspectConstructionData getConstructionData() { return constructionData; }
-        public AspectSuperWeaponShadowBomb getSuperWeaponShadowBomb() { return superWeaponShadowBomb; }
-        public AspectRepairBarrierSet getRepairBarrierSet() { return repairBarrierSet; }
-        public AspectConstructionRepair getConstructionRepair() { return constructionRepair; }
-        public AspectFollower getFollower() { return follower; }
-        public AspectCollisionBase getCollisionBase() { return collisionBase; }
-        public AspectEditorUniqueID getEditorUniqueId() { return editorUniqueId; }
-        public AspectRoam getRoam() { return roam; }
     }
 
     /**  Simplified version of how many monuments of each color player have */
@@ -2088,20 +1763,23 @@ public class Types {
         /**  Can be used as any color. Only provided by map scripts. */
         @JsonProperty(required = true)
         private byte all;
+        /**  Cached {@link #hashCode()}, reset by the setters. */
+        @JsonIgnore
+        private transient int hash;
         public byte getShadow() { return shadow; }
-        public void setShadow(byte v) { this.shadow = v; }
+        public void setShadow(byte v) { this.shadow = v; this.hash = 0; }
         public byte getNature() { return nature; }
-        public void setNature(byte v) { this.nature = v; }
+        public void setNature(byte v) { this.nature = v; this.hash = 0; }
         public byte getFrost() { return frost; }
-        public void setFrost(byte v) { this.frost = v; }
+        public void setFrost(byte v) { this.frost = v; this.hash = 0; }
         public byte getFire() { return fire; }
-        public void setFire(byte v) { this.fire = v; }
+        public void setFire(byte v) { this.fire = v; this.hash = 0; }
         public byte getStarting() { return starting; }
-        public void setStarting(byte v) { this.starting = v; }
+        public void setStarting(byte v) { this.starting = v; this.hash = 0; }
         public byte getWhite() { return white; }
-        public void setWhite(byte v) { this.white = v; }
+        public void setWhite(byte v) { this.white = v; this.hash = 0; }
         public byte getAll() { return all; }
-        public void setAll(byte v) { this.all = v; }
+        public void setAll(byte v) { this.all = v; this.hash = 0; }
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -2111,7 +1789,12 @@ public class Types {
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getShadow(), getNature(), getFrost(), getFire(), getStarting(), getWhite(), getAll());
+            int h = hash;
+            if (h == 0) {
+                h = 31 * (31 * (31 * (31 * (31 * (31 * shadow + nature) + frost) + fire) + starting) + white) + all;
+                hash = h;
+            }
+            return h;
         }
         @Override
         public String toString() {
@@ -2179,11 +1862,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             PlayerEntity that = (PlayerEntity) o;
-            return getId() == that.getId() && getEffects() == that.getEffects() && getAspects() == that.getAspects() && getTeam() == that.getTeam() && getPower() == that.getPower() && getVoidPower() == that.getVoidPower() && getPopulationCount() == that.getPopulationCount() && getName() == that.getName() && getOrbs() == that.getOrbs();
+            return Objects.equals(getId(), that.getId()) && Arrays.equals(getEffects(), that.getEffects()) && Arrays.equals(getAspects(), that.getAspects()) && getTeam() == that.getTeam() && Float.compare(getPower(), that.getPower()) == 0 && Float.compare(getVoidPower(), that.getVoidPower()) == 0 && getPopulationCount() == that.getPopulationCount() && Objects.equals(getName(), that.getName()) && Objects.equals(getOrbs(), that.getOrbs());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getId(), getEffects(), getAspects(), getTeam(), getPower(), getVoidPower(), getPopulationCount(), getName(), getOrbs());
+            return Objects.hash(getId(), Arrays.hashCode(getEffects()), Arrays.hashCode(getAspects()), getTeam(), getPower(), getVoidPower(), getPopulationCount(), getName(), getOrbs());
         }
         @Override
         public String toString() {
@@ -2232,7 +1915,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             MatchPlayer that = (MatchPlayer) o;
-            return getName() == that.getName() && getDeck() == that.getDeck() && getEntity() == that.getEntity();
+            return Objects.equals(getName(), that.getName()) && Objects.equals(getDeck(), that.getDeck()) && Objects.equals(getEntity(), that.getEntity());
         }
         @Override
         public int hashCode() {
@@ -2284,7 +1967,7 @@ public class Types {
         Unknown;
     }
     /** Marker fo all Job implementations */
-    public interface Job extends MultiType<JobType> {}
+    public sealed interface Job extends MultiType<JobType> {}
     public static final class JobNoJob implements  Job {
         @Override
         @JsonIgnore
@@ -2971,333 +2654,70 @@ public class Types {
      *  If the game crashes send the log to `Kubik` it probably mean some field in
      *  one of the `Job`s needs to be `Option`.
      */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class JobHolder {
-        @JsonProperty(value = "NoJob")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobNoJob noJob;
-        @JsonProperty(value = "Idle")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobIdle idle;
-        @JsonProperty(value = "Goto")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobGoto gotoJavaField;
-        @JsonProperty(value = "AttackMelee")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobAttackMelee attackMelee;
-        @JsonProperty(value = "CastSpell")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobCastSpell castSpell;
-        @JsonProperty(value = "Die")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobDie die;
-        @JsonProperty(value = "Talk")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobTalk talk;
-        @JsonProperty(value = "ScriptTalk")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobScriptTalk scriptTalk;
-        @JsonProperty(value = "Freeze")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobFreeze freeze;
-        @JsonProperty(value = "Spawn")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobSpawn spawn;
-        @JsonProperty(value = "Cheer")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobCheer cheer;
-        @JsonProperty(value = "AttackSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobAttackSquad attackSquad;
-        @JsonProperty(value = "CastSpellSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobCastSpellSquad castSpellSquad;
-        @JsonProperty(value = "PushBack")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobPushBack pushBack;
-        @JsonProperty(value = "Stampede")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobStampede stampede;
-        @JsonProperty(value = "BarrierCrush")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobBarrierCrush barrierCrush;
-        @JsonProperty(value = "BarrierGateToggle")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobBarrierGateToggle barrierGateToggle;
-        @JsonProperty(value = "FlameThrower")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobFlameThrower flameThrower;
-        @JsonProperty(value = "Construct")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobConstruct construct;
-        @JsonProperty(value = "Crush")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobCrush crush;
-        @JsonProperty(value = "MountBarrierSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobMountBarrierSquad mountBarrierSquad;
-        @JsonProperty(value = "MountBarrier")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobMountBarrier mountBarrier;
-        @JsonProperty(value = "ModeChangeSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobModeChangeSquad modeChangeSquad;
-        @JsonProperty(value = "ModeChange")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobModeChange modeChange;
-        @JsonProperty(value = "SacrificeSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobSacrificeSquad sacrificeSquad;
-        @JsonProperty(value = "UsePortalSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobUsePortalSquad usePortalSquad;
-        @JsonProperty(value = "Channel")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobChannel channel;
-        @JsonProperty(value = "SpawnSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobSpawnSquad spawnSquad;
-        @JsonProperty(value = "LootTargetSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobLootTargetSquad lootTargetSquad;
-        @JsonProperty(value = "Morph")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobMorph morph;
-        /**  if you see this it means we did not account for some EA's case, so please report it */
-        @JsonProperty(value = "Unknown")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private JobUnknown unknown;
+        private Job value;
         @JsonIgnore
         public Job get() {
-            if (noJob != null) {
-                return noJob;
-            }
-            else if (idle != null) {
-                return idle;
-            }
-            else if (gotoJavaField != null) {
-                return gotoJavaField;
-            }
-            else if (attackMelee != null) {
-                return attackMelee;
-            }
-            else if (castSpell != null) {
-                return castSpell;
-            }
-            else if (die != null) {
-                return die;
-            }
-            else if (talk != null) {
-                return talk;
-            }
-            else if (scriptTalk != null) {
-                return scriptTalk;
-            }
-            else if (freeze != null) {
-                return freeze;
-            }
-            else if (spawn != null) {
-                return spawn;
-            }
-            else if (cheer != null) {
-                return cheer;
-            }
-            else if (attackSquad != null) {
-                return attackSquad;
-            }
-            else if (castSpellSquad != null) {
-                return castSpellSquad;
-            }
-            else if (pushBack != null) {
-                return pushBack;
-            }
-            else if (stampede != null) {
-                return stampede;
-            }
-            else if (barrierCrush != null) {
-                return barrierCrush;
-            }
-            else if (barrierGateToggle != null) {
-                return barrierGateToggle;
-            }
-            else if (flameThrower != null) {
-                return flameThrower;
-            }
-            else if (construct != null) {
-                return construct;
-            }
-            else if (crush != null) {
-                return crush;
-            }
-            else if (mountBarrierSquad != null) {
-                return mountBarrierSquad;
-            }
-            else if (mountBarrier != null) {
-                return mountBarrier;
-            }
-            else if (modeChangeSquad != null) {
-                return modeChangeSquad;
-            }
-            else if (modeChange != null) {
-                return modeChange;
-            }
-            else if (sacrificeSquad != null) {
-                return sacrificeSquad;
-            }
-            else if (usePortalSquad != null) {
-                return usePortalSquad;
-            }
-            else if (channel != null) {
-                return channel;
-            }
-            else if (spawnSquad != null) {
-                return spawnSquad;
-            }
-            else if (lootTargetSquad != null) {
-                return lootTargetSquad;
-            }
-            else if (morph != null) {
-                return morph;
-            }
-            else if (unknown != null) {
-                return unknown;
-            }
-            else {
+            if (value == null) {
                 throw new IllegalStateException("JobHolder doesn't contain any Job. Check implementation and API!");
             }
+            return value;
         }
         public JobHolder() { }
         public JobHolder(Job v) {
-            Objects.requireNonNull(v, "Job must not be null");
-            switch (v.getType()) {
-                case JobType.NoJob:
-                    this.noJob = (JobNoJob) v;
-                    break;
-                case JobType.Idle:
-                    this.idle = (JobIdle) v;
-                    break;
-                case JobType.Goto:
-                    this.gotoJavaField = (JobGoto) v;
-                    break;
-                case JobType.AttackMelee:
-                    this.attackMelee = (JobAttackMelee) v;
-                    break;
-                case JobType.CastSpell:
-                    this.castSpell = (JobCastSpell) v;
-                    break;
-                case JobType.Die:
-                    this.die = (JobDie) v;
-                    break;
-                case JobType.Talk:
-                    this.talk = (JobTalk) v;
-                    break;
-                case JobType.ScriptTalk:
-                    this.scriptTalk = (JobScriptTalk) v;
-                    break;
-                case JobType.Freeze:
-                    this.freeze = (JobFreeze) v;
-                    break;
-                case JobType.Spawn:
-                    this.spawn = (JobSpawn) v;
-                    break;
-                case JobType.Cheer:
-                    this.cheer = (JobCheer) v;
-                    break;
-                case JobType.AttackSquad:
-                    this.attackSquad = (JobAttackSquad) v;
-                    break;
-                case JobType.CastSpellSquad:
-                    this.castSpellSquad = (JobCastSpellSquad) v;
-                    break;
-                case JobType.PushBack:
-                    this.pushBack = (JobPushBack) v;
-                    break;
-                case JobType.Stampede:
-                    this.stampede = (JobStampede) v;
-                    break;
-                case JobType.BarrierCrush:
-                    this.barrierCrush = (JobBarrierCrush) v;
-                    break;
-                case JobType.BarrierGateToggle:
-                    this.barrierGateToggle = (JobBarrierGateToggle) v;
-                    break;
-                case JobType.FlameThrower:
-                    this.flameThrower = (JobFlameThrower) v;
-                    break;
-                case JobType.Construct:
-                    this.construct = (JobConstruct) v;
-                    break;
-                case JobType.Crush:
-                    this.crush = (JobCrush) v;
-                    break;
-                case JobType.MountBarrierSquad:
-                    this.mountBarrierSquad = (JobMountBarrierSquad) v;
-                    break;
-                case JobType.MountBarrier:
-                    this.mountBarrier = (JobMountBarrier) v;
-                    break;
-                case JobType.ModeChangeSquad:
-                    this.modeChangeSquad = (JobModeChangeSquad) v;
-                    break;
-                case JobType.ModeChange:
-                    this.modeChange = (JobModeChange) v;
-                    break;
-                case JobType.SacrificeSquad:
-                    this.sacrificeSquad = (JobSacrificeSquad) v;
-                    break;
-                case JobType.UsePortalSquad:
-                    this.usePortalSquad = (JobUsePortalSquad) v;
-                    break;
-                case JobType.Channel:
-                    this.channel = (JobChannel) v;
-                    break;
-                case JobType.SpawnSquad:
-                    this.spawnSquad = (JobSpawnSquad) v;
-                    break;
-                case JobType.LootTargetSquad:
-                    this.lootTargetSquad = (JobLootTargetSquad) v;
-                    break;
-                case JobType.Morph:
-                    this.morph = (JobMorph) v;
-                    break;
-                case JobType.Unknown:
-                    this.unknown = (JobUnknown) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown Job " + v.getType());
-            }
+            this.value = Objects.requireNonNull(v, "Job must not be null");
+        }
+        /**  The contained job, {@code null} if the holder is empty */
+        Job value() { return value; }
+        public JobNoJob getNoJob() { return value instanceof JobNoJob v ? v : null; }
+        public JobIdle getIdle() { return value instanceof JobIdle v ? v : null; }
+        public JobGoto getGoto() { return value instanceof JobGoto v ? v : null; }
+        public JobAttackMelee getAttackMelee() { return value instanceof JobAttackMelee v ? v : null; }
+        public JobCastSpell getCastSpell() { return value instanceof JobCastSpell v ? v : null; }
+        public JobDie getDie() { return value instanceof JobDie v ? v : null; }
+        public JobTalk getTalk() { return value instanceof JobTalk v ? v : null; }
+        public JobScriptTalk getScriptTalk() { return value instanceof JobScriptTalk v ? v : null; }
+        public JobFreeze getFreeze() { return value instanceof JobFreeze v ? v : null; }
+        public JobSpawn getSpawn() { return value instanceof JobSpawn v ? v : null; }
+        public JobCheer getCheer() { return value instanceof JobCheer v ? v : null; }
+        public JobAttackSquad getAttackSquad() { return value instanceof JobAttackSquad v ? v : null; }
+        public JobCastSpellSquad getCastSpellSquad() { return value instanceof JobCastSpellSquad v ? v : null; }
+        public JobPushBack getPushBack() { return value instanceof JobPushBack v ? v : null; }
+        public JobStampede getStampede() { return value instanceof JobStampede v ? v : null; }
+        public JobBarrierCrush getBarrierCrush() { return value instanceof JobBarrierCrush v ? v : null; }
+        public JobBarrierGateToggle getBarrierGateToggle() { return value instanceof JobBarrierGateToggle v ? v : null; }
+        public JobFlameThrower getFlameThrower() { return value instanceof JobFlameThrower v ? v : null; }
+        public JobConstruct getConstruct() { return value instanceof JobConstruct v ? v : null; }
+        public JobCrush getCrush() { return value instanceof JobCrush v ? v : null; }
+        public JobMountBarrierSquad getMountBarrierSquad() { return value instanceof JobMountBarrierSquad v ? v : null; }
+        public JobMountBarrier getMountBarrier() { return value instanceof JobMountBarrier v ? v : null; }
+        public JobModeChangeSquad getModeChangeSquad() { return value instanceof JobModeChangeSquad v ? v : null; }
+        public JobModeChange getModeChange() { return value instanceof JobModeChange v ? v : null; }
+        public JobSacrificeSquad getSacrificeSquad() { return value instanceof JobSacrificeSquad v ? v : null; }
+        public JobUsePortalSquad getUsePortalSquad() { return value instanceof JobUsePortalSquad v ? v : null; }
+        public JobChannel getChannel() { return value instanceof JobChannel v ? v : null; }
+        public JobSpawnSquad getSpawnSquad() { return value instanceof JobSpawnSquad v ? v : null; }
+        public JobLootTargetSquad getLootTargetSquad() { return value instanceof JobLootTargetSquad v ? v : null; }
+        public JobMorph getMorph() { return value instanceof JobMorph v ? v : null; }
+        /**  if you see this it means we did not account for some EA's case, so please report it */
+        public JobUnknown getUnknown() { return value instanceof JobUnknown v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            JobHolder that = (JobHolder) o;
+            return Objects.equals(value, that.value);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public JobNoJob getNoJob() { return noJob; }
-        public JobIdle getIdle() { return idle; }
-        public JobGoto getGoto() { return gotoJavaField; }
-        public JobAttackMelee getAttackMelee() { return attackMelee; }
-        public JobCastSpell getCastSpell() { return castSpell; }
-        public JobDie getDie() { return die; }
-        public JobTalk getTalk() { return talk; }
-        public JobScriptTalk getScriptTalk() { return scriptTalk; }
-        public JobFreeze getFreeze() { return freeze; }
-        public JobSpawn getSpawn() { return spawn; }
-        public JobCheer getCheer() { return cheer; }
-        public JobAttackSquad getAttackSquad() { return attackSquad; }
-        public JobCastSpellSquad getCastSpellSquad() { return castSpellSquad; }
-        public JobPushBack getPushBack() { return pushBack; }
-        public JobStampede getStampede() { return stampede; }
-        public JobBarrierCrush getBarrierCrush() { return barrierCrush; }
-        public JobBarrierGateToggle getBarrierGateToggle() { return barrierGateToggle; }
-        public JobFlameThrower getFlameThrower() { return flameThrower; }
-        public JobConstruct getConstruct() { return construct; }
-        public JobCrush getCrush() { return crush; }
-        public JobMountBarrierSquad getMountBarrierSquad() { return mountBarrierSquad; }
-        public JobMountBarrier getMountBarrier() { return mountBarrier; }
-        public JobModeChangeSquad getModeChangeSquad() { return modeChangeSquad; }
-        public JobModeChange getModeChange() { return modeChange; }
-        public JobSacrificeSquad getSacrificeSquad() { return sacrificeSquad; }
-        public JobUsePortalSquad getUsePortalSquad() { return usePortalSquad; }
-        public JobChannel getChannel() { return channel; }
-        public JobSpawnSquad getSpawnSquad() { return spawnSquad; }
-        public JobLootTargetSquad getLootTargetSquad() { return lootTargetSquad; }
-        public JobMorph getMorph() { return morph; }
-        public JobUnknown getUnknown() { return unknown; }
     }
 
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum Ping {
         Attention(0),
         Attack(1),
@@ -3307,13 +2727,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<Ping> CODEC = IntEnumCodec.of(Ping.class);
         Ping(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static Ping decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<Ping> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -3352,13 +2775,14 @@ public class Types {
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
+            // not by class, a LazyEntity equals the Entity with the same values
+            if (!(o instanceof Entity)) return false;
             Entity that = (Entity) o;
-            return getId() == that.getId() && getEffects() == that.getEffects() && getAspects() == that.getAspects() && getJob() == that.getJob() && getPosition() == that.getPosition() && getPlayerEntityId() == that.getPlayerEntityId();
+            return Objects.equals(getId(), that.getId()) && Arrays.equals(getEffects(), that.getEffects()) && Arrays.equals(getAspects(), that.getAspects()) && Objects.equals(getJob(), that.getJob()) && Objects.equals(getPosition(), that.getPosition()) && Objects.equals(getPlayerEntityId(), that.getPlayerEntityId());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getId(), getEffects(), getAspects(), getJob(), getPosition(), getPlayerEntityId());
+            return Objects.hash(getId(), Arrays.hashCode(getEffects()), Arrays.hashCode(getAspects()), getJob(), getPosition(), getPlayerEntityId());
         }
         @Override
         public String toString() {
@@ -3393,7 +2817,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Projectile that = (Projectile) o;
-            return getId() == that.getId() && getPosition() == that.getPosition();
+            return Objects.equals(getId(), that.getId()) && Objects.equals(getPosition(), that.getPosition());
         }
         @Override
         public int hashCode() {
@@ -3410,6 +2834,8 @@ public class Types {
         }
     }
 
+    @JsonSerialize(using = IntEnumCodec.Serializer.class)
+    @JsonDeserialize(using = IntEnumCodec.Deserializer.class)
     public enum BuildState {
         /**  If you see this state, please report it with a replay, how you reached it, because it is a bug */
         _Unexpected(0),
@@ -3424,13 +2850,16 @@ public class Types {
 
         //----------------------------------------
         public final int value;
+        private static final IntEnumCodec<BuildState> CODEC = IntEnumCodec.of(BuildState.class);
         BuildState(int value) { this.value = value; }
         @JsonValue
         public int getValue() { return value; }
-        public static Optional<Upgrade> fromValue(int value) {
-            return Arrays.stream(Upgrade.values())
-                    .filter(u -> u.value == value)
-                    .findFirst();
+        /** @return The constant with the value, or {@code null}; unlike {@link #fromValue(int)} without allocating. */
+        public static BuildState decode(int value) {
+            return CODEC.decode(value);
+        }
+        public static Optional<BuildState> fromValue(int value) {
+            return Optional.ofNullable(decode(value));
         }
     }
 
@@ -3456,7 +2885,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             PowerSlot that = (PowerSlot) o;
-            return getEntity() == that.getEntity() && getResId() == that.getResId() && getState() == that.getState() && getTeam() == that.getTeam();
+            return Objects.equals(getEntity(), that.getEntity()) && getResId() == that.getResId() && getState() == that.getState() && getTeam() == that.getTeam();
         }
         @Override
         public int hashCode() {
@@ -3501,7 +2930,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             TokenSlot that = (TokenSlot) o;
-            return getEntity() == that.getEntity() && getResId() == that.getResId() && getState() == that.getState() && getTeam() == that.getTeam() && getColor() == that.getColor();
+            return Objects.equals(getEntity(), that.getEntity()) && getResId() == that.getResId() && getState() == that.getState() && getTeam() == that.getTeam() && getColor() == that.getColor();
         }
         @Override
         public int hashCode() {
@@ -3531,7 +2960,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             AbilityWorldObject that = (AbilityWorldObject) o;
-            return getEntity() == that.getEntity();
+            return Objects.equals(getEntity(), that.getEntity());
         }
         @Override
         public int hashCode() {
@@ -3578,11 +3007,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Squad that = (Squad) o;
-            return getEntity() == that.getEntity() && getCardId() == that.getCardId() && getResSquadId() == that.getResSquadId() && getBoundPower() == that.getBoundPower() && getSquadSize() == that.getSquadSize() && getFigures() == that.getFigures();
+            return Objects.equals(getEntity(), that.getEntity()) && Objects.equals(getCardId(), that.getCardId()) && Objects.equals(getResSquadId(), that.getResSquadId()) && Float.compare(getBoundPower(), that.getBoundPower()) == 0 && getSquadSize() == that.getSquadSize() && Arrays.equals(getFigures(), that.getFigures());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getEntity(), getCardId(), getResSquadId(), getBoundPower(), getSquadSize(), getFigures());
+            return Objects.hash(getEntity(), getCardId(), getResSquadId(), getBoundPower(), getSquadSize(), Arrays.hashCode(getFigures()));
         }
         @Override
         public String toString() {
@@ -3629,7 +3058,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Figure that = (Figure) o;
-            return getEntity() == that.getEntity() && getSquadId() == that.getSquadId() && getCurrentSpeed() == that.getCurrentSpeed() && getRotationSpeed() == that.getRotationSpeed() && getUnitSize() == that.getUnitSize() && getMoveMode() == that.getMoveMode();
+            return Objects.equals(getEntity(), that.getEntity()) && Objects.equals(getSquadId(), that.getSquadId()) && Float.compare(getCurrentSpeed(), that.getCurrentSpeed()) == 0 && Float.compare(getRotationSpeed(), that.getRotationSpeed()) == 0 && getUnitSize() == that.getUnitSize() && getMoveMode() == that.getMoveMode();
         }
         @Override
         public int hashCode() {
@@ -3672,7 +3101,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Building that = (Building) o;
-            return getEntity() == that.getEntity() && getBuildingId() == that.getBuildingId() && getCardId() == that.getCardId() && getPowerCost() == that.getPowerCost();
+            return Objects.equals(getEntity(), that.getEntity()) && Objects.equals(getBuildingId(), that.getBuildingId()) && Objects.equals(getCardId(), that.getCardId()) && Float.compare(getPowerCost(), that.getPowerCost()) == 0;
         }
         @Override
         public int hashCode() {
@@ -3701,7 +3130,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             BarrierSet that = (BarrierSet) o;
-            return getEntity() == that.getEntity();
+            return Objects.equals(getEntity(), that.getEntity());
         }
         @Override
         public int hashCode() {
@@ -3751,7 +3180,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             BarrierModule that = (BarrierModule) o;
-            return getEntity() == that.getEntity() && getTeam() == that.getTeam() && getSet() == that.getSet() && getState() == that.getState() && getSlots() == that.getSlots() && getFreeSlots() == that.getFreeSlots() && getWalkable() == that.getWalkable();
+            return Objects.equals(getEntity(), that.getEntity()) && getTeam() == that.getTeam() && Objects.equals(getSet(), that.getSet()) && getState() == that.getState() && getSlots() == that.getSlots() && getFreeSlots() == that.getFreeSlots() && getWalkable() == that.getWalkable();
         }
         @Override
         public int hashCode() {
@@ -3805,7 +3234,7 @@ public class Types {
         WhisperToMaster;
     }
     /** Marker fo all Command implementations */
-    public interface Command extends MultiType<CommandType> {}
+    public sealed interface Command extends MultiType<CommandType> {}
     /**  Play card of building type. */
     public static final class CommandBuildHouse implements  Command {
         @JsonProperty(required = true)
@@ -4321,319 +3750,76 @@ public class Types {
     /**  All the different command bot can issue.
      *  For spectating bots all commands except Ping and WhisperToMaster are ignored
      */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class CommandHolder {
+        private Command value;
+        @JsonIgnore
+        public Command get() {
+            if (value == null) {
+                throw new IllegalStateException("CommandHolder doesn't contain any Command. Check implementation and API!");
+            }
+            return value;
+        }
+        public CommandHolder() { }
+        public CommandHolder(Command v) {
+            this.value = Objects.requireNonNull(v, "Command must not be null");
+        }
+        /**  Replaces the contained command, so the holder can be reused. */
+        public void set(Command v) {
+            this.value = Objects.requireNonNull(v, "Command must not be null");
+        }
+        /**  The contained command, {@code null} if the holder is empty */
+        Command value() { return value; }
         /**  Play card of building type. */
-        @JsonProperty(value = "BuildHouse")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandBuildHouse buildHouse;
+        public CommandBuildHouse getBuildHouse() { return value instanceof CommandBuildHouse v ? v : null; }
         /**  Play card of Spell type. (single target) */
-        @JsonProperty(value = "CastSpellGod")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandCastSpellGod castSpellGod;
+        public CommandCastSpellGod getCastSpellGod() { return value instanceof CommandCastSpellGod v ? v : null; }
         /**  Play card of Spell type. (line target) */
-        @JsonProperty(value = "CastSpellGodMulti")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandCastSpellGodMulti castSpellGodMulti;
+        public CommandCastSpellGodMulti getCastSpellGodMulti() { return value instanceof CommandCastSpellGodMulti v ? v : null; }
         /**  Play card of squad type (on ground) */
-        @JsonProperty(value = "ProduceSquad")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandProduceSquad produceSquad;
+        public CommandProduceSquad getProduceSquad() { return value instanceof CommandProduceSquad v ? v : null; }
         /**  Play card of squad type (on barrier) */
-        @JsonProperty(value = "ProduceSquadOnBarrier")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandProduceSquadOnBarrier produceSquadOnBarrier;
+        public CommandProduceSquadOnBarrier getProduceSquadOnBarrier() { return value instanceof CommandProduceSquadOnBarrier v ? v : null; }
         /**  Activates spell or ability on entity. */
-        @JsonProperty(value = "CastSpellEntity")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandCastSpellEntity castSpellEntity;
+        public CommandCastSpellEntity getCastSpellEntity() { return value instanceof CommandCastSpellEntity v ? v : null; }
         /**  Opens or closes gate. */
-        @JsonProperty(value = "BarrierGateToggle")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandBarrierGateToggle barrierGateToggle;
+        public CommandBarrierGateToggle getBarrierGateToggle() { return value instanceof CommandBarrierGateToggle v ? v : null; }
         /**  Build barrier. (same as BarrierRepair if not inverted) */
-        @JsonProperty(value = "BarrierBuild")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandBarrierBuild barrierBuild;
+        public CommandBarrierBuild getBarrierBuild() { return value instanceof CommandBarrierBuild v ? v : null; }
         /**  Repair barrier. */
-        @JsonProperty(value = "BarrierRepair")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandBarrierRepair barrierRepair;
-        @JsonProperty(value = "BarrierCancelRepair")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandBarrierCancelRepair barrierCancelRepair;
-        @JsonProperty(value = "RepairBuilding")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRepairBuilding repairBuilding;
-        @JsonProperty(value = "CancelRepairBuilding")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandCancelRepairBuilding cancelRepairBuilding;
-        @JsonProperty(value = "GroupAttack")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupAttack groupAttack;
-        @JsonProperty(value = "GroupEnterWall")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupEnterWall groupEnterWall;
-        @JsonProperty(value = "GroupExitWall")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupExitWall groupExitWall;
-        @JsonProperty(value = "GroupGoto")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupGoto groupGoto;
-        @JsonProperty(value = "GroupHoldPosition")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupHoldPosition groupHoldPosition;
-        @JsonProperty(value = "GroupStopJob")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupStopJob groupStopJob;
-        @JsonProperty(value = "ModeChange")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandModeChange modeChange;
-        @JsonProperty(value = "PowerSlotBuild")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandPowerSlotBuild powerSlotBuild;
-        @JsonProperty(value = "TokenSlotBuild")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandTokenSlotBuild tokenSlotBuild;
-        @JsonProperty(value = "GroupKillEntity")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupKillEntity groupKillEntity;
-        @JsonProperty(value = "GroupSacrifice")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandGroupSacrifice groupSacrifice;
-        @JsonProperty(value = "PortalDefineExitPoint")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandPortalDefineExitPoint portalDefineExitPoint;
-        @JsonProperty(value = "PortalRemoveExitPoint")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandPortalRemoveExitPoint portalRemoveExitPoint;
-        @JsonProperty(value = "TunnelMakeExitPoint")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandTunnelMakeExitPoint tunnelMakeExitPoint;
-        @JsonProperty(value = "Ping")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandPing ping;
-        @JsonProperty(value = "Surrender")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandSurrender surrender;
-        @JsonProperty(value = "WhisperToMaster")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandWhisperToMaster whisperToMaster;
-        @JsonIgnore
-        public Command get() {
-            if (buildHouse != null) {
-                return buildHouse;
-            }
-            else if (castSpellGod != null) {
-                return castSpellGod;
-            }
-            else if (castSpellGodMulti != null) {
-                return castSpellGodMulti;
-            }
-            else if (produceSquad != null) {
-                return produceSquad;
-            }
-            else if (produceSquadOnBarrier != null) {
-                return produceSquadOnBarrier;
-            }
-            else if (castSpellEntity != null) {
-                return castSpellEntity;
-            }
-            else if (barrierGateToggle != null) {
-                return barrierGateToggle;
-            }
-            else if (barrierBuild != null) {
-                return barrierBuild;
-            }
-            else if (barrierRepair != null) {
-                return barrierRepair;
-            }
-            else if (barrierCancelRepair != null) {
-                return barrierCancelRepair;
-            }
-            else if (repairBuilding != null) {
-                return repairBuilding;
-            }
-            else if (cancelRepairBuilding != null) {
-                return cancelRepairBuilding;
-            }
-            else if (groupAttack != null) {
-                return groupAttack;
-            }
-            else if (groupEnterWall != null) {
-                return groupEnterWall;
-            }
-            else if (groupExitWall != null) {
-                return groupExitWall;
-            }
-            else if (groupGoto != null) {
-                return groupGoto;
-            }
-            else if (groupHoldPosition != null) {
-                return groupHoldPosition;
-            }
-            else if (groupStopJob != null) {
-                return groupStopJob;
-            }
-            else if (modeChange != null) {
-                return modeChange;
-            }
-            else if (powerSlotBuild != null) {
-                return powerSlotBuild;
-            }
-            else if (tokenSlotBuild != null) {
-                return tokenSlotBuild;
-            }
-            else if (groupKillEntity != null) {
-                return groupKillEntity;
-            }
-            else if (groupSacrifice != null) {
-                return groupSacrifice;
-            }
-            else if (portalDefineExitPoint != null) {
-                return portalDefineExitPoint;
-            }
-            else if (portalRemoveExitPoint != null) {
-                return portalRemoveExitPoint;
-            }
-            else if (tunnelMakeExitPoint != null) {
-                return tunnelMakeExitPoint;
-            }
-            else if (ping != null) {
-                return ping;
-            }
-            else if (surrender != null) {
-                return surrender;
-            }
-            else if (whisperToMaster != null) {
-                return whisperToMaster;
-            }
-            else {
-                throw new IllegalStateException("CommandHolder doesn't contain any Command. Check implementation and API!");
-            }
+        public CommandBarrierRepair getBarrierRepair() { return value instanceof CommandBarrierRepair v ? v : null; }
+        public CommandBarrierCancelRepair getBarrierCancelRepair() { return value instanceof CommandBarrierCancelRepair v ? v : null; }
+        public CommandRepairBuilding getRepairBuilding() { return value instanceof CommandRepairBuilding v ? v : null; }
+        public CommandCancelRepairBuilding getCancelRepairBuilding() { return value instanceof CommandCancelRepairBuilding v ? v : null; }
+        public CommandGroupAttack getGroupAttack() { return value instanceof CommandGroupAttack v ? v : null; }
+        public CommandGroupEnterWall getGroupEnterWall() { return value instanceof CommandGroupEnterWall v ? v : null; }
+        public CommandGroupExitWall getGroupExitWall() { return value instanceof CommandGroupExitWall v ? v : null; }
+        public CommandGroupGoto getGroupGoto() { return value instanceof CommandGroupGoto v ? v : null; }
+        public CommandGroupHoldPosition getGroupHoldPosition() { return value instanceof CommandGroupHoldPosition v ? v : null; }
+        public CommandGroupStopJob getGroupStopJob() { return value instanceof CommandGroupStopJob v ? v : null; }
+        public CommandModeChange getModeChange() { return value instanceof CommandModeChange v ? v : null; }
+        public CommandPowerSlotBuild getPowerSlotBuild() { return value instanceof CommandPowerSlotBuild v ? v : null; }
+        public CommandTokenSlotBuild getTokenSlotBuild() { return value instanceof CommandTokenSlotBuild v ? v : null; }
+        public CommandGroupKillEntity getGroupKillEntity() { return value instanceof CommandGroupKillEntity v ? v : null; }
+        public CommandGroupSacrifice getGroupSacrifice() { return value instanceof CommandGroupSacrifice v ? v : null; }
+        public CommandPortalDefineExitPoint getPortalDefineExitPoint() { return value instanceof CommandPortalDefineExitPoint v ? v : null; }
+        public CommandPortalRemoveExitPoint getPortalRemoveExitPoint() { return value instanceof CommandPortalRemoveExitPoint v ? v : null; }
+        public CommandTunnelMakeExitPoint getTunnelMakeExitPoint() { return value instanceof CommandTunnelMakeExitPoint v ? v : null; }
+        public CommandPing getPing() { return value instanceof CommandPing v ? v : null; }
+        public CommandSurrender getSurrender() { return value instanceof CommandSurrender v ? v : null; }
+        public CommandWhisperToMaster getWhisperToMaster() { return value instanceof CommandWhisperToMaster v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CommandHolder that = (CommandHolder) o;
+            return Objects.equals(value, that.value);
         }
-        public CommandHolder() { }
-        public CommandHolder(Command v) {
-            Objects.requireNonNull(v, "Command must not be null");
-            switch (v.getType()) {
-                case CommandType.BuildHouse:
-                    this.buildHouse = (CommandBuildHouse) v;
-                    break;
-                case CommandType.CastSpellGod:
-                    this.castSpellGod = (CommandCastSpellGod) v;
-                    break;
-                case CommandType.CastSpellGodMulti:
-                    this.castSpellGodMulti = (CommandCastSpellGodMulti) v;
-                    break;
-                case CommandType.ProduceSquad:
-                    this.produceSquad = (CommandProduceSquad) v;
-                    break;
-                case CommandType.ProduceSquadOnBarrier:
-                    this.produceSquadOnBarrier = (CommandProduceSquadOnBarrier) v;
-                    break;
-                case CommandType.CastSpellEntity:
-                    this.castSpellEntity = (CommandCastSpellEntity) v;
-                    break;
-                case CommandType.BarrierGateToggle:
-                    this.barrierGateToggle = (CommandBarrierGateToggle) v;
-                    break;
-                case CommandType.BarrierBuild:
-                    this.barrierBuild = (CommandBarrierBuild) v;
-                    break;
-                case CommandType.BarrierRepair:
-                    this.barrierRepair = (CommandBarrierRepair) v;
-                    break;
-                case CommandType.BarrierCancelRepair:
-                    this.barrierCancelRepair = (CommandBarrierCancelRepair) v;
-                    break;
-                case CommandType.RepairBuilding:
-                    this.repairBuilding = (CommandRepairBuilding) v;
-                    break;
-                case CommandType.CancelRepairBuilding:
-                    this.cancelRepairBuilding = (CommandCancelRepairBuilding) v;
-                    break;
-                case CommandType.GroupAttack:
-                    this.groupAttack = (CommandGroupAttack) v;
-                    break;
-                case CommandType.GroupEnterWall:
-                    this.groupEnterWall = (CommandGroupEnterWall) v;
-                    break;
-                case CommandType.GroupExitWall:
-                    this.groupExitWall = (CommandGroupExitWall) v;
-                    break;
-                case CommandType.GroupGoto:
-                    this.groupGoto = (CommandGroupGoto) v;
-                    break;
-                case CommandType.GroupHoldPosition:
-                    this.groupHoldPosition = (CommandGroupHoldPosition) v;
-                    break;
-                case CommandType.GroupStopJob:
-                    this.groupStopJob = (CommandGroupStopJob) v;
-                    break;
-                case CommandType.ModeChange:
-                    this.modeChange = (CommandModeChange) v;
-                    break;
-                case CommandType.PowerSlotBuild:
-                    this.powerSlotBuild = (CommandPowerSlotBuild) v;
-                    break;
-                case CommandType.TokenSlotBuild:
-                    this.tokenSlotBuild = (CommandTokenSlotBuild) v;
-                    break;
-                case CommandType.GroupKillEntity:
-                    this.groupKillEntity = (CommandGroupKillEntity) v;
-                    break;
-                case CommandType.GroupSacrifice:
-                    this.groupSacrifice = (CommandGroupSacrifice) v;
-                    break;
-                case CommandType.PortalDefineExitPoint:
-                    this.portalDefineExitPoint = (CommandPortalDefineExitPoint) v;
-                    break;
-                case CommandType.PortalRemoveExitPoint:
-                    this.portalRemoveExitPoint = (CommandPortalRemoveExitPoint) v;
-                    break;
-                case CommandType.TunnelMakeExitPoint:
-                    this.tunnelMakeExitPoint = (CommandTunnelMakeExitPoint) v;
-                    break;
-                case CommandType.Ping:
-                    this.ping = (CommandPing) v;
-                    break;
-                case CommandType.Surrender:
-                    this.surrender = (CommandSurrender) v;
-                    break;
-                case CommandType.WhisperToMaster:
-                    this.whisperToMaster = (CommandWhisperToMaster) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown Command " + v.getType());
-            }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public CommandBuildHouse getBuildHouse() { return buildHouse; }
-        public CommandCastSpellGod getCastSpellGod() { return castSpellGod; }
-        public CommandCastSpellGodMulti getCastSpellGodMulti() { return castSpellGodMulti; }
-        public CommandProduceSquad getProduceSquad() { return produceSquad; }
-        public CommandProduceSquadOnBarrier getProduceSquadOnBarrier() { return produceSquadOnBarrier; }
-        public CommandCastSpellEntity getCastSpellEntity() { return castSpellEntity; }
-        public CommandBarrierGateToggle getBarrierGateToggle() { return barrierGateToggle; }
-        public CommandBarrierBuild getBarrierBuild() { return barrierBuild; }
-        public CommandBarrierRepair getBarrierRepair() { return barrierRepair; }
-        public CommandBarrierCancelRepair getBarrierCancelRepair() { return barrierCancelRepair; }
-        public CommandRepairBuilding getRepairBuilding() { return repairBuilding; }
-        public CommandCancelRepairBuilding getCancelRepairBuilding() { return cancelRepairBuilding; }
-        public CommandGroupAttack getGroupAttack() { return groupAttack; }
-        public CommandGroupEnterWall getGroupEnterWall() { return groupEnterWall; }
-        public CommandGroupExitWall getGroupExitWall() { return groupExitWall; }
-        public CommandGroupGoto getGroupGoto() { return groupGoto; }
-        public CommandGroupHoldPosition getGroupHoldPosition() { return groupHoldPosition; }
-        public CommandGroupStopJob getGroupStopJob() { return groupStopJob; }
-        public CommandModeChange getModeChange() { return modeChange; }
-        public CommandPowerSlotBuild getPowerSlotBuild() { return powerSlotBuild; }
-        public CommandTokenSlotBuild getTokenSlotBuild() { return tokenSlotBuild; }
-        public CommandGroupKillEntity getGroupKillEntity() { return groupKillEntity; }
-        public CommandGroupSacrifice getGroupSacrifice() { return groupSacrifice; }
-        public CommandPortalDefineExitPoint getPortalDefineExitPoint() { return portalDefineExitPoint; }
-        public CommandPortalRemoveExitPoint getPortalRemoveExitPoint() { return portalRemoveExitPoint; }
-        public CommandTunnelMakeExitPoint getTunnelMakeExitPoint() { return tunnelMakeExitPoint; }
-        public CommandPing getPing() { return ping; }
-        public CommandSurrender getSurrender() { return surrender; }
-        public CommandWhisperToMaster getWhisperToMaster() { return whisperToMaster; }
     }
 
     /**  Command that happen. */
@@ -4651,7 +3837,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             PlayerCommand that = (PlayerCommand) o;
-            return getPlayer() == that.getPlayer() && getCommand() == that.getCommand();
+            return Objects.equals(getPlayer(), that.getPlayer()) && Objects.equals(getCommand(), that.getCommand());
         }
         @Override
         public int hashCode() {
@@ -4703,7 +3889,7 @@ public class Types {
         InvalidCard;
     }
     /** Marker fo all CommandRejectionReason implementations */
-    public interface CommandRejectionReason extends MultiType<CommandRejectionReasonType> {}
+    public sealed interface CommandRejectionReason extends MultiType<CommandRejectionReasonType> {}
     /**  Rejection reason for `BuildHouse`, `ProduceSquad`, and `ProduceSquadOnBarrier` */
     public static final class CommandRejectionReasonCardRejected implements  CommandRejectionReason {
         @JsonProperty(required = true)
@@ -4899,196 +4085,66 @@ public class Types {
         public CommandRejectionReasonInvalidCard() { }
     }
     /**  Reason why command was rejected */
+    @JsonSerialize(using = TaggedUnionCodec.HolderSerializer.class)
+    @JsonDeserialize(using = TaggedUnionCodec.HolderDeserializer.class)
     public static class CommandRejectionReasonHolder {
+        private CommandRejectionReason value;
+        @JsonIgnore
+        public CommandRejectionReason get() {
+            if (value == null) {
+                throw new IllegalStateException("CommandRejectionReasonHolder doesn't contain any CommandRejectionReason. Check implementation and API!");
+            }
+            return value;
+        }
+        public CommandRejectionReasonHolder() { }
+        public CommandRejectionReasonHolder(CommandRejectionReason v) {
+            this.value = Objects.requireNonNull(v, "CommandRejectionReason must not be null");
+        }
+        /**  The contained commandRejectionReason, {@code null} if the holder is empty */
+        CommandRejectionReason value() { return value; }
         /**  Rejection reason for `BuildHouse`, `ProduceSquad`, and `ProduceSquadOnBarrier` */
-        @JsonProperty(value = "CardRejected")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonCardRejected cardRejected;
+        public CommandRejectionReasonCardRejected getCardRejected() { return value instanceof CommandRejectionReasonCardRejected v ? v : null; }
         /**  You need to wait 10 ticks, after playing card, before playing another card */
-        @JsonProperty(value = "GlobalCooldown")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonGlobalCooldown globalCooldown;
+        public CommandRejectionReasonGlobalCooldown getGlobalCooldown() { return value instanceof CommandRejectionReasonGlobalCooldown v ? v : null; }
         /**  Some spells do have a cooldown */
-        @JsonProperty(value = "Cooldown")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonCooldown cooldown;
+        public CommandRejectionReasonCooldown getCooldown() { return value instanceof CommandRejectionReasonCooldown v ? v : null; }
         /**  You run out of charges you need to wait `(power cost) * 10 / 2` ticks, or spell cooldown, whatever is longer */
-        @JsonProperty(value = "OutOfChargesCooldown")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonOutOfChargesCooldown outOfChargesCooldown;
+        public CommandRejectionReasonOutOfChargesCooldown getOutOfChargesCooldown() { return value instanceof CommandRejectionReasonOutOfChargesCooldown v ? v : null; }
         /**  Player did not have enough power to play the card or activate the ability */
-        @JsonProperty(value = "NotEnoughPower")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonNotEnoughPower notEnoughPower;
+        public CommandRejectionReasonNotEnoughPower getNotEnoughPower() { return value instanceof CommandRejectionReasonNotEnoughPower v ? v : null; }
         /**  Spell with given ID does not exist */
-        @JsonProperty(value = "SpellDoesNotExist")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonSpellDoesNotExist spellDoesNotExist;
+        public CommandRejectionReasonSpellDoesNotExist getSpellDoesNotExist() { return value instanceof CommandRejectionReasonSpellDoesNotExist v ? v : null; }
         /**  The entity is not on the map */
-        @JsonProperty(value = "EntityDoesNotExist")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonEntityDoesNotExist entityDoesNotExist;
+        public CommandRejectionReasonEntityDoesNotExist getEntityDoesNotExist() { return value instanceof CommandRejectionReasonEntityDoesNotExist v ? v : null; }
         /**  Entity exist, but type is not correct */
-        @JsonProperty(value = "InvalidEntityType")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonInvalidEntityType invalidEntityType;
+        public CommandRejectionReasonInvalidEntityType getInvalidEntityType() { return value instanceof CommandRejectionReasonInvalidEntityType v ? v : null; }
         /**  Rejection reason for `CastSpellEntity` */
-        @JsonProperty(value = "CanNotCast")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonCanNotCast canNotCast;
+        public CommandRejectionReasonCanNotCast getCanNotCast() { return value instanceof CommandRejectionReasonCanNotCast v ? v : null; }
         /**  Bot issued command for entity that is not owned by anyone */
-        @JsonProperty(value = "EntityNotOwned")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonEntityNotOwned entityNotOwned;
+        public CommandRejectionReasonEntityNotOwned getEntityNotOwned() { return value instanceof CommandRejectionReasonEntityNotOwned v ? v : null; }
         /**  Bot issued command for entity owned by someone else */
-        @JsonProperty(value = "EntityOwnedBySomeoneElse")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonEntityOwnedBySomeoneElse entityOwnedBySomeoneElse;
+        public CommandRejectionReasonEntityOwnedBySomeoneElse getEntityOwnedBySomeoneElse() { return value instanceof CommandRejectionReasonEntityOwnedBySomeoneElse v ? v : null; }
         /**  Bot issued command for entity to change mode, but the entity does not have `ModeChange` aspect. */
-        @JsonProperty(value = "NoModeChange")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonNoModeChange noModeChange;
+        public CommandRejectionReasonNoModeChange getNoModeChange() { return value instanceof CommandRejectionReasonNoModeChange v ? v : null; }
         /**  Trying to change to mode, in which the entity already is. */
-        @JsonProperty(value = "EntityAlreadyInThisMode")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonEntityAlreadyInThisMode entityAlreadyInThisMode;
+        public CommandRejectionReasonEntityAlreadyInThisMode getEntityAlreadyInThisMode() { return value instanceof CommandRejectionReasonEntityAlreadyInThisMode v ? v : null; }
         /**  Trying to change to moe, that the entity does not have. */
-        @JsonProperty(value = "ModeNotExist")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonModeNotExist modeNotExist;
+        public CommandRejectionReasonModeNotExist getModeNotExist() { return value instanceof CommandRejectionReasonModeNotExist v ? v : null; }
         /**  Card index must be 0-19 */
-        @JsonProperty(value = "InvalidCardIndex")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonInvalidCardIndex invalidCardIndex;
+        public CommandRejectionReasonInvalidCardIndex getInvalidCardIndex() { return value instanceof CommandRejectionReasonInvalidCardIndex v ? v : null; }
         /**  Card on the given index is invalid */
-        @JsonProperty(value = "InvalidCard")
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        private CommandRejectionReasonInvalidCard invalidCard;
-        @JsonIgnore
-        public CommandRejectionReason get() {
-            if (cardRejected != null) {
-                return cardRejected;
-            }
-            else if (globalCooldown != null) {
-                return globalCooldown;
-            }
-            else if (cooldown != null) {
-                return cooldown;
-            }
-            else if (outOfChargesCooldown != null) {
-                return outOfChargesCooldown;
-            }
-            else if (notEnoughPower != null) {
-                return notEnoughPower;
-            }
-            else if (spellDoesNotExist != null) {
-                return spellDoesNotExist;
-            }
-            else if (entityDoesNotExist != null) {
-                return entityDoesNotExist;
-            }
-            else if (invalidEntityType != null) {
-                return invalidEntityType;
-            }
-            else if (canNotCast != null) {
-                return canNotCast;
-            }
-            else if (entityNotOwned != null) {
-                return entityNotOwned;
-            }
-            else if (entityOwnedBySomeoneElse != null) {
-                return entityOwnedBySomeoneElse;
-            }
-            else if (noModeChange != null) {
-                return noModeChange;
-            }
-            else if (entityAlreadyInThisMode != null) {
-                return entityAlreadyInThisMode;
-            }
-            else if (modeNotExist != null) {
-                return modeNotExist;
-            }
-            else if (invalidCardIndex != null) {
-                return invalidCardIndex;
-            }
-            else if (invalidCard != null) {
-                return invalidCard;
-            }
-            else {
-                throw new IllegalStateException("CommandRejectionReasonHolder doesn't contain any CommandRejectionReason. Check implementation and API!");
-            }
+        public CommandRejectionReasonInvalidCard getInvalidCard() { return value instanceof CommandRejectionReasonInvalidCard v ? v : null; }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CommandRejectionReasonHolder that = (CommandRejectionReasonHolder) o;
+            return Objects.equals(value, that.value);
         }
-        public CommandRejectionReasonHolder() { }
-        public CommandRejectionReasonHolder(CommandRejectionReason v) {
-            Objects.requireNonNull(v, "CommandRejectionReason must not be null");
-            switch (v.getType()) {
-                case CommandRejectionReasonType.CardRejected:
-                    this.cardRejected = (CommandRejectionReasonCardRejected) v;
-                    break;
-                case CommandRejectionReasonType.GlobalCooldown:
-                    this.globalCooldown = (CommandRejectionReasonGlobalCooldown) v;
-                    break;
-                case CommandRejectionReasonType.Cooldown:
-                    this.cooldown = (CommandRejectionReasonCooldown) v;
-                    break;
-                case CommandRejectionReasonType.OutOfChargesCooldown:
-                    this.outOfChargesCooldown = (CommandRejectionReasonOutOfChargesCooldown) v;
-                    break;
-                case CommandRejectionReasonType.NotEnoughPower:
-                    this.notEnoughPower = (CommandRejectionReasonNotEnoughPower) v;
-                    break;
-                case CommandRejectionReasonType.SpellDoesNotExist:
-                    this.spellDoesNotExist = (CommandRejectionReasonSpellDoesNotExist) v;
-                    break;
-                case CommandRejectionReasonType.EntityDoesNotExist:
-                    this.entityDoesNotExist = (CommandRejectionReasonEntityDoesNotExist) v;
-                    break;
-                case CommandRejectionReasonType.InvalidEntityType:
-                    this.invalidEntityType = (CommandRejectionReasonInvalidEntityType) v;
-                    break;
-                case CommandRejectionReasonType.CanNotCast:
-                    this.canNotCast = (CommandRejectionReasonCanNotCast) v;
-                    break;
-                case CommandRejectionReasonType.EntityNotOwned:
-                    this.entityNotOwned = (CommandRejectionReasonEntityNotOwned) v;
-                    break;
-                case CommandRejectionReasonType.EntityOwnedBySomeoneElse:
-                    this.entityOwnedBySomeoneElse = (CommandRejectionReasonEntityOwnedBySomeoneElse) v;
-                    break;
-                case CommandRejectionReasonType.NoModeChange:
-                    this.noModeChange = (CommandRejectionReasonNoModeChange) v;
-                    break;
-                case CommandRejectionReasonType.EntityAlreadyInThisMode:
-                    this.entityAlreadyInThisMode = (CommandRejectionReasonEntityAlreadyInThisMode) v;
-                    break;
-                case CommandRejectionReasonType.ModeNotExist:
-                    this.modeNotExist = (CommandRejectionReasonModeNotExist) v;
-                    break;
-                case CommandRejectionReasonType.InvalidCardIndex:
-                    this.invalidCardIndex = (CommandRejectionReasonInvalidCardIndex) v;
-                    break;
-                case CommandRejectionReasonType.InvalidCard:
-                    this.invalidCard = (CommandRejectionReasonInvalidCard) v;
-                    break;
-                default: throw new IllegalArgumentException("Unknown CommandRejectionReason " + v.getType());
-            }
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
         }
-        public CommandRejectionReasonCardRejected getCardRejected() { return cardRejected; }
-        public CommandRejectionReasonGlobalCooldown getGlobalCooldown() { return globalCooldown; }
-        public CommandRejectionReasonCooldown getCooldown() { return cooldown; }
-        public CommandRejectionReasonOutOfChargesCooldown getOutOfChargesCooldown() { return outOfChargesCooldown; }
-        public CommandRejectionReasonNotEnoughPower getNotEnoughPower() { return notEnoughPower; }
-        public CommandRejectionReasonSpellDoesNotExist getSpellDoesNotExist() { return spellDoesNotExist; }
-        public CommandRejectionReasonEntityDoesNotExist getEntityDoesNotExist() { return entityDoesNotExist; }
-        public CommandRejectionReasonInvalidEntityType getInvalidEntityType() { return invalidEntityType; }
-        public CommandRejectionReasonCanNotCast getCanNotCast() { return canNotCast; }
-        public CommandRejectionReasonEntityNotOwned getEntityNotOwned() { return entityNotOwned; }
-        public CommandRejectionReasonEntityOwnedBySomeoneElse getEntityOwnedBySomeoneElse() { return entityOwnedBySomeoneElse; }
-        public CommandRejectionReasonNoModeChange getNoModeChange() { return noModeChange; }
-        public CommandRejectionReasonEntityAlreadyInThisMode getEntityAlreadyInThisMode() { return entityAlreadyInThisMode; }
-        public CommandRejectionReasonModeNotExist getModeNotExist() { return modeNotExist; }
-        public CommandRejectionReasonInvalidCardIndex getInvalidCardIndex() { return invalidCardIndex; }
-        public CommandRejectionReasonInvalidCard getInvalidCard() { return invalidCard; }
     }
 
     /**  Command that was rejected. */
@@ -5110,7 +4166,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             RejectedCommand that = (RejectedCommand) o;
-            return getPlayer() == that.getPlayer() && getReason() == that.getReason() && getCommand() == that.getCommand();
+            return Objects.equals(getPlayer(), that.getPlayer()) && Objects.equals(getReason(), that.getReason()) && Objects.equals(getCommand(), that.getCommand());
         }
         @Override
         public int hashCode() {
@@ -5149,11 +4205,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             AiForMap that = (AiForMap) o;
-            return getName() == that.getName() && getDecks() == that.getDecks();
+            return Objects.equals(getName(), that.getName()) && Arrays.equals(getDecks(), that.getDecks());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getName(), getDecks());
+            return Objects.hash(getName(), Arrays.hashCode(getDecks()));
         }
         @Override
         public String toString() {
@@ -5210,11 +4266,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             MapEntities that = (MapEntities) o;
-            return getProjectiles() == that.getProjectiles() && getPowerSlots() == that.getPowerSlots() && getTokenSlots() == that.getTokenSlots() && getAbilityWorldObjects() == that.getAbilityWorldObjects() && getSquads() == that.getSquads() && getFigures() == that.getFigures() && getBuildings() == that.getBuildings() && getBarrierSets() == that.getBarrierSets() && getBarrierModules() == that.getBarrierModules();
+            return Arrays.equals(getProjectiles(), that.getProjectiles()) && Arrays.equals(getPowerSlots(), that.getPowerSlots()) && Arrays.equals(getTokenSlots(), that.getTokenSlots()) && Arrays.equals(getAbilityWorldObjects(), that.getAbilityWorldObjects()) && Arrays.equals(getSquads(), that.getSquads()) && Arrays.equals(getFigures(), that.getFigures()) && Arrays.equals(getBuildings(), that.getBuildings()) && Arrays.equals(getBarrierSets(), that.getBarrierSets()) && Arrays.equals(getBarrierModules(), that.getBarrierModules());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getProjectiles(), getPowerSlots(), getTokenSlots(), getAbilityWorldObjects(), getSquads(), getFigures(), getBuildings(), getBarrierSets(), getBarrierModules());
+            return Objects.hash(Arrays.hashCode(getProjectiles()), Arrays.hashCode(getPowerSlots()), Arrays.hashCode(getTokenSlots()), Arrays.hashCode(getAbilityWorldObjects()), Arrays.hashCode(getSquads()), Arrays.hashCode(getFigures()), Arrays.hashCode(getBuildings()), Arrays.hashCode(getBarrierSets()), Arrays.hashCode(getBarrierModules()));
         }
         @Override
         public String toString() {
@@ -5257,11 +4313,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             GameStartState that = (GameStartState) o;
-            return getYourPlayerId() == that.getYourPlayerId() && getPlayers() == that.getPlayers() && getEntities() == that.getEntities();
+            return Objects.equals(getYourPlayerId(), that.getYourPlayerId()) && Arrays.equals(getPlayers(), that.getPlayers()) && Objects.equals(getEntities(), that.getEntities());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getYourPlayerId(), getPlayers(), getEntities());
+            return Objects.hash(getYourPlayerId(), Arrays.hashCode(getPlayers()), getEntities());
         }
         @Override
         public String toString() {
@@ -5318,11 +4374,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             GameState that = (GameState) o;
-            return getYourPlayerId() == that.getYourPlayerId() && getCurrentTick() == that.getCurrentTick() && getCommands() == that.getCommands() && getRejectedCommands() == that.getRejectedCommands() && getPlayers() == that.getPlayers() && getEntities() == that.getEntities();
+            return Objects.equals(getYourPlayerId(), that.getYourPlayerId()) && Objects.equals(getCurrentTick(), that.getCurrentTick()) && Arrays.equals(getCommands(), that.getCommands()) && Arrays.equals(getRejectedCommands(), that.getRejectedCommands()) && Arrays.equals(getPlayers(), that.getPlayers()) && Objects.equals(getEntities(), that.getEntities());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getYourPlayerId(), getCurrentTick(), getCommands(), getRejectedCommands(), getPlayers(), getEntities());
+            return Objects.hash(getYourPlayerId(), getCurrentTick(), Arrays.hashCode(getCommands()), Arrays.hashCode(getRejectedCommands()), Arrays.hashCode(getPlayers()), getEntities());
         }
         @Override
         public String toString() {
@@ -5362,11 +4418,11 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             TickResponse that = (TickResponse) o;
-            return getCommands() == that.getCommands() && getStateString1() == that.getStateString1() && getStateString2() == that.getStateString2();
+            return Arrays.equals(getCommands(), that.getCommands()) && Objects.equals(getStateString1(), that.getStateString1()) && Objects.equals(getStateString2(), that.getStateString2());
         }
         @Override
         public int hashCode() {
-            return Objects.hash(getCommands(), getStateString1(), getStateString2());
+            return Objects.hash(Arrays.hashCode(getCommands()), getStateString1(), getStateString2());
         }
         @Override
         public String toString() {
@@ -5399,7 +4455,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Prepare that = (Prepare) o;
-            return getDeck() == that.getDeck() && getMapInfo() == that.getMapInfo();
+            return Objects.equals(getDeck(), that.getDeck()) && Objects.equals(getMapInfo(), that.getMapInfo());
         }
         @Override
         public int hashCode() {
@@ -5435,7 +4491,7 @@ public class Types {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             ApiHello that = (ApiHello) o;
-            return getVersion() == that.getVersion() && getMap() == that.getMap();
+            return getVersion() == that.getVersion() && Objects.equals(getMap(), that.getMap());
         }
         @Override
         public int hashCode() {
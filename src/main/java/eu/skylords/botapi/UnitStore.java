@@ -0,0 +1,246 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+
+/**
+ * Structure of arrays view of the {@link Figure figures} and {@link Squad squads} of a {@link GameState}.
+ * <p>
+ * Every value a targeting or threat loop typically reads (id, position, owner, team, squad, speed, health and job)
+ * is copied into its own primitive array, so a loop over all units reads contiguous {@code float[]} and {@code int[]}
+ * instead of following the references of the nested entities and positions.
+ * <p>
+ * The index of a unit is its position in the array of the state: {@code figures().get(i)} is
+ * {@code state.getEntities().getFigures()[i]}. {@link Units#indexOf(EntityId)} maps an id to its index.
+ * The arrays returned by {@link Units} are the backing arrays; only the first {@link Units#size()} elements are valid,
+ * and they must not be modified.
+ * <p>
+ * Create one store per bot and {@link #update(GameState) update} it at the beginning of every tick;
+ * the arrays are reused. The values are only valid for the state of the latest update. Not thread safe.
+ */
+public class UnitStore {
+
+    /** Units without owner */
+    public static final int NO_TEAM = -1;
+    /** Units without job, or with a job that wasn't decoded */
+    public static final int NO_JOB = -1;
+    /** Figures without squad */
+    public static final int NO_SQUAD = 0;
+
+    private static final JobType[] JOB_TYPES = JobType.values();
+
+    private final Units<Figure> figures = new Units<>();
+    private final Units<Squad> squads = new Units<>();
+
+    /** Team of the players of the current tick */
+    private final IntIntMap playerTeams = new IntIntMap(8);
+
+    /** @return A new store of the state. */
+    public static UnitStore of(GameState state) {
+        UnitStore store = new UnitStore();
+        store.update(state);
+        return store;
+    }
+
+    /** Copies the units of the state of a new tick. */
+    public void update(GameState state) {
+        playerTeams.clear();
+        if (state.getPlayers() != null) {
+            for (PlayerEntity player : state.getPlayers()) {
+                playerTeams.put(player.getId().value(), player.getTeam());
+            }
+        }
+        MapEntities entities = state.getEntities();
+        Figure[] figureArray = entities == null ? null : entities.getFigures();
+        Squad[] squadArray = entities == null ? null : entities.getSquads();
+
+        figures.clear(figureArray == null ? 0 : figureArray.length);
+        if (figureArray != null) {
+            for (Figure figure : figureArray) {
+                int i = add(figures, figure, figure.getEntity());
+                figures.squadIds[i] = figure.getSquadId() == null ? NO_SQUAD : figure.getSquadId().value();
+                figures.speeds[i] = figure.getCurrentSpeed();
+                figures.health[i] = health(figure.getEntity());
+            }
+        }
+
+        squads.clear(squadArray == null ? 0 : squadArray.length);
+        if (squadArray != null) {
+            for (Squad squad : squadArray) {
+                int i = add(squads, squad, squad.getEntity());
+                squads.squadIds[i] = squads.ids[i];
+                aggregateFigures(squad, i);
+            }
+        }
+    }
+
+    /** @return The figures of the latest update. */
+    public Units<Figure> figures() {
+        return figures;
+    }
+
+    /**
+     * @return The squads of the latest update. The {@link Units#squadIds() squad} of a squad is the squad itself,
+     *         its health is the sum of the health of its figures and its speed that of its slowest figure.
+     */
+    public Units<Squad> squads() {
+        return squads;
+    }
+
+    private <T> int add(Units<T> units, T object, Entity entity) {
+        int i = units.size++;
+        int id = entity.getId().value();
+        units.objects[i] = object;
+        units.ids[i] = id;
+        units.indices.put(id, i);
+        Position position = entity.getPosition();
+        units.xs[i] = position == null ? 0f : position.getX();
+        units.ys[i] = position == null ? 0f : position.getY();
+        units.zs[i] = position == null ? 0f : position.getZ();
+        int owner = entity.getPlayerEntityId() == null ? 0 : entity.getPlayerEntityId().value();
+        units.owners[i] = owner;
+        units.teams[i] = owner == 0 ? NO_TEAM : playerTeams.get(owner, NO_TEAM);
+        Job job = entity.getJob() == null ? null : entity.getJob().get();
+        units.jobs[i] = job == null ? NO_JOB : (byte) job.getType().ordinal();
+        return i;
+    }
+
+    /** Sums the health and takes the lowest speed of the figures of the squad at index i. */
+    private void aggregateFigures(Squad squad, int i) {
+        float health = 0f;
+        float speed = 0f;
+        boolean first = true;
+        if (squad.getFigures() != null) {
+            for (EntityId id : squad.getFigures()) {
+                int figure = figures.indices.get(id.value(), -1);
+                if (figure < 0) {
+                    continue;
+                }
+                health += figures.health[figure];
+                speed = first ? figures.speeds[figure] : Math.min(speed, figures.speeds[figure]);
+                first = false;
+            }
+        }
+        squads.health[i] = health;
+        squads.speeds[i] = speed;
+    }
+
+    /** @return The current health of the {@link AspectHealth health aspect} of the entity, or 0 without one. */
+    private static float health(Entity entity) {
+        if (entity.getAspects() == null) {
+            return 0f;
+        }
+        for (AspectHolder holder : entity.getAspects()) {
+            if (holder.get() instanceof AspectHealth health) {
+                return health.getCurrentHp();
+            }
+        }
+        return 0f;
+    }
+
+    /**
+     * Parallel arrays of the values of one kind of units; element i of every array belongs to the same unit.
+     * @param <T> {@link Figure} or {@link Squad}.
+     */
+    public static final class Units<T> {
+        private final IntIntMap indices = new IntIntMap(1024);
+        private int size;
+        private Object[] objects = new Object[0];
+        private int[] ids = new int[0];
+        private float[] xs = new float[0];
+        private float[] ys = new float[0];
+        private float[] zs = new float[0];
+        private int[] owners = new int[0];
+        private int[] teams = new int[0];
+        private int[] squadIds = new int[0];
+        private float[] speeds = new float[0];
+        private float[] health = new float[0];
+        private byte[] jobs = new byte[0];
+
+        private Units() {
+        }
+
+        /** @return Number of units. */
+        public int size() {
+            return size;
+        }
+
+        /** @return The unit at the index. */
+        @SuppressWarnings("unchecked")
+        public T get(int i) {
+            return (T) objects[i];
+        }
+
+        /** @return The index of the unit, or -1 if there is no unit with this id. */
+        public int indexOf(EntityId id) {
+            return indices.get(id.value(), -1);
+        }
+
+        /** @return The {@link EntityId#value() entity ids}. */
+        public int[] ids() {
+            return ids;
+        }
+        public float[] xs() {
+            return xs;
+        }
+        public float[] ys() {
+            return ys;
+        }
+        public float[] zs() {
+            return zs;
+        }
+        /** @return The ids of the owning players, 0 if a unit has no owner. */
+        public int[] owners() {
+            return owners;
+        }
+        /** @return The teams of the owners, {@link UnitStore#NO_TEAM} if a unit has no owner. */
+        public int[] teams() {
+            return teams;
+        }
+        /** @return The entity ids of the squads, {@link UnitStore#NO_SQUAD} if a figure has none. */
+        public int[] squadIds() {
+            return squadIds;
+        }
+        public float[] speeds() {
+            return speeds;
+        }
+        /** @return The current health; 0 if the aspects of a unit weren't decoded. */
+        public float[] health() {
+            return health;
+        }
+        /** @return The ordinals of the {@link JobType job types}, {@link UnitStore#NO_JOB} if a unit has none. */
+        public byte[] jobs() {
+            return jobs;
+        }
+        /** @return The job type of the unit, or {@code null} if it has none. */
+        public JobType job(int i) {
+            return jobs[i] == NO_JOB ? null : JOB_TYPES[jobs[i]];
+        }
+
+        /** Empties the table and makes room for the units of a tick. */
+        private void clear(int count) {
+            if (objects.length >= count) {
+                // drop the references to the units of the previous tick that aren't overwritten
+                Arrays.fill(objects, count, Math.max(count, size), null);
+                size = 0;
+                indices.clear();
+                return;
+            }
+            size = 0;
+            indices.clear();
+            int capacity = Math.max(count, objects.length * 3 / 2);
+            objects = new Object[capacity];
+            ids = new int[capacity];
+            xs = new float[capacity];
+            ys = new float[capacity];
+            zs = new float[capacity];
+            owners = new int[capacity];
+            teams = new int[capacity];
+            squadIds = new int[capacity];
+            speeds = new float[capacity];
+            health = new float[capacity];
+            jobs = new byte[capacity];
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package eu.skylords.botapi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Serves the endpoints with HTTP/1.1 over a Unix domain socket, for a game that runs on the same host.
+ * <p>
+ * Only the part of HTTP the api needs is supported: requests with a {@code Content-Length} body
+ * on persistent connections. Malformed lengths are answered with 400, bodies above 64 MB with 413.
+ * The requests of a connection are answered one after another
+ * on one thread of the request executor, so every connection occupies a thread while it is open.
+ */
+public class UnixSocketTransport implements BotTransport {
+
+    /** Maximum length of the request line and of every header line */
+    private static final int MAX_LINE_LENGTH = 8192;
+    /** Maximum length of a request body; a tick of a large match is a few MB */
+    private static final int MAX_BODY_LENGTH = 64 << 20;
+
+    private final Path socketPath;
+    /** The currently open socket */
+    private ServerSocketChannel server;
+    private ExecutorService executor;
+    private EndpointRouter router;
+    /** The open connections, closed on {@link #stop()} */
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+
+    /** @param socketPath The socket file the game connects to. A stale file of an earlier run is replaced. */
+    public UnixSocketTransport(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    @Override
+    public void start(BotEndpoints endpoints, ExecutorService executor) throws IOException {
+        this.executor = executor;
+        this.router = new EndpointRouter(endpoints);
+        Files.deleteIfExists(socketPath);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        Thread.ofPlatform().name("bot-server-accept").daemon(true).start(this::accept);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (server != null) {
+                server.close();
+            }
+            for (SocketChannel connection : connections) {
+                connection.close();
+            }
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            System.out.printf("Couldn't close %s: %s%n", socketPath, e);
+        }
+    }
+
+    @Override
+    public String getAddress() {
+        return "unix:" + socketPath;
+    }
+
+    private void accept() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                connections.add(channel);
+                executor.execute(() -> serve(channel));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.out.printf("Couldn't accept a connection on %s: %s%n", socketPath, e);
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            Connection connection = new Connection(channel);
+            while (connection.handleRequest()) {
+                // answer the requests of the connection until it is closed
+            }
+        } catch (IOException e) {
+            if (server.isOpen()) {
+                System.out.printf("Connection on %s failed: %s%n", socketPath, e);
+            }
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    /** @return The value of a {@code Content-Length} header, or -1 if it isn't a non-negative number. */
+    private static long parseLength(String value) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            // stop at the first digit above the limit, so a long value can't overflow
+            if (length <= MAX_BODY_LENGTH) {
+                length = length * 10 + (c - '0');
+            }
+        }
+        return length;
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 411 -> "Length Required";
+            case 413 -> "Content Too Large";
+            case 422 -> "Unprocessable Entity";
+            default -> "Internal Server Error";
+        };
+    }
+
+    /** Reads the requests of one connection and writes the answers; the buffers are reused for every request. */
+    private final class Connection {
+        private final InputStream in;
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder();
+        private byte[] body = new byte[8192];
+
+        Connection(SocketChannel channel) {
+            this.in = new BufferedInputStream(Channels.newInputStream(channel));
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel));
+        }
+
+        /** @return false if the connection is closed. */
+        boolean handleRequest() throws IOException {
+            String requestLine = readLine();
+            if (requestLine == null) {
+                return false;
+            }
+            if (requestLine.isEmpty()) {
+                return true; // tolerate an empty line between requests
+            }
+            String[] request = requestLine.split(" ");
+            if (request.length != 3) {
+                writeAnswer(400, EndpointRouter.Answer.EMPTY, true);
+                return false;
+            }
+
+            long contentLength = 0;
+            boolean close = request[2].equals("HTTP/1.0");
+            boolean chunked = false;
+            boolean expectContinue = false;
+            for (String header = readLine(); header != null && !header.isEmpty(); header = readLine()) {
+                int colon = header.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = header.substring(0, colon).trim();
+                String value = header.substring(colon + 1).trim();
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    contentLength = parseLength(value);
+                } else if (name.equalsIgnoreCase("Connection")) {
+                    close = value.equalsIgnoreCase("close");
+                } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                    chunked = !value.equalsIgnoreCase("identity");
+                } else if (name.equalsIgnoreCase("Expect")) {
+                    expectContinue = value.equalsIgnoreCase("100-continue");
+                }
+            }
+            if (chunked) {
+                writeAnswer(411, EndpointRouter.Answer.EMPTY, true);
+                return false;
+            }
+            if (contentLength < 0) {
+                writeAnswer(400, EndpointRouter.Answer.EMPTY, true);
+                return false;
+            }
+            if (contentLength > MAX_BODY_LENGTH) {
+                writeAnswer(413, EndpointRouter.Answer.EMPTY, true);
+                return false;
+            }
+            int length = (int) contentLength;
+            if (expectContinue) {
+                out.write("HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            }
+            if (body.length < length) {
+                body = new byte[Math.min(MAX_BODY_LENGTH, Math.max(length, body.length * 2))];
+            }
+            if (in.readNBytes(body, 0, length) < length) {
+                return false;
+            }
+
+            String target = request[1];
+            int query = target.indexOf('?');
+            String path = query < 0 ? target : target.substring(0, query);
+            int status = 200;
+            EndpointRouter.Answer answer = EndpointRouter.Answer.EMPTY;
+            try {
+                // the answer must be written before the next request of the connection is read
+                answer = router.route(request[0], path, new ByteArrayInputStream(body, 0, length)).join();
+            } catch (CompletionException e) {
+                status = EndpointRouter.status(e);
+            }
+            writeAnswer(status, answer, close);
+            return !close;
+        }
+
+        private void writeAnswer(int status, EndpointRouter.Answer answer, boolean close) throws IOException {
+            StringBuilder head = new StringBuilder(128)
+                    .append("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+            if (answer.contentType() != null) {
+                head.append("Content-Type: ").append(answer.contentType()).append("\r\n");
+            }
+            head.append("Content-Length: ").append(answer.body().length).append("\r\n");
+            if (close) {
+                head.append("Connection: close\r\n");
+            }
+            head.append("\r\n");
+            out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(answer.body());
+            out.flush();
+        }
+
+        /** @return The next line without line break, or {@code null} at the end of the stream. */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return line.isEmpty() ? null : line.toString();
+                }
+                if (line.length() == MAX_LINE_LENGTH) {
+                    throw new IOException("Line exceeds " + MAX_LINE_LENGTH + " characters");
+                }
+                line.append((char) b);
+            }
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package eu.skylords.botapi;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link GeometryKernels} with the Vector API, on as many floats at once as the CPU supports.
+ * The elements after the last full vector are computed by the {@link ScalarGeometryKernels scalar kernels}.
+ * Only loaded if the {@code jdk.incubator.vector} module is present.
+ */
+final class VectorGeometryKernels extends GeometryKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public void distancesSquared(float x, float y, float[] xs, float[] ys, int count, float[] distancesSquared) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            distancesSquared(x, y, xs, ys, i).intoArray(distancesSquared, i);
+        }
+        ScalarGeometryKernels.distancesSquared(x, y, xs, ys, bound, count, distancesSquared);
+    }
+
+    @Override
+    public int withinRadius(float x, float y, float radius, float[] xs, float[] ys, int count, boolean[] inRadius) {
+        float radiusSquared = radius * radius;
+        int bound = SPECIES.loopBound(count);
+        int found = 0;
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            VectorMask<Float> in = distancesSquared(x, y, xs, ys, i).compare(VectorOperators.LE, radiusSquared);
+            in.intoArray(inRadius, i);
+            found += in.trueCount();
+        }
+        return found + ScalarGeometryKernels.withinRadius(x, y, radiusSquared, xs, ys, bound, count, inRadius);
+    }
+
+    @Override
+    public int nearest(float x, float y, float[] xs, float[] ys, int count) {
+        int bound = SPECIES.loopBound(count);
+        // every lane keeps the nearest of its points; the indices are exact floats for less than 2^24 points
+        FloatVector best = FloatVector.broadcast(SPECIES, Float.POSITIVE_INFINITY);
+        FloatVector bestIndices = FloatVector.zero(SPECIES);
+        FloatVector indices = FloatVector.zero(SPECIES).addIndex(1);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector distances = distancesSquared(x, y, xs, ys, i);
+            VectorMask<Float> nearer = distances.compare(VectorOperators.LT, best);
+            best = best.blend(distances, nearer);
+            bestIndices = bestIndices.blend(indices, nearer);
+            indices = indices.add(SPECIES.length());
+        }
+        int nearest = -1;
+        float min = best.reduceLanes(VectorOperators.MIN);
+        if (min < Float.POSITIVE_INFINITY) {
+            // the first point with the smallest distance, as the scalar kernel finds it
+            nearest = (int) bestIndices.reduceLanes(VectorOperators.MIN, best.compare(VectorOperators.EQ, min));
+        }
+        for (int i = bound; i < count; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            float distanceSquared = dx * dx + dy * dy;
+            if (distanceSquared < min) {
+                min = distanceSquared;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    @Override
+    public float sumWithinRadius(float x, float y, float radius, float[] xs, float[] ys, float[] weights, int count) {
+        float radiusSquared = radius * radius;
+        int bound = SPECIES.loopBound(count);
+        FloatVector sums = FloatVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            VectorMask<Float> in = distancesSquared(x, y, xs, ys, i).compare(VectorOperators.LE, radiusSquared);
+            sums = sums.add(FloatVector.fromArray(SPECIES, weights, i), in);
+        }
+        return sums.reduceLanes(VectorOperators.ADD)
+                + ScalarGeometryKernels.sumWithinRadius(x, y, radiusSquared, xs, ys, weights, bound, count);
+    }
+
+    /**
+     * @return The squared distances of the points i .. i + length of the species to the point.
+     *         Without fused multiply add, so the results are exactly those of the scalar kernels.
+     */
+    private static FloatVector distancesSquared(float x, float y, float[] xs, float[] ys, int i) {
+        FloatVector dx = FloatVector.fromArray(SPECIES, xs, i).sub(x);
+        FloatVector dy = FloatVector.fromArray(SPECIES, ys, i).sub(y);
+        return dx.mul(dx).add(dy.mul(dy));
+    }
+}
@@ -0,0 +1,269 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Changes of the entities between two consecutive ticks.
+ * <p>
+ * Every {@link GameState} is a full snapshot of the map. The delta compares the state of a tick with
+ * the state of the previous {@link #update(GameState) update} by {@link EntityId} and reports every entity
+ * that was added, removed, moved, or whose job, aspects or health changed. Bots can update their own models
+ * from the changes instead of rescanning all entities.
+ * <p>
+ * Only the compared values of the previous tick are kept, in primitive arrays that are reused across ticks.
+ * The changes are accessed by index, {@code 0 <= i < size()}, and are only valid until the next update.
+ * Not thread safe.
+ */
+public class WorldDelta {
+
+    /** The changes of an entity, combined as bits of {@link #changes(int)} */
+    public enum Change {
+        /** The entity wasn't in the previous tick */
+        ADDED,
+        /** The entity isn't in this tick anymore */
+        REMOVED,
+        /** The position changed by more than the move threshold */
+        MOVED,
+        /** The type of the job changed */
+        JOB,
+        /** An aspect was added or removed */
+        ASPECTS,
+        /** The current or maximum health changed */
+        HEALTH;
+
+        /** @return The bit of the change. */
+        public int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final EntityKind[] KINDS = EntityKind.values();
+    private static final int MISSING = -1;
+
+    private final float moveThresholdSquared;
+    private Snapshot previous = new Snapshot();
+    private Snapshot current = new Snapshot();
+
+    // changes of the latest update
+    private int size;
+    private int[] changedIds = new int[64];
+    private byte[] changedKinds = new byte[64];
+    private int[] changes = new int[64];
+
+    /** Creates a delta that reports every change of a position. */
+    public WorldDelta() {
+        this(0f);
+    }
+
+    /** @param moveThreshold Distance an entity has to move to be reported as {@link Change#MOVED}. */
+    public WorldDelta(float moveThreshold) {
+        if (!(moveThreshold >= 0)) {
+            throw new IllegalArgumentException("Move threshold must not be negative, but was " + moveThreshold);
+        }
+        this.moveThresholdSquared = moveThreshold * moveThreshold;
+    }
+
+    /**
+     * Computes the changes from the state of the previous update to this state.
+     * On the first update every entity is {@link Change#ADDED}.
+     */
+    public void update(GameState state) {
+        Snapshot swap = previous;
+        previous = current;
+        current = swap;
+        current.fill(state.getEntities());
+        size = 0;
+
+        for (int slot = 0; slot < current.size; slot++) {
+            int id = current.ids[slot];
+            int before = previous.slots.get(id, MISSING);
+            int change = 0;
+            if (before == MISSING) {
+                change = Change.ADDED.bit();
+            } else {
+                float dx = current.xs[slot] - previous.xs[before];
+                float dy = current.ys[slot] - previous.ys[before];
+                float dz = current.zs[slot] - previous.zs[before];
+                float distanceSquared = dx * dx + dy * dy + dz * dz;
+                if (distanceSquared > moveThresholdSquared) {
+                    change |= Change.MOVED.bit();
+                }
+                if (current.jobs[slot] != previous.jobs[before]) {
+                    change |= Change.JOB.bit();
+                }
+                if (current.aspects[slot] != previous.aspects[before]) {
+                    change |= Change.ASPECTS.bit();
+                }
+                if (current.health[slot] != previous.health[before] || current.maxHealth[slot] != previous.maxHealth[before]) {
+                    change |= Change.HEALTH.bit();
+                }
+            }
+            if (change != 0) {
+                add(id, current.kinds[slot], change);
+            }
+        }
+        for (int slot = 0; slot < previous.size; slot++) {
+            if (!current.slots.containsKey(previous.ids[slot])) {
+                add(previous.ids[slot], previous.kinds[slot], Change.REMOVED.bit());
+            }
+        }
+    }
+
+    /** @return Number of changed entities. */
+    public int size() {
+        return size;
+    }
+    public EntityId id(int i) {
+        return new EntityId(changedIds[i]);
+    }
+    /** @return The value of the id, without allocating an {@link EntityId}. */
+    public int idValue(int i) {
+        return changedIds[i];
+    }
+    public EntityKind kind(int i) {
+        return KINDS[changedKinds[i]];
+    }
+    /** @return The {@link Change#bit() bits} of all changes of the entity. */
+    public int changes(int i) {
+        return changes[i];
+    }
+    public boolean has(int i, Change change) {
+        return (changes[i] & change.bit()) != 0;
+    }
+
+    /** @return Number of entities with the change. */
+    public int count(Change change) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((changes[i] & change.bit()) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return The changes as a list of events; allocates, {@link #changes(int)} doesn't. */
+    public List<Event> events() {
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(new Event(id(i), kind(i), changes[i]));
+        }
+        return events;
+    }
+
+    /** Changes of an entity */
+    public record Event(EntityId id, EntityKind kind, int changes) {
+        public boolean has(Change change) {
+            return (changes & change.bit()) != 0;
+        }
+    }
+
+    private void add(int id, byte kind, int change) {
+        if (size == changedIds.length) {
+            int capacity = size * 2;
+            changedIds = Arrays.copyOf(changedIds, capacity);
+            changedKinds = Arrays.copyOf(changedKinds, capacity);
+            changes = Arrays.copyOf(changes, capacity);
+        }
+        changedIds[size] = id;
+        changedKinds[size] = kind;
+        changes[size] = change;
+        size++;
+    }
+
+    /** The compared values of all entities of a tick */
+    private static final class Snapshot {
+        private final IntIntMap slots = new IntIntMap(1024);
+        private int size;
+        private int[] ids = new int[0];
+        private byte[] kinds = new byte[0];
+        private float[] xs = new float[0];
+        private float[] ys = new float[0];
+        private float[] zs = new float[0];
+        /** Ordinal of the {@link JobType}, or -1 without job */
+        private byte[] jobs = new byte[0];
+        /** Bits of the {@link AspectType} ordinals */
+        private long[] aspects = new long[0];
+        private float[] health = new float[0];
+        private float[] maxHealth = new float[0];
+
+        void fill(MapEntities entities) {
+            slots.clear();
+            size = 0;
+            if (entities == null) {
+                return;
+            }
+            int count = 0;
+            for (EntityKind kind : KINDS) {
+                count += kind.count(entities);
+            }
+            ensureCapacity(count);
+            for (EntityKind kind : KINDS) {
+                Object[] array = kind.of(entities);
+                if (array == null) {
+                    continue;
+                }
+                for (Object object : array) {
+                    if (object instanceof Projectile projectile) {
+                        add(projectile.getId().value(), kind, projectile.getPosition(), null);
+                    } else {
+                        Entity entity = kind.entityOf(object);
+                        add(entity.getId().value(), kind, entity.getPosition(), entity);
+                    }
+                }
+            }
+        }
+
+        private void add(int id, EntityKind kind, Position position, Entity entity) {
+            int slot = size++;
+            slots.put(id, slot);
+            ids[slot] = id;
+            kinds[slot] = (byte) kind.ordinal();
+            xs[slot] = position == null ? 0f : position.getX();
+            ys[slot] = position == null ? 0f : position.getY();
+            zs[slot] = position == null ? 0f : position.getZ();
+            Job job = entity == null || entity.getJob() == null ? null : entity.getJob().get();
+            jobs[slot] = job == null ? -1 : (byte) job.getType().ordinal();
+            long aspectBits = 0;
+            float hp = 0f;
+            float maxHp = 0f;
+            if (entity != null && entity.getAspects() != null) {
+                for (AspectHolder holder : entity.getAspects()) {
+                    Aspect aspect = holder.get();
+                    if (aspect == null) {
+                        continue;
+                    }
+                    aspectBits |= 1L << aspect.getType().ordinal();
+                    if (aspect instanceof AspectHealth healthAspect) {
+                        hp = healthAspect.getCurrentHp();
+                        maxHp = healthAspect.getCapCurrentMax();
+                    }
+                }
+            }
+            aspects[slot] = aspectBits;
+            health[slot] = hp;
+            maxHealth[slot] = maxHp;
+        }
+
+        private void ensureCapacity(int count) {
+            if (ids.length >= count) {
+                return;
+            }
+            int capacity = Math.max(count, ids.length * 3 / 2);
+            ids = new int[capacity];
+            kinds = new byte[capacity];
+            xs = new float[capacity];
+            ys = new float[capacity];
+            zs = new float[capacity];
+            jobs = new byte[capacity];
+            aspects = new long[capacity];
+            health = new float[capacity];
+            maxHealth = new float[capacity];
+        }
+
+    }
+}
@@ -0,0 +1,167 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+
+import java.util.Arrays;
+
+/**
+ * Index of the entities of a {@link GameState} by their {@link EntityId}.
+ * <p>
+ * Turns the linear scans over the arrays of {@link MapEntities} into constant time lookups,
+ * e.g. to join the {@link Squad#getFigures() figure ids of a squad} back to their {@link Figure figures}.
+ * Entity ids are dense and never reused, so they are kept in a primitive {@link IntIntMap} that maps
+ * an id to the kind and the position of the entity in its array.
+ * <p>
+ * Create one index per bot and {@link #update(GameState) update} it at the beginning of every tick;
+ * the tables are reused. Lookups are only valid for the state of the latest update.
+ * A {@code null} id, like a missing {@link GameState#getYourPlayerId()}, finds nothing. Not thread safe.
+ */
+public class WorldIndex {
+
+    private static final EntityKind[] KINDS = EntityKind.values();
+    /** Bits of an index entry that hold the ordinal of the kind; the remaining bits hold the position in the array */
+    private static final int KIND_BITS = 4;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+    private static final int MISSING = -1;
+
+    private final IntIntMap entities = new IntIntMap(1024);
+    private final IntIntMap players = new IntIntMap(8);
+    private MapEntities mapEntities;
+    private PlayerEntity[] playerEntities;
+
+    /** @return A new index of the state. */
+    public static WorldIndex of(GameState state) {
+        WorldIndex index = new WorldIndex();
+        index.update(state);
+        return index;
+    }
+
+    /** Rebuilds the index for the state of a new tick. */
+    public void update(GameState state) {
+        entities.clear();
+        players.clear();
+        mapEntities = state.getEntities();
+        playerEntities = state.getPlayers();
+        if (mapEntities != null) {
+            for (EntityKind kind : KINDS) {
+                Object[] array = kind.of(mapEntities);
+                if (array == null) {
+                    continue;
+                }
+                for (int i = 0; i < array.length; i++) {
+                    entities.put(idOf(kind, array[i]), i << KIND_BITS | kind.ordinal());
+                }
+            }
+        }
+        if (playerEntities != null) {
+            for (int i = 0; i < playerEntities.length; i++) {
+                players.put(playerEntities[i].getId().value(), i);
+            }
+        }
+    }
+
+    /** @return The kind of the entity, or {@code null} if there is no entity with this id. */
+    public EntityKind getKind(EntityId id) {
+        int entry = entry(entities, id);
+        return entry == MISSING ? null : KINDS[entry & KIND_MASK];
+    }
+
+    /** @return The entity of any kind, or {@code null} if there is none; always {@code null} for projectiles, they don't have an {@link Entity}. */
+    public Entity getEntity(EntityId id) {
+        int entry = entry(entities, id);
+        if (entry == MISSING) {
+            return null;
+        }
+        EntityKind kind = KINDS[entry & KIND_MASK];
+        return kind.entityOf(kind.of(mapEntities)[entry >>> KIND_BITS]);
+    }
+
+    public Projectile getProjectile(EntityId id) {
+        int i = position(id, EntityKind.PROJECTILES);
+        return i == MISSING ? null : mapEntities.getProjectiles()[i];
+    }
+    public PowerSlot getPowerSlot(EntityId id) {
+        int i = position(id, EntityKind.POWER_SLOTS);
+        return i == MISSING ? null : mapEntities.getPowerSlots()[i];
+    }
+    public TokenSlot getTokenSlot(EntityId id) {
+        int i = position(id, EntityKind.TOKEN_SLOTS);
+        return i == MISSING ? null : mapEntities.getTokenSlots()[i];
+    }
+    public AbilityWorldObject getAbilityWorldObject(EntityId id) {
+        int i = position(id, EntityKind.ABILITY_WORLD_OBJECTS);
+        return i == MISSING ? null : mapEntities.getAbilityWorldObjects()[i];
+    }
+    public Squad getSquad(EntityId id) {
+        int i = position(id, EntityKind.SQUADS);
+        return i == MISSING ? null : mapEntities.getSquads()[i];
+    }
+    public Figure getFigure(EntityId id) {
+        int i = position(id, EntityKind.FIGURES);
+        return i == MISSING ? null : mapEntities.getFigures()[i];
+    }
+    public Building getBuilding(EntityId id) {
+        int i = position(id, EntityKind.BUILDINGS);
+        return i == MISSING ? null : mapEntities.getBuildings()[i];
+    }
+    public BarrierSet getBarrierSet(EntityId id) {
+        int i = position(id, EntityKind.BARRIER_SETS);
+        return i == MISSING ? null : mapEntities.getBarrierSets()[i];
+    }
+    public BarrierModule getBarrierModule(EntityId id) {
+        int i = position(id, EntityKind.BARRIER_MODULES);
+        return i == MISSING ? null : mapEntities.getBarrierModules()[i];
+    }
+    public PlayerEntity getPlayer(EntityId id) {
+        int i = entry(players, id);
+        return i == MISSING ? null : playerEntities[i];
+    }
+
+    /** @return The figures of the squad; figures that aren't in the state are left out. */
+    public Figure[] getFigures(Squad squad) {
+        EntityId[] ids = squad.getFigures();
+        Figure[] figures = new Figure[ids == null ? 0 : ids.length];
+        int count = 0;
+        for (int i = 0; i < figures.length; i++) {
+            Figure figure = getFigure(ids[i]);
+            if (figure != null) {
+                figures[count++] = figure;
+            }
+        }
+        return count == figures.length ? figures : Arrays.copyOf(figures, count);
+    }
+
+    /** @return The squad of the figure, or {@code null} if it isn't in the state. */
+    public Squad getSquad(Figure figure) {
+        return figure.getSquadId() == null ? null : getSquad(figure.getSquadId());
+    }
+
+    /** @return Number of indexed entities, without players. */
+    public int size() {
+        return entities.size();
+    }
+
+    /** @return The position of the entity in the array of its kind, or {@link #MISSING} if it isn't of the kind. */
+    private int position(EntityId id, EntityKind kind) {
+        int entry = entry(entities, id);
+        return entry == MISSING || (entry & KIND_MASK) != kind.ordinal() ? MISSING : entry >>> KIND_BITS;
+    }
+
+    private static int entry(IntIntMap map, EntityId id) {
+        return id == null ? MISSING : map.get(id.value(), MISSING);
+    }
+
+    private static int idOf(EntityKind kind, Object entity) {
+        return switch (kind) {
+            case PROJECTILES -> ((Projectile) entity).getId().value();
+            case POWER_SLOTS -> ((PowerSlot) entity).getEntity().getId().value();
+            case TOKEN_SLOTS -> ((TokenSlot) entity).getEntity().getId().value();
+            case ABILITY_WORLD_OBJECTS -> ((AbilityWorldObject) entity).getEntity().getId().value();
+            case SQUADS -> ((Squad) entity).getEntity().getId().value();
+            case FIGURES -> ((Figure) entity).getEntity().getId().value();
+            case BUILDINGS -> ((Building) entity).getEntity().getId().value();
+            case BARRIER_SETS -> ((BarrierSet) entity).getEntity().getId().value();
+            case BARRIER_MODULES -> ((BarrierModule) entity).getEntity().getId().value();
+        };
+    }
+}
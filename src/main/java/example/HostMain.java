@@ -0,0 +1,23 @@
+package example;
+
+import eu.skylords.botapi.BotServer;
+import eu.skylords.botapi.ExecutionMode;
+import eu.skylords.botapi.ServerConfig;
+
+/**
+ * Hosts many matches of the example bot in one process.
+ * Configure the game to call {@code http://localhost:6565/example/<match id>/} for every match.
+ */
+public class HostMain {
+    public static void main(String[] args) {
+        ServerConfig config = new ServerConfig();
+        config.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+        BotServer server = new BotServer(6565, config);
+        server.register("example", ExampleBot::new);
+        server.startServer();
+
+        // shutdown hook to correctly shutdown the server if process is terminated
+        Thread shutdownHook = new Thread(server::shutdown);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+}
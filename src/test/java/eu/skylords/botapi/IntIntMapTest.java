@@ -0,0 +1,59 @@
+package eu.skylords.botapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void putGetAndClearThroughResize() {
+        IntIntMap map = new IntIntMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int round = 0; round < 3; round++) {
+            // the key 0 is stored outside of the table, negative keys and collisions inside
+            for (int i = 0; i < 5000; i++) {
+                int key = i % 7 == 0 ? random.nextInt() : random.nextInt(2000) - 100;
+                map.put(key, i);
+                expected.put(key, i);
+            }
+            map.put(0, 42);
+            expected.put(0, 42);
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), MISSING), "key " + entry.getKey());
+                assertTrue(map.containsKey(entry.getKey()));
+            }
+            for (int key = 1900; key < 2100; key++) {
+                assertEquals(expected.getOrDefault(key, MISSING).intValue(), map.get(key, MISSING), "key " + key);
+            }
+
+            map.clear();
+            assertEquals(0, map.size());
+            for (int key : expected.keySet()) {
+                assertFalse(map.containsKey(key), "key " + key);
+                assertEquals(MISSING, map.get(key, MISSING));
+            }
+            expected.clear();
+        }
+    }
+
+    @Test
+    void replacesValues() {
+        IntIntMap map = new IntIntMap();
+        map.put(7, 1);
+        map.put(7, 2);
+        map.put(0, 3);
+        map.put(0, 4);
+        assertEquals(2, map.size());
+        assertEquals(2, map.get(7, MISSING));
+        assertEquals(4, map.get(0, MISSING));
+    }
+}
@@ -0,0 +1,75 @@
+package eu.skylords.botapi;
+
+import benchmark.SampleStates;
+import eu.skylords.botapi.SpatialGrid.Filter;
+import eu.skylords.botapi.SpatialGrid.Hits;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+
+    /**
+     * Many figures are searched in rings of cells, few token slots are scanned directly.
+     * The same grid is updated with growing and shrinking states.
+     */
+    private static final int[] FIGURE_COUNTS = {1000, 20, 0, 300};
+
+    @Test
+    void nearestMatchesBruteForce() {
+        SpatialGrid grid = new SpatialGrid(50f);
+        Hits hits = new Hits();
+        Random random = new Random(1);
+        for (int figureCount : FIGURE_COUNTS) {
+            grid.update(SampleStates.lateGame(figureCount, 0, figureCount));
+            for (int query = 0; query < 200; query++) {
+                // also outside of the map, where the rings start beyond the grid
+                float x = random.nextFloat() * 1400f - 200f;
+                float z = random.nextFloat() * 1400f - 200f;
+                int count = 1 + random.nextInt(12);
+                assertNearest(grid, hits, x, z, count, Filter.ANY, entry -> true);
+                assertNearest(grid, hits, x, z, count, Filter.of(EntityKind.FIGURES),
+                        entry -> grid.kind(entry) == EntityKind.FIGURES);
+                assertNearest(grid, hits, x, z, count, Filter.of(EntityKind.TOKEN_SLOTS),
+                        entry -> grid.kind(entry) == EntityKind.TOKEN_SLOTS);
+                assertNearest(grid, hits, x, z, count, Filter.ANY.enemiesOf(0),
+                        entry -> grid.team(entry) != SpatialGrid.NO_TEAM && grid.team(entry) != 0);
+            }
+        }
+    }
+
+    @Test
+    void nearestOfEmptyGridFindsNothing() {
+        SpatialGrid grid = new SpatialGrid(50f);
+        Hits hits = new Hits();
+        grid.nearest(10f, 10f, 5, Filter.ANY, hits);
+        assertEquals(0, hits.size());
+    }
+
+    /** Compares the distances, the entries of equally distant entities may differ. */
+    private static void assertNearest(SpatialGrid grid, Hits hits, float x, float z, int count, Filter filter, IntPredicate matches) {
+        float[] all = new float[grid.size()];
+        int size = 0;
+        for (int entry = 0; entry < grid.size(); entry++) {
+            if (matches.test(entry)) {
+                float dx = grid.x(entry) - x;
+                float dz = grid.z(entry) - z;
+                all[size++] = dx * dx + dz * dz;
+            }
+        }
+        Arrays.sort(all, 0, size);
+        float[] expected = Arrays.copyOf(all, Math.min(count, size));
+
+        grid.nearest(x, z, count, filter, hits);
+        float[] actual = new float[hits.size()];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = hits.distanceSquared(i);
+            assertTrue(matches.test(hits.entry(i)), "entry " + hits.entry(i) + " doesn't match the filter");
+        }
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual), "nearest " + count + " of " + x + ", " + z);
+    }
+}
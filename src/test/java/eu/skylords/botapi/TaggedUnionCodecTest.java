@@ -0,0 +1,60 @@
+package eu.skylords.botapi;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import eu.skylords.botapi.Types.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaggedUnionCodecTest {
+
+    /** Every holder with the sealed interface of its variants */
+    private static final Class<?>[][] HOLDERS = {
+            {SingleTargetHolder.class, SingleTarget.class},
+            {TargetHolder.class, Target.class},
+            {AreaShapeHolder.class, AreaShape.class},
+            {AbilityEffectSpecificHolder.class, AbilityEffectSpecific.class},
+            {MountStateHolder.class, MountState.class},
+            {AspectHolder.class, Aspect.class},
+            {JobHolder.class, Job.class},
+            {CommandHolder.class, Command.class},
+            {CommandRejectionReasonHolder.class, CommandRejectionReason.class},
+    };
+
+    @Test
+    void roundTripsEveryVariantOfEveryHolder() throws Exception {
+        for (Class<?>[] holder : HOLDERS) {
+            Class<?> holderClass = holder[0];
+            Class<?> union = holder[1];
+            for (Class<?> variant : union.getPermittedSubclasses()) {
+                Object value = variant.getConstructor().newInstance();
+                Object written = holderClass.getConstructor(union).newInstance(value);
+                String json = Json.MAPPER.writeValueAsString(written);
+                String tag = ((MultiType<?>) value).getType().name();
+                assertTrue(json.startsWith("{\"" + tag + "\":"), json);
+
+                Object read = Json.MAPPER.readValue(json, holderClass);
+                Object readValue = holderClass.getMethod("get").invoke(read);
+                assertEquals(variant, readValue.getClass(), json);
+                assertEquals(json, Json.MAPPER.writeValueAsString(read));
+            }
+        }
+    }
+
+    @Test
+    void roundTripsPayload() throws Exception {
+        JobHolder job = new JobHolder(new JobGoto(null, new EntityId(3), WalkMode.Normal));
+        String json = Json.MAPPER.writeValueAsString(job);
+        JobGoto read = (JobGoto) Json.MAPPER.readValue(json, JobHolder.class).get();
+        assertEquals(new EntityId(3), read.getTargetEntityId());
+        assertEquals(WalkMode.Normal, read.getWalkMode());
+        assertEquals(json, Json.MAPPER.writeValueAsString(new JobHolder(read)));
+    }
+
+    @Test
+    void rejectsUnknownAndSeveralTags() {
+        assertThrows(JsonMappingException.class, () -> Json.MAPPER.readValue("{\"Nope\":{}}", JobHolder.class));
+        assertThrows(JsonMappingException.class, () -> Json.MAPPER.readValue("{\"Idle\":{},\"Die\":{}}", JobHolder.class));
+        assertThrows(JsonMappingException.class, () -> Json.MAPPER.readValue("[1]", JobHolder.class));
+    }
+}
@@ -0,0 +1,82 @@
+package eu.skylords.botapi;
+
+import benchmark.SampleStates;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.skylords.botapi.Types.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickDecodingTest {
+
+    /** Compares the states as json trees; the holders of the unions have no value equality */
+    private static final ObjectMapper MAPPER = Json.MAPPER.copy().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    /** Figure counts of consecutive ticks, so the recycling decoders see growing, shrinking and unchanged arrays */
+    private static final int[] FIGURE_COUNTS = {100, 300, 300, 50, 0, 200};
+
+    @Test
+    void decodesSampleStatesLikeDataBinding() throws IOException {
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            for (int tick = 0; tick < FIGURE_COUNTS.length; tick++) {
+                byte[] json = SampleStates.toJson(SampleStates.lateGame(FIGURE_COUNTS[tick], tick, tick));
+                assertDecodedLikeDataBinding(decoder, json, decoding + " tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    void decodesMissingAndNullFieldsLikeDataBinding() throws IOException {
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            for (int tick = 0; tick < 8; tick++) {
+                ObjectNode state = MAPPER.readValue(SampleStates.toJson(SampleStates.lateGame(100, tick, tick)), ObjectNode.class);
+                // every other tick omits or nulls fields that the previous tick had
+                if (tick % 2 == 1) {
+                    state.remove("players");
+                    state.putNull("commands");
+                    switch (tick) {
+                        case 5 -> state.putNull("entities");
+                        case 7 -> state.remove("entities");
+                        default -> {
+                            ObjectNode entities = (ObjectNode) state.get("entities");
+                            entities.remove("squads");
+                            entities.putNull("figures");
+                        }
+                    }
+                }
+                assertDecodedLikeDataBinding(decoder, MAPPER.writeValueAsBytes(state), decoding + " tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnknownPropertiesLikeDataBinding() throws IOException {
+        ObjectNode state = MAPPER.readValue(SampleStates.toJson(SampleStates.lateGame(8, 0, 0)), ObjectNode.class);
+        ObjectNode figure = (ObjectNode) state.get("entities").get("figures").get(0);
+        ((ObjectNode) figure.get("entity")).put("unknown", 1);
+        byte[] json = MAPPER.writeValueAsBytes(state);
+        for (TickDecoding decoding : TickDecoding.values()) {
+            TickDecoder decoder = TickDecoder.create(decoding);
+            assertThrows(UnrecognizedPropertyException.class, () -> decoder.decode(new ByteArrayInputStream(json)), decoding.name());
+        }
+    }
+
+    private static void assertDecodedLikeDataBinding(TickDecoder decoder, byte[] json, String message) throws IOException {
+        GameState expected = TickDecoder.create(TickDecoding.DATA_BINDING).decode(new ByteArrayInputStream(json));
+        // the recycling decoders reuse the state, so it is compared before the next tick is decoded
+        GameState actual = decoder.decode(new ByteArrayInputStream(json));
+        assertEquals(tree(expected), tree(actual), message);
+    }
+
+    private static JsonNode tree(GameState state) {
+        return MAPPER.valueToTree(state);
+    }
+}
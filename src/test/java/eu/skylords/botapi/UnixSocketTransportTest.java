@@ -0,0 +1,194 @@
+package eu.skylords.botapi;
+
+import benchmark.LocalGameClient;
+import benchmark.SampleStates;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.skylords.botapi.Types.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixSocketTransportTest {
+
+    private static final ObjectMapper MAPPER = Json.MAPPER.copy().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    private static final byte[] HELLO = ("{\"version\":" + ApiVersion.VERSION + ",\"map\":{\"map\":\"Simai\"}}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final List<Command> COMMANDS = List.of(new CommandPing(new Position2D(1f, 2f), Ping.Attack));
+
+    private Path directory;
+    private Path socketPath;
+    private RecordingBot bot;
+    private BotServer server;
+
+    @BeforeEach
+    void createSocketDirectory() throws IOException {
+        directory = Files.createTempDirectory("skylords-bot");
+        socketPath = directory.resolve("bot.sock");
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        if (server != null) {
+            server.shutdown();
+        }
+        Files.deleteIfExists(socketPath);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void decodesTicksOfOneConnection() throws IOException {
+        for (TickDecoding decoding : TickDecoding.values()) {
+            start(decoding);
+            try (LocalGameClient client = LocalGameClient.unix(socketPath)) {
+                assertEquals(200, client.post("/hello", HELLO).status());
+                for (int tick = 0; tick < 3; tick++) {
+                    byte[] json = SampleStates.toJson(SampleStates.lateGame(40 * tick, tick, tick));
+                    LocalGameClient.Answer answer = client.post("/tick", json);
+
+                    String message = decoding + " tick " + tick;
+                    assertEquals(200, answer.status(), message);
+                    GameState expected = TickDecoder.create(TickDecoding.DATA_BINDING).decode(new ByteArrayInputStream(json));
+                    assertEquals(MAPPER.valueToTree(expected), bot.lastTick, message);
+                    byte[] commands = MAPPER.writeValueAsBytes(COMMANDS.stream().map(CommandHolder::new).toList());
+                    assertEquals(MAPPER.readTree(commands), MAPPER.readTree(answer.body()), message);
+                }
+            }
+            server.shutdown();
+            server = null;
+        }
+    }
+
+    @Test
+    void answersMalformedContentLengthWithBadRequest() throws IOException {
+        start(TickDecoding.STREAMING);
+        for (String length : new String[] {"", "abc", "-5", "1.5", "0x10"}) {
+            assertEquals(400, status("POST /hello HTTP/1.1\r\nContent-Length: " + length + "\r\n\r\n"), length);
+        }
+    }
+
+    @Test
+    void answersTooLargeBodyWithContentTooLarge() throws IOException {
+        start(TickDecoding.STREAMING);
+        for (String length : new String[] {"67108865", "2147483648", "99999999999999999999999"}) {
+            assertEquals(413, status("POST /tick HTTP/1.1\r\nContent-Length: " + length + "\r\n\r\n"), length);
+        }
+    }
+
+    @Test
+    void answersChunkedBodyWithLengthRequired() throws IOException {
+        start(TickDecoding.STREAMING);
+        assertEquals(411, status("POST /tick HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n2\r\n{}\r\n0\r\n\r\n"));
+    }
+
+    @Test
+    void readsExactlyContentLengthBytes() throws IOException {
+        start(TickDecoding.STREAMING);
+        String hello = new String(HELLO, StandardCharsets.UTF_8);
+        // the second request follows the first body directly, so a wrong length breaks it
+        String request = "POST /hello HTTP/1.1\r\nContent-Length: " + HELLO.length + "\r\n\r\n" + hello;
+        try (SocketChannel channel = connect()) {
+            InputStream in = Channels.newInputStream(channel);
+            Channels.newOutputStream(channel).write((request + request).getBytes(StandardCharsets.UTF_8));
+            assertEquals(200, readStatus(in));
+            assertEquals(200, readStatus(in));
+        }
+    }
+
+    private void start(TickDecoding decoding) {
+        ServerConfig config = new ServerConfig();
+        config.setTransport(TransportType.UNIX_SOCKET);
+        config.setUnixSocketPath(socketPath);
+        config.setTickDecoding(decoding);
+        bot = new RecordingBot();
+        server = new BotServer(bot, 0, config);
+        server.startServer();
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socketPath));
+        return channel;
+    }
+
+    /** @return The status of the answer to a raw request on a new connection. */
+    private int status(String request) throws IOException {
+        try (SocketChannel channel = connect()) {
+            Channels.newOutputStream(channel).write(request.getBytes(StandardCharsets.US_ASCII));
+            return readStatus(Channels.newInputStream(channel));
+        }
+    }
+
+    /** Reads the head of an answer and skips its body. */
+    private static int readStatus(InputStream in) throws IOException {
+        int status = Integer.parseInt(readLine(in).split(" ")[1]);
+        int length = 0;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(header.substring(15).trim());
+            }
+        }
+        in.readNBytes(length);
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) {
+                throw new IOException("Connection closed by the bot");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    /** Bot that keeps the latest state as json tree, because the streaming decoders reuse it, and answers a ping. */
+    private static class RecordingBot implements Bot {
+        private volatile JsonNode lastTick;
+
+        @Override
+        public String getName() {
+            return "RecordingBot";
+        }
+
+        @Override
+        public AiForMap sayHello(ApiHello hello) {
+            AiForMap aiForMap = new AiForMap();
+            aiForMap.setName(getName());
+            aiForMap.setDecks(new Deck[0]);
+            return aiForMap;
+        }
+
+        @Override
+        public void prepareForBattle(Prepare prepare) {
+        }
+
+        @Override
+        public void matchStart(GameStartState gameStartState) {
+        }
+
+        @Override
+        public List<Command> onTick(GameState tick) {
+            lastTick = MAPPER.valueToTree(tick);
+            return COMMANDS;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package eu.skylords.botapi;
+
+import eu.skylords.botapi.Types.*;
+import eu.skylords.botapi.WorldDelta.Change;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldDeltaTest {
+
+    private static final EntityId OWNER = new EntityId(100);
+
+    @Test
+    void reportsAddedRemovedAndMovedEntities() {
+        WorldDelta delta = new WorldDelta();
+        delta.update(state(
+                figure(1, 0f, 0f, 500f),
+                figure(2, 10f, 10f, 500f),
+                figure(3, 20f, 20f, 500f)));
+        assertEquals(Map.of(1, Change.ADDED.bit(), 2, Change.ADDED.bit(), 3, Change.ADDED.bit()), changes(delta));
+
+        delta.update(state(
+                figure(1, 0f, 0f, 500f),
+                figure(2, 11f, 10f, 500f),
+                figure(4, 30f, 30f, 500f)));
+        assertEquals(Map.of(2, Change.MOVED.bit(), 3, Change.REMOVED.bit(), 4, Change.ADDED.bit()), changes(delta));
+        assertEquals(EntityKind.FIGURES, delta.events().get(0).kind());
+        assertEquals(1, delta.count(Change.REMOVED));
+
+        delta.update(state(
+                figure(1, 0f, 0f, 500f),
+                figure(2, 11f, 10f, 500f),
+                figure(4, 30f, 30f, 500f)));
+        assertEquals(0, delta.size());
+    }
+
+    @Test
+    void reportsHealthAndJobChanges() {
+        WorldDelta delta = new WorldDelta();
+        delta.update(state(figure(1, 0f, 0f, 500f)));
+
+        Figure damaged = figure(1, 0f, 0f, 420f);
+        damaged.getEntity().setJob(null);
+        delta.update(state(damaged));
+        assertEquals(Map.of(1, Change.HEALTH.bit() | Change.JOB.bit()), changes(delta));
+        assertTrue(delta.has(0, Change.HEALTH));
+        assertFalse(delta.has(0, Change.MOVED));
+    }
+
+    @Test
+    void ignoresMovesWithinThreshold() {
+        WorldDelta delta = new WorldDelta(2f);
+        delta.update(state(figure(1, 0f, 0f, 500f), figure(2, 0f, 0f, 500f)));
+        delta.update(state(figure(1, 1f, 1f, 500f), figure(2, 3f, 0f, 500f)));
+        assertEquals(Map.of(2, Change.MOVED.bit()), changes(delta));
+    }
+
+    /** @return The change bits by the value of the entity id. */
+    private static Map<Integer, Integer> changes(WorldDelta delta) {
+        Map<Integer, Integer> changes = new HashMap<>();
+        for (int i = 0; i < delta.size(); i++) {
+            assertEquals(delta.idValue(i), delta.id(i).value());
+            changes.put(delta.idValue(i), delta.changes(i));
+        }
+        return changes;
+    }
+
+    private static Figure figure(int id, float x, float z, float health) {
+        AspectHolder[] aspects = {new AspectHolder(new AspectHealth(health, 600f))};
+        Entity entity = new Entity(new EntityId(id), new AbilityEffect[0], aspects, new JobHolder(new JobIdle()),
+                new Position(x, 10f, z), OWNER);
+        return new Figure(entity, new EntityId(50), 4.5f, 1f, (byte) 1, (byte) 0);
+    }
+
+    private static GameState state(Figure... figures) {
+        MapEntities entities = new MapEntities(new Projectile[0], new PowerSlot[0], new TokenSlot[0],
+                new AbilityWorldObject[0], new Squad[0], figures, new Building[0], new BarrierSet[0], new BarrierModule[0]);
+        return new GameState(OWNER, new Tick(1), new PlayerCommand[0], new RejectedCommand[0], new PlayerEntity[0], entities);
+    }
+}